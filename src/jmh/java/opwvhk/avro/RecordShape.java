@@ -0,0 +1,204 @@
+package opwvhk.avro;
+
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+
+/**
+ * <p>Record shapes to benchmark parsers with.</p>
+ *
+ * <p>Each shape is a (possibly nested) record structure with fields of mixed types: strings, longs, doubles and booleans. The nested records are in a
+ * field named "child". For each shape, this class provides an Avro schema, a JSON schema and an XSD describing the records, and a JSON and XML document
+ * with a record.</p>
+ *
+ * <p>Read schemas can be a projection, containing only part of the fields. This measures the cost of skipping unknown fields.</p>
+ */
+public enum RecordShape {
+	/**
+	 * A small, flat record.
+	 */
+	NARROW(5, 1),
+	/**
+	 * A large, flat record.
+	 */
+	WIDE(100, 1),
+	/**
+	 * Small, deeply nested records.
+	 */
+	DEEP(5, 10);
+
+	private static final String CHILD = "child";
+	private final int width;
+	private final int depth;
+
+	RecordShape(int width, int depth) {
+		this.width = width;
+		this.depth = depth;
+	}
+
+	/**
+	 * Create the schema for this shape, with all fields.
+	 *
+	 * @return the full schema
+	 */
+	public Schema writeSchema() {
+		return readSchema(1.0);
+	}
+
+	/**
+	 * Create a projection of the schema for this shape.
+	 *
+	 * @param projection the fraction of the fields to include (at least one field is always included, as is the nested record)
+	 * @return the projected schema
+	 */
+	public Schema readSchema(double projection) {
+		int fieldCount = projectedWidth(projection);
+		Schema schema = null;
+		for (int level = depth - 1; level >= 0; level--) {
+			SchemaBuilder.FieldAssembler<Schema> fields = SchemaBuilder.record(recordName(level)).fields();
+			for (int i = 0; i < fieldCount; i++) {
+				fields = switch (i % 4) {
+					case 0 -> fields.requiredString(fieldName(i));
+					case 1 -> fields.requiredLong(fieldName(i));
+					case 2 -> fields.requiredDouble(fieldName(i));
+					default -> fields.requiredBoolean(fieldName(i));
+				};
+			}
+			if (schema != null) {
+				fields = fields.name(CHILD).type(schema).noDefault();
+			}
+			schema = fields.endRecord();
+		}
+		return schema;
+	}
+
+	private int projectedWidth(double projection) {
+		return Math.max(1, (int) Math.ceil(width * projection));
+	}
+
+	/**
+	 * Create a JSON document with a record of this shape.
+	 *
+	 * @return a JSON document
+	 */
+	public String json() {
+		StringBuilder buffer = new StringBuilder();
+		appendJson(buffer, 0);
+		return buffer.toString();
+	}
+
+	private void appendJson(StringBuilder buffer, int level) {
+		buffer.append('{');
+		for (int i = 0; i < width; i++) {
+			buffer.append('"').append(fieldName(i)).append("\":");
+			if (i % 4 == 0) {
+				buffer.append('"').append(value(i)).append('"');
+			} else {
+				buffer.append(value(i));
+			}
+			buffer.append(',');
+		}
+		if (level < depth - 1) {
+			buffer.append('"').append(CHILD).append("\":");
+			appendJson(buffer, level + 1);
+		} else {
+			buffer.setLength(buffer.length() - 1);
+		}
+		buffer.append('}');
+	}
+
+	/**
+	 * Create a JSON schema describing the records of this shape.
+	 *
+	 * @return a JSON schema
+	 */
+	public String jsonSchema() {
+		StringBuilder buffer = new StringBuilder("{\"$schema\":\"https://json-schema.org/draft/2020-12/schema\",\"$defs\":{");
+		for (int level = 0; level < depth; level++) {
+			buffer.append('"').append(recordName(level)).append("\":{\"type\":\"object\",\"properties\":{");
+			for (int i = 0; i < width; i++) {
+				String type = switch (i % 4) {
+					case 0 -> "string";
+					case 1 -> "integer";
+					case 2 -> "number";
+					default -> "boolean";
+				};
+				buffer.append('"').append(fieldName(i)).append("\":{\"type\":\"").append(type).append("\"},");
+			}
+			if (level < depth - 1) {
+				buffer.append('"').append(CHILD).append("\":{\"$ref\":\"#/$defs/").append(recordName(level + 1)).append("\"},");
+			}
+			buffer.setLength(buffer.length() - 1);
+			buffer.append("}},");
+		}
+		buffer.setLength(buffer.length() - 1);
+		buffer.append("},\"$ref\":\"#/$defs/").append(recordName(0)).append("\"}");
+		return buffer.toString();
+	}
+
+	/**
+	 * Create an XML document with a record of this shape. The root element is named {@code root}.
+	 *
+	 * @return an XML document
+	 */
+	public String xml() {
+		StringBuilder buffer = new StringBuilder();
+		appendXml(buffer, "root", 0);
+		return buffer.toString();
+	}
+
+	private void appendXml(StringBuilder buffer, String element, int level) {
+		buffer.append('<').append(element).append('>');
+		for (int i = 0; i < width; i++) {
+			buffer.append('<').append(fieldName(i)).append('>').append(value(i)).append("</").append(fieldName(i)).append('>');
+		}
+		if (level < depth - 1) {
+			appendXml(buffer, CHILD, level + 1);
+		}
+		buffer.append("</").append(element).append('>');
+	}
+
+	/**
+	 * Create an XSD describing the XML documents of this shape (without namespace).
+	 *
+	 * @return an XML schema definition
+	 */
+	public String xsd() {
+		StringBuilder buffer = new StringBuilder("<xs:schema xmlns:xs=\"http://www.w3.org/2001/XMLSchema\">");
+		buffer.append("<xs:element name=\"root\" type=\"").append(recordName(0)).append("\"/>");
+		for (int level = 0; level < depth; level++) {
+			buffer.append("<xs:complexType name=\"").append(recordName(level)).append("\"><xs:sequence>");
+			for (int i = 0; i < width; i++) {
+				String type = switch (i % 4) {
+					case 0 -> "xs:string";
+					case 1 -> "xs:long";
+					case 2 -> "xs:double";
+					default -> "xs:boolean";
+				};
+				buffer.append("<xs:element name=\"").append(fieldName(i)).append("\" type=\"").append(type).append("\"/>");
+			}
+			if (level < depth - 1) {
+				buffer.append("<xs:element name=\"").append(CHILD).append("\" type=\"").append(recordName(level + 1)).append("\"/>");
+			}
+			buffer.append("</xs:sequence></xs:complexType>");
+		}
+		buffer.append("</xs:schema>");
+		return buffer.toString();
+	}
+
+	private static String recordName(int level) {
+		return "Level" + level;
+	}
+
+	private static String fieldName(int index) {
+		return "field" + index;
+	}
+
+	private static String value(int index) {
+		return switch (index % 4) {
+			case 0 -> "value " + index;
+			case 1 -> Long.toString(index * 1_000_003L);
+			case 2 -> Double.toString(index + 0.5);
+			default -> Boolean.toString(index % 2 == 0);
+		};
+	}
+}
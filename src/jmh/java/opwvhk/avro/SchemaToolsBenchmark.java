@@ -0,0 +1,61 @@
+package opwvhk.avro;
+
+import opwvhk.avro.json.SchemaAnalyzer;
+import opwvhk.avro.util.NamingConvention;
+import opwvhk.avro.xml.XsdAnalyzer;
+import org.apache.avro.Schema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Benchmark for schema analysis and manipulation, using the schemas from the tests.
+ */
+@State(Scope.Benchmark)
+public class SchemaToolsBenchmark {
+	private XsdAnalyzer xsdAnalyzer;
+	private URI jsonSchemaLocation;
+	private String avroSchema;
+
+	@Setup
+	public void setup() throws IOException, URISyntaxException {
+		xsdAnalyzer = new XsdAnalyzer(resource("xml/resolvingTest.xsd"));
+		jsonSchemaLocation = resource("json/TestRecord.schema.json").toURI();
+		try (InputStream inputStream = resource("json/TestRecord.avsc").openStream()) {
+			avroSchema = new String(inputStream.readAllBytes(), UTF_8);
+		}
+	}
+
+	private static URL resource(String name) {
+		return requireNonNull(SchemaToolsBenchmark.class.getResource(name));
+	}
+
+	@Benchmark
+	public Schema xsdAnalyzerSchemaOf() {
+		return xsdAnalyzer.schemaOf("outer");
+	}
+
+	@Benchmark
+	public Schema schemaAnalyzerParseJsonSchema() {
+		return new SchemaAnalyzer().parseJsonSchema(jsonSchemaLocation);
+	}
+
+	@Benchmark
+	public Schema schemaManipulatorFinish() {
+		return SchemaManipulator.startFromAvro(avroSchema)
+				.useSchemaNamingConvention(NamingConvention.SNAKE_CASE)
+				.useFieldNamingConvention(NamingConvention.CAMEL_CASE)
+				.sortFields()
+				.finish();
+	}
+}
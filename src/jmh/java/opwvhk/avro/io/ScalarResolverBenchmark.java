@@ -0,0 +1,131 @@
+package opwvhk.avro.io;
+
+import opwvhk.avro.json.JsonAsAvroParser;
+import org.apache.avro.LogicalTypes;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Benchmark for the scalar resolvers of {@link AsAvroParserBase}.
+ */
+@State(Scope.Benchmark)
+public class ScalarResolverBenchmark {
+	private ScalarValueResolver offsetTimeResolver;
+	private ScalarValueResolver instantResolver;
+	private ScalarValueResolver decimalResolver;
+	private ScalarValueResolver enumResolver;
+	private ScalarValueResolver dictionaryResolver;
+
+	@Setup
+	public void setup() {
+		Schema stringSchema = Schema.create(Schema.Type.STRING);
+		JsonAsAvroParser parser = new JsonAsAvroParser(stringSchema, GenericData.get());
+		offsetTimeResolver = parser.offsetTimeResolver;
+		instantResolver = parser.instantResolver;
+		decimalResolver = parser.createDecimalResolver(LogicalTypes.decimal(18, 6).addToSchema(Schema.create(Schema.Type.BYTES)));
+		enumResolver = parser.createEnumResolver(SchemaBuilder.enumeration("Choice").symbols("YES", "NO", "MAYBE"));
+		Schema dictionarySchema = Schema.create(Schema.Type.STRING);
+		dictionarySchema.addProp(StringDictionary.SCHEMA_PROPERTY, "benchmark");
+		dictionaryResolver = parser.createStringResolver(dictionarySchema);
+	}
+
+	private static Object resolve(ValueResolver resolver, String text) {
+		return resolver.complete(resolver.addContent(resolver.createCollector(), text));
+	}
+
+	@Benchmark
+	public Object booleanValue() {
+		return resolve(AsAvroParserBase.BOOLEAN_RESOLVER, "true");
+	}
+
+	@Benchmark
+	public Object floatValue() {
+		return resolve(AsAvroParserBase.FLOAT_RESOLVER, "123.456");
+	}
+
+	@Benchmark
+	public Object doubleValue() {
+		return resolve(AsAvroParserBase.DOUBLE_RESOLVER, "1234.56789");
+	}
+
+	@Benchmark
+	public Object intValue() {
+		return resolve(AsAvroParserBase.INTEGER_RESOLVER, "123456");
+	}
+
+	@Benchmark
+	public Object longValue() {
+		return resolve(AsAvroParserBase.LONG_RESOLVER, "6789012345");
+	}
+
+	@Benchmark
+	public Object stringValue() {
+		return resolve(AsAvroParserBase.STRING_RESOLVER, "Hello World!");
+	}
+
+	@Benchmark
+	public Object utf8Value() {
+		return resolve(AsAvroParserBase.UTF8_RESOLVER, "Hello World!");
+	}
+
+	@Benchmark
+	public Object dictionaryValue() {
+		return resolve(dictionaryResolver, "Netherlands");
+	}
+
+	@Benchmark
+	public Object base16Value() {
+		return resolve(AsAvroParserBase.BASE16_RESOLVER, "48656C6C6F20576F726C6421");
+	}
+
+	@Benchmark
+	public Object base64Value() {
+		return resolve(AsAvroParserBase.BASE64_RESOLVER, "SGVsbG8gV29ybGQh");
+	}
+
+	@Benchmark
+	public Object localDateValue() {
+		return resolve(AsAvroParserBase.LOCAL_DATE_RESOLVER, "2023-04-17");
+	}
+
+	@Benchmark
+	public Object localDateTimeValue() {
+		return resolve(AsAvroParserBase.LOCAL_DATE_TIME_RESOLVER, "2023-04-17T17:08:34.567123");
+	}
+
+	@Benchmark
+	public Object offsetTimeValue() {
+		return resolve(offsetTimeResolver, "17:08:34.567123+02:00");
+	}
+
+	@Benchmark
+	public Object instantValue() {
+		return resolve(instantResolver, "2023-04-17T17:08:34.567123Z");
+	}
+
+	@Benchmark
+	public Object decimalValue() {
+		return resolve(decimalResolver, "12345678901.123456");
+	}
+
+	/**
+	 * Baseline for {@link #decimalValue()}: parsing decimals as before the unscaled long fast path.
+	 */
+	@Benchmark
+	public Object decimalValueBaseline() {
+		return new BigDecimal("12345678901.123456").setScale(6, RoundingMode.UNNECESSARY);
+	}
+
+	@Benchmark
+	public Object enumValue() {
+		return resolve(enumResolver, "MAYBE");
+	}
+}
@@ -0,0 +1,66 @@
+package opwvhk.avro.json;
+
+import opwvhk.avro.RecordShape;
+import opwvhk.avro.WorkloadSettings;
+import org.apache.avro.generic.GenericData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * <p>Benchmark for parsing JSON, for various record shapes and projections, with and without validation.</p>
+ *
+ * <p>The documents are either a single, fixed document, or a cycle of documents with random values from the {@link JsonWorkloadGenerator}. Without
+ * validation, the generated documents also contain unknown fields.</p>
+ */
+@State(Scope.Benchmark)
+public class JsonParsingBenchmark {
+	private static final int DOCUMENT_COUNT = 64;
+
+	@Param({"NARROW", "WIDE", "DEEP"})
+	public RecordShape shape;
+	@Param({"1.0", "0.5", "0.1"})
+	public double projection;
+	@Param({"false", "true"})
+	public boolean validated;
+	@Param({"false", "true"})
+	public boolean generated;
+
+	private JsonAsAvroParser parser;
+	private String[] documents;
+	private int next;
+
+	@Setup
+	public void setup() throws IOException {
+		if (validated) {
+			Path jsonSchema = Files.createTempFile("benchmark", ".schema.json");
+			jsonSchema.toFile().deleteOnExit();
+			Files.writeString(jsonSchema, shape.jsonSchema());
+			parser = new JsonAsAvroParser(jsonSchema.toUri(), shape.readSchema(projection), GenericData.get());
+		} else {
+			parser = new JsonAsAvroParser(shape.readSchema(projection), GenericData.get());
+		}
+		if (generated) {
+			WorkloadSettings settings = WorkloadSettings.defaults(42).withUnknownFieldRate(validated ? 0.0 : 0.2);
+			JsonWorkloadGenerator generator = new JsonWorkloadGenerator(shape.writeSchema(), settings);
+			documents = new String[DOCUMENT_COUNT];
+			Arrays.setAll(documents, i -> generator.document());
+		} else {
+			documents = new String[]{shape.json()};
+		}
+	}
+
+	@Benchmark
+	public Object parse() throws IOException {
+		String json = documents[next];
+		next = (next + 1) % documents.length;
+		return parser.parse(json);
+	}
+}
@@ -0,0 +1,31 @@
+package opwvhk.avro.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmark for {@link NamingConvention}, for typical identifier shapes. Compares remembered conversions with new ones, with and without the ASCII
+ * fast path.
+ */
+@State(Scope.Benchmark)
+public class NamingConventionBenchmark {
+	@Param({"orderLineItem", "ORDER_LINE_ITEM", "order-line-item", "OrderLineItem2", "XMLHttpRequest", "Ordre ligne élément"})
+	private String name;
+
+	@Benchmark
+	public String convertRemembered() {
+		return NamingConvention.SNAKE_CASE.convert(name);
+	}
+
+	@Benchmark
+	public String convertNew() {
+		return NamingConvention.SNAKE_CASE.convert(name, NamingConvention.isAscii(name));
+	}
+
+	@Benchmark
+	public String convertNewWithoutAsciiFastPath() {
+		return NamingConvention.SNAKE_CASE.convert(name, false);
+	}
+}
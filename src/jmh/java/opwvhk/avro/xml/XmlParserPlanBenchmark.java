@@ -0,0 +1,52 @@
+package opwvhk.avro.xml;
+
+import opwvhk.avro.RecordShape;
+import opwvhk.avro.io.ResolverCache;
+import org.apache.avro.generic.GenericData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+
+/**
+ * Benchmark for the startup cost of XML parsers: creating them from an XSD versus creating them from a parser plan (including reading the plan). The
+ * resolver cache is cleared for each parser, to measure a cold start.
+ */
+@State(Scope.Benchmark)
+public class XmlParserPlanBenchmark {
+	@Param({"NARROW", "WIDE", "DEEP"})
+	public RecordShape shape;
+
+	private URL xsdLocation;
+	private Path planFile;
+
+	@Setup
+	public void setup() throws IOException {
+		Path xsd = Files.createTempFile("benchmark", ".xsd");
+		xsd.toFile().deleteOnExit();
+		Files.writeString(xsd, shape.xsd());
+		xsdLocation = xsd.toUri().toURL();
+		planFile = Files.createTempFile("benchmark", ".plan");
+		planFile.toFile().deleteOnExit();
+		XmlParserPlan.create(xsdLocation, "root", shape.readSchema(1.0)).writeTo(planFile);
+	}
+
+	@Benchmark
+	public Object parserFromXsd() throws IOException {
+		ResolverCache.shared().clear();
+		return new XmlAsAvroParser(xsdLocation, "root", false, shape.readSchema(1.0), Set.of(), GenericData.get());
+	}
+
+	@Benchmark
+	public Object parserFromPlan() throws IOException {
+		ResolverCache.shared().clear();
+		return new XmlAsAvroParser(XmlParserPlan.readFrom(planFile), false, GenericData.get());
+	}
+}
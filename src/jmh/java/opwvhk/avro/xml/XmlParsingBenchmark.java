@@ -0,0 +1,70 @@
+package opwvhk.avro.xml;
+
+import opwvhk.avro.RecordShape;
+import opwvhk.avro.WorkloadSettings;
+import org.apache.avro.generic.GenericData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * <p>Benchmark for parsing XML, for various record shapes and projections, with and without an XSD (and validation).</p>
+ *
+ * <p>The documents are either a single, fixed document, or a cycle of documents with random values from the {@link XmlWorkloadGenerator}. Without
+ * validation, the generated documents also contain unknown elements.</p>
+ */
+@State(Scope.Benchmark)
+public class XmlParsingBenchmark {
+	private static final int DOCUMENT_COUNT = 64;
+
+	@Param({"NARROW", "WIDE", "DEEP"})
+	public RecordShape shape;
+	@Param({"1.0", "0.5", "0.1"})
+	public double projection;
+	@Param({"false", "true"})
+	public boolean validated;
+	@Param({"false", "true"})
+	public boolean generated;
+
+	private XmlAsAvroParser parser;
+	private String[] documents;
+	private int next;
+
+	@Setup
+	public void setup() throws IOException {
+		Path xsd = Files.createTempFile("benchmark", ".xsd");
+		xsd.toFile().deleteOnExit();
+		Files.writeString(xsd, shape.xsd());
+		if (validated) {
+			parser = new XmlAsAvroParser(xsd.toUri().toURL(), "root", true, shape.readSchema(projection), Set.of(), GenericData.get());
+		} else {
+			parser = new XmlAsAvroParser(shape.readSchema(projection), GenericData.get());
+		}
+		if (generated) {
+			WorkloadSettings settings = WorkloadSettings.defaults(42).withUnknownFieldRate(validated ? 0.0 : 0.2);
+			XmlWorkloadGenerator generator = new XmlWorkloadGenerator(new XsdAnalyzer(xsd.toUri().toURL()), "root", settings);
+			documents = new String[DOCUMENT_COUNT];
+			Arrays.setAll(documents, i -> generator.document());
+		} else {
+			documents = new String[]{shape.xml()};
+		}
+	}
+
+	@Benchmark
+	public Object parse() throws IOException, SAXException {
+		String xml = documents[next];
+		next = (next + 1) % documents.length;
+		return parser.parse(new InputSource(new StringReader(xml)));
+	}
+}
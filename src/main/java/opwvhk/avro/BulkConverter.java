@@ -0,0 +1,377 @@
+package opwvhk.avro;
+
+import opwvhk.avro.io.ConversionPipeline;
+import opwvhk.avro.io.ConversionPipeline.RecordParser;
+import opwvhk.avro.json.JsonAsAvroParser;
+import opwvhk.avro.xml.XmlAsAvroParser;
+import org.apache.avro.AvroRuntimeException;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaParseException;
+import org.apache.avro.file.CodecFactory;
+import org.apache.avro.generic.GenericData;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * <p>Command line tool to convert directories of XML, JSON and NDJSON files into Avro (or Parquet) files.</p>
+ *
+ * <p>Run it without arguments for usage information. The conversion parses the files on a pool of worker threads, which also read XML and JSON files. The
+ * lines of NDJSON files are read while writing. When done, the tool reports the number of records and the throughput.</p>
+ */
+public final class BulkConverter {
+	private static final String USAGE = """
+			Usage: convert [--xsd FILE --root ELEMENT | --json-schema FILE] --avsc FILE --in DIR --out DIR
+			               [--threads N] [--format avro|parquet] [--codec CODEC]
+
+			Converts all files in the input directory into records, and writes them into the output directory.
+			With --xsd, the input files are XML files (*.xml). Otherwise, they are JSON files (*.json) or NDJSON
+			files (*.ndjson, *.jsonl) with one JSON document per line. These are validated against the JSON schema,
+			if given.
+
+			Options:
+			  --xsd FILE          the XML schema definition of the XML files
+			  --root ELEMENT      the root element of the XML files
+			  --json-schema FILE  the JSON schema of the JSON files
+			  --avsc FILE         the Avro schema of the records to write
+			  --in DIR            the directory with the files to convert
+			  --out DIR           the directory to write the output files in (created if needed)
+			  --threads N         the number of threads to parse with (default: the number of processors)
+			  --format FORMAT     avro (default), or parquet (requires the Parquet artifact)
+			  --codec CODEC       the compression codec for Avro files, like deflate, snappy or zstandard (default: null)
+			""";
+	private static final Set<String> XML_EXTENSIONS = Set.of("xml");
+	private static final Set<String> JSON_EXTENSIONS = Set.of("json", "ndjson", "jsonl");
+	private static final Set<String> NDJSON_EXTENSIONS = Set.of("ndjson", "jsonl");
+	private static final String PARQUET_OUTPUT_FORMAT = "opwvhk.avro.parquet.ParquetOutputFormat";
+	private static final double NANOS_PER_SECOND = 1e9;
+	private static final double BYTES_PER_MEGABYTE = 1024 * 1024;
+
+	/**
+	 * Run the converter.
+	 *
+	 * @param args the command line arguments
+	 */
+	public static void main(String[] args) {
+		System.exit(run(args, System.out, System.err));
+	}
+
+	/**
+	 * Run the converter.
+	 *
+	 * @param args the command line arguments
+	 * @param out  the stream to report results to
+	 * @param err  the stream to report errors to
+	 * @return the exit code: 0 if successful, 1 if the conversion failed, 2 if the arguments are invalid
+	 */
+	static int run(String[] args, PrintStream out, PrintStream err) {
+		Options options;
+		OutputFormat outputFormat;
+		try {
+			options = Options.parse(args);
+			outputFormat = outputFormat(options);
+		} catch (IllegalArgumentException e) {
+			err.println(e.getMessage());
+			err.println();
+			err.print(USAGE);
+			return 2;
+		}
+
+		try {
+			long start = System.nanoTime();
+			Schema readSchema = new Schema.Parser().parse(options.avsc().toFile());
+			List<Path> files = listFiles(options.inputDirectory(), options.xsd() != null ? XML_EXTENSIONS : JSON_EXTENSIONS);
+			long inputSize = 0;
+			for (Path file : files) {
+				inputSize += Files.size(file);
+			}
+
+			Files.createDirectories(options.outputDirectory());
+			long recordCount = outputFormat.convert(readSchema, GenericData.get(), parserFactory(options, readSchema), new InputIterator(files),
+					options.outputDirectory(), options.threads());
+
+			double seconds = (System.nanoTime() - start) / NANOS_PER_SECOND;
+			double megabytes = inputSize / BYTES_PER_MEGABYTE;
+			out.printf("Converted %d files with %d records (%.1f MB) in %.1f s: %.0f records/s, %.1f MB/s%n", files.size(), recordCount, megabytes, seconds,
+					recordCount / seconds, megabytes / seconds);
+			return 0;
+		} catch (IOException | UncheckedIOException | SchemaParseException | ResolvingFailure e) {
+			err.println("Conversion failed: " + e.getMessage());
+			return 1;
+		} catch (AvroRuntimeException e) {
+			err.println("Conversion failed: " + e);
+			return 1;
+		}
+	}
+
+	private static CodecFactory codec(String codec) {
+		if (codec == null) {
+			return CodecFactory.nullCodec();
+		}
+		try {
+			return CodecFactory.fromString(codec);
+		} catch (AvroRuntimeException e) {
+			throw new IllegalArgumentException("Unknown codec: " + codec, e);
+		}
+	}
+
+	private static OutputFormat outputFormat(Options options) {
+		return switch (options.format()) {
+			case "avro" -> new AvroOutputFormat(codec(options.codec()));
+			case "parquet" -> {
+				if (options.codec() != null) {
+					throw new IllegalArgumentException("The option --codec is only supported for Avro files");
+				}
+				try {
+					yield Class.forName(PARQUET_OUTPUT_FORMAT).asSubclass(OutputFormat.class).getConstructor().newInstance();
+				} catch (ReflectiveOperationException | LinkageError e) {
+					throw new IllegalArgumentException("Parquet support is not available: add the artifact with classifier 'parquet' to the classpath");
+				}
+			}
+			default -> throw new IllegalArgumentException("Unknown output format: " + options.format());
+		};
+	}
+
+	private static Supplier<RecordParser<Input>> parserFactory(Options options, Schema readSchema) throws IOException {
+		GenericData model = GenericData.get();
+		if (options.xsd() != null) {
+			URL xsdLocation = options.xsd().toUri().toURL();
+			return parserPerWorker(() -> new XmlAsAvroParser(xsdLocation, options.rootElement(), readSchema, model),
+					parser -> input -> parser.parse(input.file().toUri().toURL()));
+		}
+		URI jsonSchemaLocation = options.jsonSchema() == null ? null : options.jsonSchema().toUri();
+		return parserPerWorker(() -> jsonSchemaLocation == null ? new JsonAsAvroParser(readSchema, model) :
+						new JsonAsAvroParser(jsonSchemaLocation, readSchema, model),
+				parser -> input -> input.line() == null ? parser.parse(input.file().toUri().toURL()) : parser.parse(input.line()));
+	}
+
+	/**
+	 * Create a parser factory that creates a parser for each worker, as parsers are not thread-safe. The first parser is created immediately, to report
+	 * problems before starting the conversion.
+	 *
+	 * @param parserConstructor a function to create a parser
+	 * @param recordParser      a function to create a record parser (for the inputs) using a parser
+	 * @param <P>               the parser type
+	 * @return the parser factory
+	 * @throws IOException when the first parser cannot be created
+	 */
+	private static <P> Supplier<RecordParser<Input>> parserPerWorker(ParserConstructor<P> parserConstructor, Function<P, RecordParser<Input>> recordParser)
+			throws IOException {
+		P firstParser = parserConstructor.create();
+		return new Supplier<>() {
+			private boolean firstParserUsed;
+
+			@Override
+			public synchronized RecordParser<Input> get() {
+				P parser = firstParserUsed ? newParser() : firstParser;
+				firstParserUsed = true;
+				return recordParser.apply(parser);
+			}
+
+			private P newParser() {
+				try {
+					return parserConstructor.create();
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}
+		};
+	}
+
+	private interface ParserConstructor<P> {
+		P create() throws IOException;
+	}
+
+	private static List<Path> listFiles(Path directory, Set<String> extensions) throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.filter(file -> Files.isRegularFile(file) && extensions.contains(extension(file))).sorted().toList();
+		}
+	}
+
+	private static String extension(Path file) {
+		String fileName = file.getFileName().toString();
+		return fileName.substring(fileName.lastIndexOf('.') + 1);
+	}
+
+	/**
+	 * A format to write converted records in. Implementations (except for the built-in Avro format) need a public no-arg constructor.
+	 */
+	public interface OutputFormat {
+		/**
+		 * Convert inputs, and write the records into one or more files.
+		 *
+		 * @param schema          the schema of the records
+		 * @param model           the model the records are created with
+		 * @param parserFactory   a factory for parsers; parsers need not be thread-safe
+		 * @param inputs          the inputs to convert
+		 * @param outputDirectory the (existing) directory to write the files in
+		 * @param threads         the number of threads to parse with
+		 * @param <I>             the type of inputs
+		 * @return the number of records written
+		 * @throws IOException when an input cannot be converted, or a file cannot be written
+		 */
+		<I> long convert(Schema schema, GenericData model, Supplier<? extends RecordParser<? super I>> parserFactory, Iterator<? extends I> inputs,
+		                 Path outputDirectory, int threads) throws IOException;
+	}
+
+	private record AvroOutputFormat(CodecFactory codec) implements OutputFormat {
+		@Override
+		public <I> long convert(Schema schema, GenericData model, Supplier<? extends RecordParser<? super I>> parserFactory, Iterator<? extends I> inputs,
+		                        Path outputDirectory, int threads) throws IOException {
+			return new ConversionPipeline<I>(schema, model, parserFactory)
+					.withCodec(codec)
+					.withThreads(threads)
+					.convert(inputs, outputDirectory.resolve("part-00000.avro"));
+		}
+	}
+
+	/**
+	 * An input to convert: an entire file, or a line of an NDJSON file.
+	 *
+	 * @param file the file to convert
+	 * @param line the line to convert, or {@code null} to convert the entire file
+	 */
+	private record Input(Path file, String line) {
+	}
+
+	/**
+	 * Iterator over the inputs in files. NDJSON files are read line by line, so they need not fit in memory.
+	 */
+	private static final class InputIterator implements Iterator<Input> {
+		private final Iterator<Path> files;
+		private Path currentFile;
+		private BufferedReader currentReader;
+		private Input next;
+
+		private InputIterator(List<Path> files) {
+			this.files = files.iterator();
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (next == null) {
+				next = advance();
+			}
+			return next != null;
+		}
+
+		@Override
+		public Input next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			Input result = next;
+			next = null;
+			return result;
+		}
+
+		private Input advance() {
+			try {
+				while (true) {
+					if (currentReader != null) {
+						String line = currentReader.readLine();
+						if (line == null) {
+							currentReader.close();
+							currentReader = null;
+						} else if (!line.isBlank()) {
+							return new Input(currentFile, line);
+						}
+					} else if (!files.hasNext()) {
+						return null;
+					} else {
+						currentFile = files.next();
+						if (!NDJSON_EXTENSIONS.contains(extension(currentFile))) {
+							return new Input(currentFile, null);
+						}
+						currentReader = Files.newBufferedReader(currentFile, UTF_8);
+					}
+				}
+			} catch (IOException e) {
+				throw new UncheckedIOException("Failed to read " + currentFile, e);
+			}
+		}
+	}
+
+	/**
+	 * The command line options.
+	 */
+	record Options(Path xsd, String rootElement, Path jsonSchema, Path avsc, Path inputDirectory, Path outputDirectory, int threads, String format,
+	               String codec) {
+		static Options parse(String[] args) {
+			Path xsd = null;
+			String rootElement = null;
+			Path jsonSchema = null;
+			Path avsc = null;
+			Path inputDirectory = null;
+			Path outputDirectory = null;
+			int threads = Runtime.getRuntime().availableProcessors();
+			String format = "avro";
+			String codec = null;
+			List<String> arguments = new ArrayList<>(List.of(args));
+			if (arguments.isEmpty()) {
+				throw new IllegalArgumentException("No arguments");
+			}
+			while (!arguments.isEmpty()) {
+				String option = arguments.remove(0);
+				if (arguments.isEmpty()) {
+					throw new IllegalArgumentException("Missing value for " + option);
+				}
+				String value = arguments.remove(0);
+				switch (option) {
+					case "--xsd" -> xsd = Path.of(value);
+					case "--root" -> rootElement = value;
+					case "--json-schema" -> jsonSchema = Path.of(value);
+					case "--avsc" -> avsc = Path.of(value);
+					case "--in" -> inputDirectory = Path.of(value);
+					case "--out" -> outputDirectory = Path.of(value);
+					case "--threads" -> threads = parseThreads(value);
+					case "--format" -> format = value;
+					case "--codec" -> codec = value;
+					default -> throw new IllegalArgumentException("Unknown option: " + option);
+				}
+			}
+			if (avsc == null || inputDirectory == null || outputDirectory == null) {
+				throw new IllegalArgumentException("The options --avsc, --in and --out are required");
+			}
+			if ((xsd == null) != (rootElement == null)) {
+				throw new IllegalArgumentException("The options --xsd and --root must be used together");
+			}
+			if (xsd != null && jsonSchema != null) {
+				throw new IllegalArgumentException("The options --xsd and --json-schema cannot be used together");
+			}
+			return new Options(xsd, rootElement, jsonSchema, avsc, inputDirectory, outputDirectory, threads, format, codec);
+		}
+
+		private static int parseThreads(String value) {
+			try {
+				int threads = Integer.parseInt(value);
+				if (threads > 0) {
+					return threads;
+				}
+			} catch (NumberFormatException ignored) {
+				// Handled below
+			}
+			throw new IllegalArgumentException("Invalid number of threads: " + value);
+		}
+	}
+
+	private BulkConverter() {
+		// Utility class: no need to instantiate.
+	}
+}
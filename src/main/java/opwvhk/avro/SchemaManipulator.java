@@ -9,31 +9,41 @@ import org.apache.avro.SchemaParser;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.Stream;
 
 import static java.util.Objects.requireNonNull;
 
 /**
- * Starting point for schema manipulation and documentation. Typical use case is to read an XSD, rename fields and schemata where needed, unwrap nested arrays,
- * and generate and document the resulting schema.
+ * <p>Starting point for schema manipulation and documentation. Typical use case is to read an XSD, rename fields and schemata where needed, unwrap nested
+ * arrays, and generate and document the resulting schema.</p>
+ *
+ * <p>Renaming and unwrapping by path or name is indexed, so even thousands of these manipulations take time linear in the size of the schema. If multiple
+ * renames apply to a schema or field, the first one wins. Naming conventions apply to schemas and fields that are not explicitly renamed.</p>
  */
 public class SchemaManipulator {
 	private Schema initialSchema;
 	private boolean sortFields;
 	private boolean renameWithAliases;
-	private StringBuilder markdownBuffer;
-	private List<SchemaRenamer> schemaRenamerList;
+	private Appendable markdownBuffer;
+	private int renameCount;
+	private Map<String, Rename> schemaRenamesByPath;
+	private Map<String, Rename> schemaRenamesByName;
 	private SchemaRenamer schemaNamingConvention;
-	private List<FieldRenamer> fieldRenamerList;
+	private Map<String, Rename> fieldRenamesByPath;
+	private Map<String, Map<String, Rename>> fieldRenamesBySchemaName;
 	private FieldRenamer fieldNamingConvention;
+	private Set<String> unwrapPaths;
+	private Map<String, Set<String>> unwrapFieldsBySchemaName;
 	private List<UnwrapTest> unwrapTests;
 
 	/**
@@ -50,10 +60,15 @@ public class SchemaManipulator {
 		sortFields = false;
 		renameWithAliases = true;
 		markdownBuffer = null;
-		schemaRenamerList = new ArrayList<>();
+		renameCount = 0;
+		schemaRenamesByPath = new HashMap<>();
+		schemaRenamesByName = new HashMap<>();
 		schemaNamingConvention = (pathToField, fieldSchema) -> null;
-		fieldRenamerList = new ArrayList<>();
+		fieldRenamesByPath = new HashMap<>();
+		fieldRenamesBySchemaName = new HashMap<>();
 		fieldNamingConvention = (pathToField, schemaWithField, field) -> null;
+		unwrapPaths = new HashSet<>();
+		unwrapFieldsBySchemaName = new HashMap<>();
 		unwrapTests = new ArrayList<>();
 	}
 
@@ -113,12 +128,17 @@ public class SchemaManipulator {
 	 * <p>The {@code SchemaManipulator} remains available after calling this method, as if it were created with the resulting schema.</p>
 	 *
 	 * @return the resulting schema
+	 * @throws UncheckedIOException when the documentation cannot be written
 	 */
 	public Schema finish() {
 		Schema result = applySchemaChanges(initialSchema);
 
 		if (markdownBuffer != null) {
-			AvroSchemaUtils.documentAsMarkdown(result, markdownBuffer);
+			try {
+				AvroSchemaUtils.documentAsMarkdown(result, markdownBuffer);
+			} catch (IOException e) {
+				throw new UncheckedIOException("Failed to write the documentation", e);
+			}
 		}
 
 		reset(result);
@@ -171,7 +191,7 @@ public class SchemaManipulator {
 					Object newDefaultValue = field.defaultVal();
 					Schema.Field.Order newOrder = field.order();
 					Schema.Field wrappedArrayField = onlyRecordFieldIfArray(newFieldSchema);
-					if (wrappedArrayField != null && unwrapTests.stream().anyMatch(uwt -> uwt.test(fieldPath, schema, field, wrappedArrayField))) {
+					if (wrappedArrayField != null && shouldUnwrap(fieldPath, schema, field, wrappedArrayField)) {
 						newFieldSchema = wrappedArrayField.schema();
 						newDoc = wrappedArrayField.doc();
 						newDefaultValue = wrappedArrayField.defaultVal();
@@ -222,19 +242,74 @@ public class SchemaManipulator {
 	}
 
 	private String newSchemaName(String path, Schema schema) {
-		return Stream.concat(schemaRenamerList.stream(), Stream.of(schemaNamingConvention))
-				.map(renamer -> renamer.newSchemaName(path, schema))
-				.filter(Objects::nonNull)
-				.findAny()
-				.orElse(null);
+		Rename rename = schemaRenamesByPath.get(path);
+		if (!schemaRenamesByName.isEmpty()) {
+			rename = Rename.first(rename, schemaRenamesByName.get(schema.getFullName()));
+			for (String alias : schema.getAliases()) {
+				rename = Rename.first(rename, schemaRenamesByName.get(alias));
+			}
+		}
+		return rename != null ? rename.newName() : schemaNamingConvention.newSchemaName(path, schema);
 	}
 
 	private String newFieldName(String path, Schema schemaWithField, Schema.Field field) {
-		return Stream.concat(fieldRenamerList.stream(), Stream.of(fieldNamingConvention))
-				.map(renamer -> renamer.newFieldName(path, schemaWithField, field))
-				.filter(Objects::nonNull)
-				.findAny()
-				.orElse(null);
+		Rename rename = fieldRenamesByPath.get(path);
+		if (!fieldRenamesBySchemaName.isEmpty()) {
+			rename = Rename.first(rename, fieldRename(fieldRenamesBySchemaName.get(schemaWithField.getFullName()), field));
+			for (String alias : schemaWithField.getAliases()) {
+				rename = Rename.first(rename, fieldRename(fieldRenamesBySchemaName.get(alias), field));
+			}
+		}
+		return rename != null ? rename.newName() : fieldNamingConvention.newFieldName(path, schemaWithField, field);
+	}
+
+	private static Rename fieldRename(Map<String, Rename> renamesByFieldName, Schema.Field field) {
+		if (renamesByFieldName == null) {
+			return null;
+		}
+		Rename rename = renamesByFieldName.get(field.name());
+		for (String alias : field.aliases()) {
+			rename = Rename.first(rename, renamesByFieldName.get(alias));
+		}
+		return rename;
+	}
+
+	private boolean shouldUnwrap(String path, Schema schemaWithWrappingField, Schema.Field wrappingField, Schema.Field wrappedField) {
+		if (unwrapPaths.contains(path) || isUnwrappedByName(schemaWithWrappingField.getFullName(), wrappingField)) {
+			return true;
+		}
+		for (String alias : schemaWithWrappingField.getAliases()) {
+			if (isUnwrappedByName(alias, wrappingField)) {
+				return true;
+			}
+		}
+		for (UnwrapTest unwrapTest : unwrapTests) {
+			if (unwrapTest.test(path, schemaWithWrappingField, wrappingField, wrappedField)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean isUnwrappedByName(String schemaName, Schema.Field wrappingField) {
+		Set<String> fieldNames = unwrapFieldsBySchemaName.get(schemaName);
+		return fieldNames != null && isOneOf(fieldNames, wrappingField.name(), wrappingField.aliases());
+	}
+
+	private static boolean isOneOf(Set<String> tests, String first, Set<String> others) {
+		if (tests.contains(first)) {
+			return true;
+		}
+		for (String other : others) {
+			if (tests.contains(other)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private Rename newRename(String newName) {
+		return new Rename(renameCount++, newName);
 	}
 
 	private static Schema.Field onlyRecordFieldIfArray(Schema schema) {
@@ -284,15 +359,10 @@ public class SchemaManipulator {
 	 * @see #renameSchemaAtPath(String, String...)
 	 */
 	public SchemaManipulator renameSchema(String schemaName, String newSchemaName) {
-		schemaRenamerList.add((pathToField, fieldSchema) ->
-				isOneOf(schemaName, fieldSchema.getFullName(), fieldSchema.getAliases()) ? newSchemaName : null);
+		schemaRenamesByName.putIfAbsent(schemaName, newRename(newSchemaName));
 		return this;
 	}
 
-	private static boolean isOneOf(String test, String first, Set<String> others) {
-		return first.equals(test) || others.contains(test);
-	}
-
 	/**
 	 * Rename the schema of the field at the specified path. To rename the main schema, provide an empty (no) path.
 	 *
@@ -304,8 +374,7 @@ public class SchemaManipulator {
 	 */
 	public SchemaManipulator renameSchemaAtPath(String newSchemaName, String... pathToFieldWithSchemaToRename) {
 		String pathToMatch = String.join(".", pathToFieldWithSchemaToRename);
-		schemaRenamerList.add((pathToField, fieldSchema) ->
-				pathToMatch.equals(pathToField) ? newSchemaName : null);
+		schemaRenamesByPath.putIfAbsent(pathToMatch, newRename(newSchemaName));
 		return this;
 	}
 
@@ -349,9 +418,7 @@ public class SchemaManipulator {
 	 * @see #renameFieldAtPath(String, String...)
 	 */
 	public SchemaManipulator renameField(String schemaName, String fieldName, String newFieldName) {
-		fieldRenamerList.add((pathToField, schemaWithField, field) ->
-				isOneOf(schemaName, schemaWithField.getFullName(), schemaWithField.getAliases()) &&
-				isOneOf(fieldName, field.name(), field.aliases()) ? newFieldName : null);
+		fieldRenamesBySchemaName.computeIfAbsent(schemaName, ignored -> new HashMap<>()).putIfAbsent(fieldName, newRename(newFieldName));
 		return this;
 	}
 
@@ -366,8 +433,7 @@ public class SchemaManipulator {
 	 */
 	public SchemaManipulator renameFieldAtPath(String newFieldName, String... pathToFieldToRename) {
 		String pathToMatch = String.join(".", pathToFieldToRename);
-		fieldRenamerList.add((pathToField, schemaWithField, fieldSchema) ->
-				pathToMatch.equals(pathToField) ? newFieldName : null);
+		fieldRenamesByPath.putIfAbsent(pathToMatch, newRename(newFieldName));
 		return this;
 	}
 
@@ -430,10 +496,7 @@ public class SchemaManipulator {
 	 * @see #unwrapArrayAtPath(String...)
 	 */
 	public SchemaManipulator unwrapArray(String schemaName, String wrappingField) {
-		unwrapTests.add((path, schema, wrapping, wrapped) ->
-				isOneOf(schemaName, schema.getFullName(), schema.getAliases()) &&
-				isOneOf(wrappingField, wrapping.name(), wrapping.aliases())
-		);
+		unwrapFieldsBySchemaName.computeIfAbsent(schemaName, ignored -> new HashSet<>()).add(wrappingField);
 		return this;
 	}
 
@@ -454,7 +517,7 @@ public class SchemaManipulator {
 	 */
 	public SchemaManipulator unwrapArrayAtPath(String... pathToWrappingField) {
 		String pathToMatch = String.join(".", pathToWrappingField);
-		unwrapTests.add((p, s, wr, wd) -> p.equals(pathToMatch));
+		unwrapPaths.add(pathToMatch);
 		return this;
 	}
 
@@ -463,9 +526,23 @@ public class SchemaManipulator {
 	 *
 	 * <p>The table is written into the provided {@code StringBuilder}.</p>
 	 *
+	 * @param buffer where to write the Markdown table to
 	 * @return this {@code SchemaManipulator}
 	 */
 	public SchemaManipulator alsoDocumentAsMarkdownTable(StringBuilder buffer) {
+		return alsoDocumentAsMarkdownTable((Appendable) buffer);
+	}
+
+	/**
+	 * <p>Document the schema as Markdown table when completing the schema manipulation.</p>
+	 *
+	 * <p>The table is written into the provided {@code Writer} or other {@code Appendable} while visiting the schema. When writing to a {@code Writer}, even
+	 * very large schemata are documented with little memory.</p>
+	 *
+	 * @param buffer where to write the Markdown table to
+	 * @return this {@code SchemaManipulator}
+	 */
+	public SchemaManipulator alsoDocumentAsMarkdownTable(Appendable buffer) {
 		markdownBuffer = buffer;
 		return this;
 	}
@@ -495,4 +572,16 @@ public class SchemaManipulator {
 	private interface UnwrapTest {
 		boolean test(String pathToWrappingField, Schema schemaWithWrappingField, Schema.Field wrappingField, Schema.Field wrappedField);
 	}
+
+	/**
+	 * A rename, with its position in the order renames were specified (the first matching rename wins).
+	 */
+	private record Rename(int order, String newName) {
+		private static Rename first(Rename rename1, Rename rename2) {
+			if (rename1 == null) {
+				return rename2;
+			}
+			return rename2 == null || rename1.order < rename2.order ? rename1 : rename2;
+		}
+	}
 }
@@ -1,7 +1,9 @@
 package opwvhk.avro.io;
 
+import jdk.jfr.EventType;
 import opwvhk.avro.ResolvingFailure;
 import opwvhk.avro.util.AvroConversions;
+import opwvhk.avro.util.BinaryDecoding;
 import opwvhk.avro.util.Utils;
 import org.apache.avro.Conversion;
 import org.apache.avro.Conversions;
@@ -10,11 +12,12 @@ import org.apache.avro.LogicalTypes;
 import org.apache.avro.Schema;
 import org.apache.avro.data.TimeConversions;
 import org.apache.avro.generic.GenericData;
-import org.apache.commons.codec.binary.Base16;
+import org.apache.avro.specific.SpecificData;
+import org.apache.avro.specific.SpecificRecordBase;
+import org.apache.avro.util.Utf8;
 import org.jetbrains.annotations.VisibleForTesting;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.nio.ByteBuffer;
 import java.time.Clock;
 import java.time.Instant;
@@ -29,7 +32,6 @@ import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
 import java.time.temporal.ChronoField;
 import java.util.ArrayList;
-import java.util.Base64;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -42,6 +44,7 @@ import java.util.function.BiPredicate;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 
 import static java.time.ZoneOffset.UTC;
 import static java.util.Objects.requireNonNull;
@@ -53,6 +56,10 @@ import static opwvhk.avro.util.AvroSchemaUtils.nonNullableSchemaOf;
  * <p>Subclasses should implement a </p>
  */
 public abstract class AsAvroParserBase<WriteSchema> {
+	/**
+	 * The event type of parse events, to check if they are recorded.
+	 */
+	private static final EventType PARSE_EVENT_TYPE = EventType.getEventType(ParseEvent.class);
 	/**
 	 * Date format as specified by ISO8601.
 	 */
@@ -110,22 +117,32 @@ public abstract class AsAvroParserBase<WriteSchema> {
 	 * Resolver for string values.
 	 */
 	protected static final ScalarValueResolver STRING_RESOLVER = new ScalarValueResolver(s -> s);
+	/**
+	 * Resolver for string values, yielding {@link Utf8} instances.
+	 */
+	protected static final ScalarValueResolver UTF8_RESOLVER = new ScalarValueResolver(Utf8::new);
 	/**
 	 * Resolver for base 16 formatted binary values.
 	 */
-	protected static final ScalarValueResolver BASE16_RESOLVER = new ScalarValueResolver(text -> ByteBuffer.wrap(new Base16().decode(text)));
+	protected static final ScalarValueResolver BASE16_RESOLVER = new ScalarValueResolver(text -> ByteBuffer.wrap(BinaryDecoding.decodeBase16(text)));
 	/**
 	 * Resolver for base 64 formatted binary values.
 	 */
-	protected static final ScalarValueResolver BASE64_RESOLVER = new ScalarValueResolver(text -> ByteBuffer.wrap(Base64.getDecoder().decode(text)));
+	protected static final ScalarValueResolver BASE64_RESOLVER = new ScalarValueResolver(text -> ByteBuffer.wrap(BinaryDecoding.decodeBase64(text)));
 	/**
-	 * Resolver for ISO8601 (local) dates (using {@link DateTimeFormatter#ISO_DATE}).
+	 * Resolver for ISO8601 (local) dates (using {@link DateTimeFormatter#ISO_DATE}). Plain {@code yyyy-MM-dd} dates are parsed without a formatter.
 	 */
-	protected static final ScalarValueResolver LOCAL_DATE_RESOLVER = new ScalarValueResolver(text -> LocalDate.parse(text, DATE_FORMAT));
+	protected static final ScalarValueResolver LOCAL_DATE_RESOLVER = new ScalarValueResolver(text -> {
+		LocalDate date = IsoTemporalParser.parseLocalDate(text);
+		return date != null ? date : LocalDate.parse(text, DATE_FORMAT);
+	});
 	/**
-	 * Resolver for local date-times (using {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME}).
+	 * Resolver for local date-times (using {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME}). Date-times with seconds are parsed without a formatter.
 	 */
-	protected static final ScalarValueResolver LOCAL_DATE_TIME_RESOLVER = new ScalarValueResolver(LocalDateTime::parse);
+	protected static final ScalarValueResolver LOCAL_DATE_TIME_RESOLVER = new ScalarValueResolver(text -> {
+		LocalDateTime dateTime = IsoTemporalParser.parseLocalDateTime(text);
+		return dateTime != null ? dateTime : LocalDateTime.parse(text);
+	});
 
 	/**
 	 * <p>Determine the offset for a time zone.</p>
@@ -179,7 +196,10 @@ public abstract class AsAvroParserBase<WriteSchema> {
 	 */
 	protected final ScalarValueResolver instantResolver;
 	private final List<ResolveRule<WriteSchema>> resolveRules;
+	private final String parserName = getClass().getName();
+	private final String recordType;
 	private final ValueResolver resolver;
+	private volatile ParseListener parseListener = ParseListener.NONE;
 
 	/**
 	 * Create an {@code AsAvroParserBase}, using the specified model, write and read schemata, and the {@code UTC} time zone as default.
@@ -222,6 +242,11 @@ public abstract class AsAvroParserBase<WriteSchema> {
 	 * daylight saving cannot be determined. To solve this, they will be parsed as if they're today (the day this parser is created).
 	 * </p>
 	 *
+	 * <p>
+	 * If the subclass provides a {@link #writeSchemaFingerprint(Object) fingerprint} for the write schema, resolvers are shared with other parsers that use
+	 * the same schemata, model and options (including the current offset of the fallback time zone).
+	 * </p>
+	 *
 	 * @param model                the model to create records and enum symbols with
 	 * @param writeSchema          the write schema to parse
 	 * @param readSchema           the read schema to parse into
@@ -230,12 +255,35 @@ public abstract class AsAvroParserBase<WriteSchema> {
 	 */
 	protected AsAvroParserBase(GenericData model, WriteSchema writeSchema, Schema readSchema, Set<Schema.Field> fieldsAllowedMissing,
 	                           ZoneId fallbackTimezone) {
+		this(model, writeSchema, readSchema, fieldsAllowedMissing, fallbackTimezone, Clock.systemDefaultZone());
+	}
+
+	/**
+	 * Create an {@code AsAvroParserBase}, using the specified model, schemas, default time zone and clock. This constructor is visible for testing.
+	 *
+	 * @param model                the model to create records and enum symbols with
+	 * @param writeSchema          the write schema to parse
+	 * @param readSchema           the read schema to parse into
+	 * @param fieldsAllowedMissing fields in the read schema that are allowed to be missing, even when this yields invalid records
+	 * @param fallbackTimezone     the fallback time zone to use when parsing times and timestamps
+	 * @param clock                the clock to determine the offset of the fallback time zone with (for times)
+	 */
+	AsAvroParserBase(GenericData model, WriteSchema writeSchema, Schema readSchema, Set<Schema.Field> fieldsAllowedMissing, ZoneId fallbackTimezone,
+	                 Clock clock) {
 		this.model = model;
 		this.fieldsAllowedMissing = fieldsAllowedMissing;
-		DateTimeFormatter timeFormat = ZONE_LESS_TIME_FORMATTER.withZone(asOffset(fallbackTimezone, Clock.systemDefaultZone()));
-		offsetTimeResolver = new ScalarValueResolver(text -> OffsetTime.parse(text, timeFormat));
+		// Common ISO8601 shapes are parsed without the (relatively slow) formatters; these remain as fallback for other inputs and to report errors.
+		ZoneOffset fallbackOffset = asOffset(fallbackTimezone, clock);
+		DateTimeFormatter timeFormat = ZONE_LESS_TIME_FORMATTER.withZone(fallbackOffset);
+		offsetTimeResolver = new ScalarValueResolver(text -> {
+			OffsetTime time = IsoTemporalParser.parseOffsetTime(text, fallbackOffset);
+			return time != null ? time : OffsetTime.parse(text, timeFormat);
+		});
 		DateTimeFormatter dateTimeFormat = ZONE_LESS_DATE_TIME_FORMATTER.withZone(fallbackTimezone);
-		instantResolver = new ScalarValueResolver(text -> ZonedDateTime.parse(text, dateTimeFormat).toInstant());
+		instantResolver = new ScalarValueResolver(text -> {
+			Instant instant = IsoTemporalParser.parseInstant(text, fallbackTimezone);
+			return instant != null ? instant : ZonedDateTime.parse(text, dateTimeFormat).toInstant();
+		});
 
 		ensureConversionFor(LogicalTypes.decimal(1, 1), BigDecimal.class, Conversions.DecimalConversion::new);
 		ensureConversionFor(LogicalTypes.date(), LocalDate.class, TimeConversions.DateConversion::new);
@@ -250,7 +298,47 @@ public abstract class AsAvroParserBase<WriteSchema> {
 		ensureConversionFor(LogicalTypes.timeMicros(), OffsetTime.class, AvroConversions.OffsetTimeMicrosConversion::new);
 
 		resolveRules = createResolveRules();
-		resolver = createResolver(writeSchema, readSchema);
+		recordType = readSchema.getFullName();
+		ResolverConstructionEvent event = new ResolverConstructionEvent();
+		event.begin();
+		event.parser = parserName;
+		event.recordType = recordType;
+		try {
+			Object writeSchemaFingerprint = writeSchemaFingerprint(writeSchema);
+			event.cacheable = writeSchemaFingerprint != null;
+			if (writeSchemaFingerprint == null) {
+				event.created = true;
+				resolver = createResolver(writeSchema, readSchema);
+			} else {
+				ResolverKey key = new ResolverKey(getClass(), writeSchemaFingerprint, readSchema.toString(), model, Set.copyOf(fieldsAllowedMissing),
+						fallbackTimezone, fallbackOffset);
+				resolver = ResolverCache.shared().get(key, () -> {
+					event.created = true;
+					return createResolver(writeSchema, readSchema);
+				});
+			}
+			event.outcome = "success";
+		} catch (RuntimeException | Error e) {
+			event.outcome = e.getClass().getName();
+			throw e;
+		} finally {
+			event.commit();
+		}
+	}
+
+	/**
+	 * <p>Determine a fingerprint of the write schema, used to share resolvers between parsers via the {@link ResolverCache#shared() resolver cache}.</p>
+	 *
+	 * <p>Two write schemas with equal fingerprints must yield the same resolvers. Note that the fingerprint is called <em>before</em> any fields of a
+	 * subclass are initialized, and that it must be able to handle a {@code null} write schema if the subclass allows it.</p>
+	 *
+	 * <p>The default implementation returns {@code null}, meaning the resolvers will not be cached.</p>
+	 *
+	 * @param writeSchema the write schema to parse (may be {@code null})
+	 * @return a fingerprint of the write schema, or {@code null} if the resolvers should not be cached
+	 */
+	protected Object writeSchemaFingerprint(WriteSchema writeSchema) {
+		return null;
 	}
 
 	/**
@@ -328,14 +416,14 @@ public abstract class AsAvroParserBase<WriteSchema> {
 		resolveRules.add(new ResolveRule<>(Objects::isNull, rawType(Schema.Type.DOUBLE), (w, r) -> DOUBLE_RESOLVER));
 		resolveRules.add(new ResolveRule<>(Objects::isNull, rawType(Schema.Type.INT), (w, r) -> INTEGER_RESOLVER));
 		resolveRules.add(new ResolveRule<>(Objects::isNull, rawType(Schema.Type.LONG), (w, r) -> LONG_RESOLVER));
-		resolveRules.add(new ResolveRule<>(Objects::isNull, rawType(Schema.Type.STRING), (w, r) -> STRING_RESOLVER));
+		resolveRules.add(new ResolveRule<>(Objects::isNull, rawType(Schema.Type.STRING), (w, r) -> createStringResolver(r)));
 		resolveRules.add(new ResolveRule<>(Objects::isNull, rawType(Schema.Type.ENUM), (w, r) -> createEnumResolver(r)));
 		Predicate<Schema> binaryTypeWithFormat = rawType(Schema.Type.BYTES).or(rawType(Schema.Type.FIXED)).and(s -> s.getProp("format") != null);
 		resolveRules.add(new ResolveRule<>(Objects::isNull, binaryTypeWithFormat, (w, r) -> createBinaryResolver(r)));
 		// Composite types
 		resolveRules.add(new ResolveRule<>(Objects::isNull, rawType(Schema.Type.UNION), (w, r) -> createResolver(null, nonNullableSchemaOf(r))));
 		resolveRules.add(new ResolveRule<>(Objects::isNull, rawType(Schema.Type.ARRAY),
-				(w, r) -> new ListResolver(createResolver(null, nonNullableSchemaOf(r.getElementType())))));
+				(w, r) -> new ListResolver(createResolver(null, nonNullableSchemaOf(r.getElementType())), model, r)));
 		resolveRules.add(new ResolveRule<>(Objects::isNull, rawType(Schema.Type.RECORD), (w, r) -> createRecordResolver(r)));
 		// Explicitly unsupported types (needed here to weed out null write types, and to add a better error message)
 		resolveRules.add(new ResolveRule<>(Objects::isNull, r -> unsupportedTypesForNullWriteType.contains(r.getType()), throwForUnsupportedType));
@@ -352,6 +440,43 @@ public abstract class AsAvroParserBase<WriteSchema> {
 		return resolver;
 	}
 
+	/**
+	 * <p>Start a JDK Flight Recorder event for parsing a record. Subclasses should call this when they start parsing, and {@link ParseEvent#finish(long,
+	 * Throwable) finish} the event when done.</p>
+	 *
+	 * <p>When the event is not recorded, this returns a shared event that does nothing, so parsing does not allocate events.</p>
+	 *
+	 * @return a started parse event
+	 */
+	protected ParseEvent startParseEvent() {
+		if (!PARSE_EVENT_TYPE.isEnabled()) {
+			return ParseEvent.DISABLED;
+		}
+		ParseEvent event = new ParseEvent(parserName, recordType);
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * <p>Set the listener to notify of parse events, for example to gather {@link ParseMetrics metrics}.</p>
+	 *
+	 * <p>The listener is called on the parsing thread(s). By default, parsers use {@link ParseListener#NONE}, which skips all measurements.</p>
+	 *
+	 * @param parseListener the listener to use; {@code null} removes the current listener
+	 */
+	public void setParseListener(ParseListener parseListener) {
+		this.parseListener = parseListener == null ? ParseListener.NONE : parseListener;
+	}
+
+	/**
+	 * Get the listener to notify of parse events.
+	 *
+	 * @return the current listener; {@link ParseListener#NONE} if there is none
+	 */
+	public ParseListener getParseListener() {
+		return parseListener;
+	}
+
 	private static final ThreadLocal<Map<Utils.Seen, ValueResolver>> SEEN = ThreadLocal.withInitial(HashMap::new);
 
 	/**
@@ -424,6 +549,28 @@ public abstract class AsAvroParserBase<WriteSchema> {
 		return createResolver(null, readSchema);
 	}
 
+	/**
+	 * <p>Create a resolver for string values.</p>
+	 *
+	 * <p>The resolver yields {@link Utf8} values if the schema property {@value GenericData#STRING_PROP} is {@code Utf8}, and strings otherwise. This
+	 * saves encoding the strings again when writing the record, especially when combined with a string dictionary.</p>
+	 *
+	 * <p>If the schema has a property {@value StringDictionary#SCHEMA_PROPERTY}, the resolver yields canonical instances from the
+	 * {@link StringDictionary#named(String) named} string dictionary.</p>
+	 *
+	 * @param stringSchema an Avro schema with type {@link org.apache.avro.Schema.Type#STRING}.
+	 * @return a resolver for string values
+	 */
+	protected ScalarValueResolver createStringResolver(Schema stringSchema) {
+		boolean useUtf8 = GenericData.StringType.Utf8.name().equals(stringSchema.getProp(GenericData.STRING_PROP));
+		String dictionaryName = stringSchema.getProp(StringDictionary.SCHEMA_PROPERTY);
+		if (dictionaryName == null) {
+			return useUtf8 ? UTF8_RESOLVER : STRING_RESOLVER;
+		}
+		StringDictionary dictionary = StringDictionary.named(dictionaryName);
+		return new ScalarValueResolver(useUtf8 ? dictionary::canonicalUtf8 : dictionary::canonical);
+	}
+
 	/**
 	 * Create a resolver for enumerated values.
 	 *
@@ -431,17 +578,17 @@ public abstract class AsAvroParserBase<WriteSchema> {
 	 * @return a resolver for enumerated values
 	 */
 	protected ScalarValueResolver createEnumResolver(Schema enumSchema) {
-		return new ScalarValueResolver(symbol -> enumSymbol(enumSchema, symbol));
-	}
-
-	private Object enumSymbol(Schema enumSchema, String input) {
-		String symbol;
-		if (enumSchema.getEnumSymbols().contains(input)) {
-			symbol = input;
-		} else {
-			symbol = requireNonNull(enumSchema.getEnumDefault(), "Invalid symbol for enum without default: " + input);
+		// Enum symbols are immutable, so we can create them once and share them. Looking them up by name is also faster than searching the symbol list.
+		Map<String, Object> symbolsByName = new HashMap<>();
+		for (String symbol : enumSchema.getEnumSymbols()) {
+			symbolsByName.put(symbol, model.createEnum(symbol, enumSchema));
 		}
-		return model.createEnum(symbol, enumSchema);
+		String defaultSymbol = enumSchema.getEnumDefault();
+		Object defaultValue = defaultSymbol == null ? null : symbolsByName.get(defaultSymbol);
+		return new ScalarValueResolver(input -> {
+			Object value = symbolsByName.getOrDefault(input, defaultValue);
+			return requireNonNull(value, () -> "Invalid symbol for enum without default: " + input);
+		});
 	}
 
 	/**
@@ -458,7 +605,7 @@ public abstract class AsAvroParserBase<WriteSchema> {
 		LogicalTypes.Decimal logicalType = (LogicalTypes.Decimal) readSchema.getLogicalType();
 		int scale = logicalType.getScale();
 		// Note: as the XML was validated before parsing, we're certain the precision is not too large.
-		return text -> new BigDecimal(text).setScale(scale, RoundingMode.UNNECESSARY);
+		return text -> Utils.parseDecimal(text, scale);
 	}
 
 
@@ -470,33 +617,52 @@ public abstract class AsAvroParserBase<WriteSchema> {
 	 */
 	@VisibleForTesting
 	ScalarValueResolver createBinaryResolver(Schema schema) {
-		Function<String, ByteBuffer> parser = switch (schema.getProp("format")) {
-			case "base16" -> this::parseBase16;
-			case "base64" -> this::parseBase64;
+		Function<String, byte[]> decoder;
+		ToIntFunction<String> decodedSize;
+		switch (schema.getProp("format")) {
+			case "base16" -> {
+				decoder = BinaryDecoding::decodeBase16;
+				decodedSize = BinaryDecoding::base16Size;
+			}
+			case "base64" -> {
+				decoder = BinaryDecoding::decodeBase64;
+				decodedSize = BinaryDecoding::base64Size;
+			}
 			default -> throw new ResolvingFailure("Unsupported format: " + schema.getProp("format"));
-		};
+		}
 		if (schema.getType() == Schema.Type.FIXED) {
 			int size = schema.getFixedSize();
-			parser = parser.andThen(bb -> {
-				if (bb.capacity() != size) {
-					throw new IllegalArgumentException("Wrong input size: expected %d bytes, but got %d bytes".formatted(size, bb.capacity()));
+			return new ScalarValueResolver(text -> {
+				// Check the size before decoding, to fail before allocating memory.
+				int actualSize = decodedSize.applyAsInt(text);
+				if (actualSize != size) {
+					throw new IllegalArgumentException("Wrong input size: expected %d bytes, but got %d bytes".formatted(size, actualSize));
 				}
-				return bb;
+				return ByteBuffer.wrap(decoder.apply(text));
 			});
 		}
-		return new ScalarValueResolver(parser);
-	}
-
-	private ByteBuffer parseBase16(String text) {
-		return ByteBuffer.wrap(new Base16().decode(text));
+		return new ScalarValueResolver(decoder.andThen(ByteBuffer::wrap));
 	}
 
-	private ByteBuffer parseBase64(String text) {
-		return ByteBuffer.wrap(Base64.getDecoder().decode(text));
+	/**
+	 * <p>Create an empty resolver for records, to add field resolvers to.</p>
+	 *
+	 * <p>If the model is a {@link SpecificData} model that has a generated class for the schema, the resolver creates instances of that class without
+	 * using reflection.</p>
+	 *
+	 * @param readSchema an Avro schema with type {@link org.apache.avro.Schema.Type#RECORD}.
+	 * @return a resolver for records
+	 */
+	protected RecordResolver newRecordResolver(Schema readSchema) {
+		if (model instanceof SpecificData specificModel && specificModel.getClass(readSchema) instanceof Class<?> recordClass &&
+		    SpecificRecordBase.class.isAssignableFrom(recordClass)) {
+			return new SpecificRecordResolver(specificModel, readSchema, recordClass.asSubclass(SpecificRecordBase.class));
+		}
+		return new RecordResolver(model, readSchema);
 	}
 
 	private ValueResolver createRecordResolver(Schema readSchema) {
-		RecordResolver resolver = new RecordResolver(model, readSchema);
+		RecordResolver resolver = newRecordResolver(readSchema);
 		for (Schema.Field readField : readSchema.getFields()) {
 			ValueResolver fieldResolver = createResolver(readField.schema());
 			resolver.addResolver(readField.name(), readField, fieldResolver);
@@ -505,6 +671,17 @@ public abstract class AsAvroParserBase<WriteSchema> {
 		return resolver;
 	}
 
+	/**
+	 * Key for cached resolvers: resolvers depend on the parser (its rules), the schemata, the model and the options of the parser.
+	 *
+	 * <p>Note that the read schema is included as JSON: unlike the parsing canonical form, this includes the defaults, aliases and logical types that
+	 * determine how data is resolved. Also, times are parsed using the offset of the fallback time zone when the parser was created, so the key includes
+	 * that offset as well: when it changes (daylight saving time), new parsers use new resolvers.</p>
+	 */
+	private record ResolverKey(Class<?> parserClass, Object writeSchemaFingerprint, String readSchema, GenericData model,
+	                           Set<Schema.Field> fieldsAllowedMissing, ZoneId fallbackTimezone, ZoneOffset fallbackOffset) {
+	}
+
 	/**
 	 * Resolve rule for scalar values.
 	 *
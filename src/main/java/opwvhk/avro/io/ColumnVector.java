@@ -0,0 +1,580 @@
+package opwvhk.avro.io;
+
+import org.apache.avro.Conversion;
+import org.apache.avro.Conversions;
+import org.apache.avro.LogicalType;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericFixed;
+import org.apache.avro.generic.IndexedRecord;
+import org.apache.avro.util.Utf8;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static opwvhk.avro.util.AvroSchemaUtils.nonNullableSchemaOf;
+
+/**
+ * <p>A column of a {@link ColumnarBatch}: the values of a single field for all records in the batch.</p>
+ *
+ * <p>Values are stored in primitive arrays, with a validity bitmap to mark the non-null values. Strings and binary values are stored consecutively in a
+ * byte array, with offsets to find them. Arrays are stored with offsets into a column of items, and records as a column per field. Logical types are
+ * stored as their underlying type; for example, dates as the number of days since the epoch, and decimals as the unscaled value in bytes.</p>
+ *
+ * <p>The arrays returned by the accessors are the internal storage: they can be larger than needed, and are valid until the next value is added.</p>
+ */
+public abstract sealed class ColumnVector
+		permits ColumnVector.BooleanVector, ColumnVector.IntVector, ColumnVector.LongVector, ColumnVector.FloatVector, ColumnVector.DoubleVector,
+		ColumnVector.BinaryVector, ColumnVector.ListVector, ColumnVector.StructVector {
+	private static final int MINIMUM_CAPACITY = 16;
+
+	/**
+	 * Create a column for values of a schema.
+	 *
+	 * @param schema   the schema of the values, with an optional {@code null} branch
+	 * @param capacity the initial capacity
+	 * @return a new, empty column
+	 * @throws IllegalArgumentException if the schema is not supported (maps, unions of multiple non-null types and recursive records are not)
+	 */
+	static ColumnVector create(Schema schema, int capacity) {
+		return create(schema, capacity, new HashSet<>());
+	}
+
+	private static ColumnVector create(Schema schema, int capacity, Set<String> recordsInProgress) {
+		if (schema.isUnion() && schema.getTypes().stream().filter(type -> type.getType() != Schema.Type.NULL).count() != 1) {
+			throw new IllegalArgumentException("Only unions of null and a single other type are supported: %s".formatted(schema));
+		}
+		Schema valueSchema = nonNullableSchemaOf(schema);
+		int initialCapacity = Math.max(capacity, MINIMUM_CAPACITY);
+		return switch (valueSchema.getType()) {
+			case BOOLEAN -> new BooleanVector(valueSchema, initialCapacity);
+			case INT, ENUM -> new IntVector(valueSchema, initialCapacity);
+			case LONG -> new LongVector(valueSchema, initialCapacity);
+			case FLOAT -> new FloatVector(valueSchema, initialCapacity);
+			case DOUBLE -> new DoubleVector(valueSchema, initialCapacity);
+			case STRING, BYTES, FIXED -> new BinaryVector(valueSchema, initialCapacity);
+			case ARRAY -> new ListVector(valueSchema, initialCapacity, create(valueSchema.getElementType(), initialCapacity, recordsInProgress));
+			case RECORD -> {
+				if (!recordsInProgress.add(valueSchema.getFullName())) {
+					throw new IllegalArgumentException("Recursive records are not supported: %s".formatted(valueSchema.getFullName()));
+				}
+				Map<String, ColumnVector> fields = new LinkedHashMap<>();
+				for (Schema.Field field : valueSchema.getFields()) {
+					fields.put(field.name(), create(field.schema(), capacity, recordsInProgress));
+				}
+				recordsInProgress.remove(valueSchema.getFullName());
+				yield new StructVector(valueSchema, initialCapacity, fields);
+			}
+			default -> throw new IllegalArgumentException("Unsupported schema: %s".formatted(schema));
+		};
+	}
+
+	private final Schema schema;
+	private final LogicalType logicalType;
+	private long[] validity;
+	int size;
+
+	private ColumnVector(Schema schema, int capacity) {
+		this.schema = schema;
+		logicalType = schema.getLogicalType();
+		validity = new long[(capacity + 63) >> 6];
+	}
+
+	/**
+	 * Return the schema of the values in this column.
+	 *
+	 * @return the (non-nullable) value schema
+	 */
+	public Schema schema() {
+		return schema;
+	}
+
+	/**
+	 * Return the number of values in this column.
+	 *
+	 * @return the number of values
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Check if a value is null.
+	 *
+	 * @param index the index of a value
+	 * @return {@code true} if the value is null, {@code false} otherwise
+	 */
+	public boolean isNull(int index) {
+		return (validity[index >> 6] & 1L << index) == 0;
+	}
+
+	/**
+	 * Return the validity bitmap: bit {@code index % 64} of element {@code index / 64} is set for non-null values.
+	 *
+	 * @return the validity bitmap
+	 */
+	public long[] validity() {
+		return validity;
+	}
+
+	/**
+	 * Add a value to this column.
+	 *
+	 * @param value the value to add; may be {@code null}
+	 */
+	final void append(Object value) {
+		int word = size >> 6;
+		if (word == validity.length) {
+			validity = Arrays.copyOf(validity, validity.length * 2);
+		}
+		if (value == null) {
+			appendNull();
+		} else {
+			validity[word] |= 1L << size;
+			appendValue(toRawValue(value));
+		}
+		size++;
+	}
+
+	private Object toRawValue(Object value) {
+		if (logicalType != null) {
+			Conversion<?> conversion = ColumnarModel.INSTANCE.getConversionByClass(value.getClass(), logicalType);
+			if (conversion != null) {
+				return Conversions.convertToRawType(value, schema, logicalType, conversion);
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * Add a (placeholder for a) null value at index {@link #size}.
+	 */
+	abstract void appendNull();
+
+	/**
+	 * Add a non-null value at index {@link #size}.
+	 *
+	 * @param value a value, converted to the underlying type if it has a logical type
+	 */
+	abstract void appendValue(Object value);
+
+	/**
+	 * Remove all values, but keep the storage for reuse.
+	 */
+	void reset() {
+		Arrays.fill(validity, 0, Math.min((size + 63) >> 6, validity.length), 0L);
+		size = 0;
+	}
+
+	/**
+	 * A column of boolean values.
+	 */
+	public static final class BooleanVector extends ColumnVector {
+		private boolean[] values;
+
+		private BooleanVector(Schema schema, int capacity) {
+			super(schema, capacity);
+			values = new boolean[capacity];
+		}
+
+		/**
+		 * Return the values of this column. Values that are null are {@code false}.
+		 *
+		 * @return the values
+		 */
+		public boolean[] values() {
+			return values;
+		}
+
+		@Override
+		void appendNull() {
+			appendBoolean(false);
+		}
+
+		@Override
+		void appendValue(Object value) {
+			appendBoolean((Boolean) value);
+		}
+
+		private void appendBoolean(boolean value) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, values.length * 2);
+			}
+			values[size] = value;
+		}
+	}
+
+	/**
+	 * A column of int values. Enum symbols are stored as their ordinal, and logical types like dates as their underlying value.
+	 */
+	public static final class IntVector extends ColumnVector {
+		private int[] values;
+
+		private IntVector(Schema schema, int capacity) {
+			super(schema, capacity);
+			values = new int[capacity];
+		}
+
+		/**
+		 * Return the values of this column. Values that are null are {@code 0}.
+		 *
+		 * @return the values
+		 */
+		public int[] values() {
+			return values;
+		}
+
+		@Override
+		void appendNull() {
+			appendInt(0);
+		}
+
+		@Override
+		void appendValue(Object value) {
+			appendInt(schema().getType() == Schema.Type.ENUM ? schema().getEnumOrdinal(value.toString()) : ((Number) value).intValue());
+		}
+
+		private void appendInt(int value) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, values.length * 2);
+			}
+			values[size] = value;
+		}
+	}
+
+	/**
+	 * A column of long values. Logical types like timestamps are stored as their underlying value.
+	 */
+	public static final class LongVector extends ColumnVector {
+		private long[] values;
+
+		private LongVector(Schema schema, int capacity) {
+			super(schema, capacity);
+			values = new long[capacity];
+		}
+
+		/**
+		 * Return the values of this column. Values that are null are {@code 0}.
+		 *
+		 * @return the values
+		 */
+		public long[] values() {
+			return values;
+		}
+
+		@Override
+		void appendNull() {
+			appendLong(0);
+		}
+
+		@Override
+		void appendValue(Object value) {
+			appendLong(((Number) value).longValue());
+		}
+
+		private void appendLong(long value) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, values.length * 2);
+			}
+			values[size] = value;
+		}
+	}
+
+	/**
+	 * A column of float values.
+	 */
+	public static final class FloatVector extends ColumnVector {
+		private float[] values;
+
+		private FloatVector(Schema schema, int capacity) {
+			super(schema, capacity);
+			values = new float[capacity];
+		}
+
+		/**
+		 * Return the values of this column. Values that are null are {@code 0}.
+		 *
+		 * @return the values
+		 */
+		public float[] values() {
+			return values;
+		}
+
+		@Override
+		void appendNull() {
+			appendFloat(0);
+		}
+
+		@Override
+		void appendValue(Object value) {
+			appendFloat(((Number) value).floatValue());
+		}
+
+		private void appendFloat(float value) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, values.length * 2);
+			}
+			values[size] = value;
+		}
+	}
+
+	/**
+	 * A column of double values.
+	 */
+	public static final class DoubleVector extends ColumnVector {
+		private double[] values;
+
+		private DoubleVector(Schema schema, int capacity) {
+			super(schema, capacity);
+			values = new double[capacity];
+		}
+
+		/**
+		 * Return the values of this column. Values that are null are {@code 0}.
+		 *
+		 * @return the values
+		 */
+		public double[] values() {
+			return values;
+		}
+
+		@Override
+		void appendNull() {
+			appendDouble(0);
+		}
+
+		@Override
+		void appendValue(Object value) {
+			appendDouble(((Number) value).doubleValue());
+		}
+
+		private void appendDouble(double value) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, values.length * 2);
+			}
+			values[size] = value;
+		}
+	}
+
+	/**
+	 * A column of strings (encoded as UTF-8) or binary values (including fixed values and decimals).
+	 */
+	public static final class BinaryVector extends ColumnVector {
+		private byte[] data;
+		private int[] offsets;
+
+		private BinaryVector(Schema schema, int capacity) {
+			super(schema, capacity);
+			data = new byte[capacity * 8];
+			offsets = new int[capacity + 1];
+		}
+
+		/**
+		 * Return the bytes of all values in this column.
+		 *
+		 * @return the bytes of all values, consecutively
+		 */
+		public byte[] data() {
+			return data;
+		}
+
+		/**
+		 * Return the offsets of the values: value {@code index} starts at {@code offsets[index]}, and ends before {@code offsets[index + 1]}. Values that are
+		 * null are empty.
+		 *
+		 * @return the offsets of the values in the data
+		 */
+		public int[] offsets() {
+			return offsets;
+		}
+
+		/**
+		 * Return a value as string.
+		 *
+		 * @param index the index of a value
+		 * @return the value, decoded as UTF-8, or {@code null} if the value is null
+		 */
+		public String getString(int index) {
+			return isNull(index) ? null : new String(data, offsets[index], offsets[index + 1] - offsets[index], UTF_8);
+		}
+
+		/**
+		 * Return a value as bytes.
+		 *
+		 * @param index the index of a value
+		 * @return a copy of the value, or {@code null} if the value is null
+		 */
+		public byte[] getBytes(int index) {
+			return isNull(index) ? null : Arrays.copyOfRange(data, offsets[index], offsets[index + 1]);
+		}
+
+		@Override
+		void appendNull() {
+			appendBytes(data, 0, 0);
+		}
+
+		@Override
+		void appendValue(Object value) {
+			if (value instanceof Utf8 utf8) {
+				appendBytes(utf8.getBytes(), 0, utf8.getByteLength());
+			} else if (value instanceof CharSequence text) {
+				byte[] bytes = text.toString().getBytes(UTF_8);
+				appendBytes(bytes, 0, bytes.length);
+			} else if (value instanceof ByteBuffer buffer) {
+				int length = buffer.remaining();
+				int start = ensureDataCapacity(length);
+				buffer.get(buffer.position(), data, start, length);
+				offsets[size + 1] = start + length;
+			} else if (value instanceof GenericFixed fixed) {
+				appendBytes(fixed.bytes(), 0, fixed.bytes().length);
+			} else if (value instanceof byte[] bytes) {
+				appendBytes(bytes, 0, bytes.length);
+			} else {
+				throw new IllegalArgumentException("Not a string or binary value: %s".formatted(value.getClass().getName()));
+			}
+		}
+
+		private void appendBytes(byte[] bytes, int offset, int length) {
+			int start = ensureDataCapacity(length);
+			System.arraycopy(bytes, offset, data, start, length);
+			offsets[size + 1] = start + length;
+		}
+
+		private int ensureDataCapacity(int length) {
+			if (size + 1 == offsets.length) {
+				offsets = Arrays.copyOf(offsets, offsets.length * 2);
+			}
+			int start = offsets[size];
+			if (start + length > data.length) {
+				data = Arrays.copyOf(data, Math.max(data.length * 2, start + length));
+			}
+			return start;
+		}
+	}
+
+	/**
+	 * A column of arrays, stored as offsets into a column with the items of all arrays.
+	 */
+	public static final class ListVector extends ColumnVector {
+		private final ColumnVector items;
+		private int[] offsets;
+
+		private ListVector(Schema schema, int capacity, ColumnVector items) {
+			super(schema, capacity);
+			this.items = items;
+			offsets = new int[capacity + 1];
+		}
+
+		/**
+		 * Return the items of all arrays in this column.
+		 *
+		 * @return the column of items
+		 */
+		public ColumnVector items() {
+			return items;
+		}
+
+		/**
+		 * Return the offsets of the arrays: array {@code index} consists of the items from {@code offsets[index]} (inclusive) to
+		 * {@code offsets[index + 1]} (exclusive). Arrays that are null are empty.
+		 *
+		 * @return the offsets of the arrays in the items
+		 */
+		public int[] offsets() {
+			return offsets;
+		}
+
+		@Override
+		void appendNull() {
+			appendOffset();
+		}
+
+		@Override
+		void appendValue(Object value) {
+			for (Object item : (Collection<?>) value) {
+				items.append(item);
+			}
+			appendOffset();
+		}
+
+		private void appendOffset() {
+			if (size + 1 == offsets.length) {
+				offsets = Arrays.copyOf(offsets, offsets.length * 2);
+			}
+			offsets[size + 1] = items.size;
+		}
+
+		@Override
+		void reset() {
+			super.reset();
+			items.reset();
+		}
+	}
+
+	/**
+	 * A column of records, stored as a column per field.
+	 */
+	public static final class StructVector extends ColumnVector {
+		private final Map<String, ColumnVector> fieldsByName;
+		private final ColumnVector[] fields;
+
+		private StructVector(Schema schema, int capacity, Map<String, ColumnVector> fieldsByName) {
+			super(schema, capacity);
+			this.fieldsByName = fieldsByName;
+			fields = fieldsByName.values().toArray(new ColumnVector[0]);
+		}
+
+		/**
+		 * Return the column for a field.
+		 *
+		 * @param name the name of a field
+		 * @return the column with the field values
+		 * @throws IllegalArgumentException if there is no such field
+		 */
+		public ColumnVector field(String name) {
+			ColumnVector field = fieldsByName.get(name);
+			if (field == null) {
+				throw new IllegalArgumentException("No such field in %s: %s".formatted(schema().getFullName(), name));
+			}
+			return field;
+		}
+
+		/**
+		 * Return the columns for all fields, in schema order.
+		 *
+		 * @return the field columns
+		 */
+		public List<ColumnVector> fields() {
+			return List.of(fields);
+		}
+
+		@Override
+		void appendNull() {
+			for (ColumnVector field : fields) {
+				field.append(null);
+			}
+		}
+
+		@Override
+		void appendValue(Object value) {
+			IndexedRecord record = (IndexedRecord) value;
+			for (int i = 0; i < fields.length; i++) {
+				fields[i].append(record.get(i));
+			}
+		}
+
+		@Override
+		void reset() {
+			super.reset();
+			for (ColumnVector field : fields) {
+				field.reset();
+			}
+		}
+	}
+}
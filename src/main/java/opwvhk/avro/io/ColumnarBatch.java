@@ -0,0 +1,138 @@
+package opwvhk.avro.io;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+
+import java.util.List;
+
+/**
+ * <p>A batch of records, stored in columns: one {@link ColumnVector} per field.</p>
+ *
+ * <p>Columnar batches are meant for analytical processing, which is faster with primitive arrays than with individual records. To fill a batch with
+ * the fewest objects, create the parser with the {@link #model() columnar model}, and {@link #add(Object) add} each parsed record to the batch. The model
+ * recycles the records and lists once the batch has copied their values. A full batch can be {@link #reset() reset} and filled again, reusing its
+ * storage. For example:</p>
+ *
+ * <pre>{@code
+ * JsonAsAvroParser parser = new JsonAsAvroParser(jsonSchemaLocation, readSchema, ColumnarBatch.model());
+ * ColumnarBatch batch = new ColumnarBatch(readSchema, 1024);
+ * for (String json : jsonDocuments) {
+ *     batch.add(parser.parse(json));
+ *     if (batch.isFull()) {
+ *         process(batch);
+ *         batch.reset();
+ *     }
+ * }
+ * }</pre>
+ *
+ * <p>Batches are not thread-safe. Maps, unions with multiple non-null types and recursive records are not supported.</p>
+ */
+public final class ColumnarBatch {
+	/**
+	 * Return the model to create parsers with, to parse records into columnar batches. Records created with this model are recycled when added to a
+	 * batch, so they must not be used afterwards.
+	 *
+	 * @return the columnar model
+	 */
+	public static GenericData model() {
+		return ColumnarModel.INSTANCE;
+	}
+
+	private final ColumnVector.StructVector records;
+	private final int capacity;
+
+	/**
+	 * Create a columnar batch.
+	 *
+	 * @param schema   a record schema
+	 * @param capacity the maximum number of records in the batch
+	 * @throws IllegalArgumentException if the schema is not a record schema, or contains unsupported types
+	 */
+	public ColumnarBatch(Schema schema, int capacity) {
+		if (schema.getType() != Schema.Type.RECORD) {
+			throw new IllegalArgumentException("Not a record schema: %s".formatted(schema));
+		}
+		if (capacity < 1) {
+			throw new IllegalArgumentException("The capacity must be positive");
+		}
+		records = (ColumnVector.StructVector) ColumnVector.create(schema, capacity);
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Add a record to the batch. The record is recycled if it was created by the {@link #model() columnar model}.
+	 *
+	 * @param record a record with the schema of the batch (typically the result of a parser)
+	 * @throws IllegalStateException if the batch is full
+	 */
+	public void add(Object record) {
+		if (isFull()) {
+			throw new IllegalStateException("The batch is full");
+		}
+		records.append(record);
+		ColumnarModel.INSTANCE.recycle(record);
+	}
+
+	/**
+	 * Return the schema of the records in the batch.
+	 *
+	 * @return the record schema
+	 */
+	public Schema schema() {
+		return records.schema();
+	}
+
+	/**
+	 * Return the number of records in the batch.
+	 *
+	 * @return the number of records
+	 */
+	public int size() {
+		return records.size();
+	}
+
+	/**
+	 * Return the maximum number of records in the batch.
+	 *
+	 * @return the capacity
+	 */
+	public int capacity() {
+		return capacity;
+	}
+
+	/**
+	 * Check if the batch is full.
+	 *
+	 * @return {@code true} if no more records can be added, {@code false} otherwise
+	 */
+	public boolean isFull() {
+		return records.size() == capacity;
+	}
+
+	/**
+	 * Return the column with the values of a field.
+	 *
+	 * @param fieldName the name of a field
+	 * @return the column for the field
+	 * @throws IllegalArgumentException if there is no such field
+	 */
+	public ColumnVector column(String fieldName) {
+		return records.field(fieldName);
+	}
+
+	/**
+	 * Return the columns of all fields, in schema order.
+	 *
+	 * @return the columns of the batch
+	 */
+	public List<ColumnVector> columns() {
+		return records.fields();
+	}
+
+	/**
+	 * Remove all records, keeping the storage of the columns for reuse.
+	 */
+	public void reset() {
+		records.reset();
+	}
+}
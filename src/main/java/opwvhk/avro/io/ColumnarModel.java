@@ -0,0 +1,176 @@
+package opwvhk.avro.io;
+
+import opwvhk.avro.util.AvroConversions;
+import org.apache.avro.Conversions;
+import org.apache.avro.Schema;
+import org.apache.avro.data.TimeConversions;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.generic.IndexedRecord;
+
+import java.io.Serial;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * <p>A model that recycles the records and lists it creates, for parsing into a {@link ColumnarBatch}.</p>
+ *
+ * <p>Once a batch has copied the values of a record into its columns, it {@link #recycle(Object) recycles} the record and its nested records and lists. The
+ * next records are created from these. Recycled objects are kept per thread, so parsing on multiple threads needs no synchronization.</p>
+ */
+final class ColumnarModel extends GenericData {
+	static final ColumnarModel INSTANCE = new ColumnarModel();
+	/**
+	 * The maximum number of recycled records (per schema) and lists that are kept per thread.
+	 */
+	private static final int MAXIMUM_POOL_SIZE = 1024;
+
+	private final ThreadLocal<Pool> pools = ThreadLocal.withInitial(Pool::new);
+
+	private ColumnarModel() {
+		// Singleton: parsers share their resolvers per model, so there's no need for multiple instances.
+		// The conversions parsers use are also used to store values of logical types as their underlying type (even for records from other models).
+		addLogicalTypeConversion(new Conversions.DecimalConversion());
+		addLogicalTypeConversion(new TimeConversions.DateConversion());
+		addLogicalTypeConversion(new TimeConversions.TimestampMillisConversion());
+		addLogicalTypeConversion(new TimeConversions.TimestampMicrosConversion());
+		addLogicalTypeConversion(new TimeConversions.LocalTimestampMillisConversion());
+		addLogicalTypeConversion(new TimeConversions.LocalTimestampMicrosConversion());
+		addLogicalTypeConversion(new TimeConversions.TimeMillisConversion());
+		addLogicalTypeConversion(new TimeConversions.TimeMicrosConversion());
+		addLogicalTypeConversion(new AvroConversions.OffsetTimeMillisConversion());
+		addLogicalTypeConversion(new AvroConversions.OffsetTimeMicrosConversion());
+	}
+
+	@Override
+	public Object newRecord(Object old, Schema schema) {
+		Row row = pools.get().takeRow(schema);
+		return row != null ? row : new Row(schema);
+	}
+
+	@Override
+	public Object newArray(Object old, int size, Schema schema) {
+		PooledList list = pools.get().takeList();
+		return list != null ? list : new PooledList(size);
+	}
+
+	@Override
+	public Object getDefaultValue(Schema.Field field) {
+		// Default values are cached (and thus shared): return a copy, so they can be recycled as well.
+		Object value = super.getDefaultValue(field);
+		return value instanceof IndexedRecord || value instanceof Collection<?> ? deepCopy(field.schema(), value) : value;
+	}
+
+	/**
+	 * Recycle a record or list created by this model, including all nested records and lists. The value must not be used afterwards.
+	 *
+	 * @param value a value; values not created by this model are ignored
+	 */
+	void recycle(Object value) {
+		recycle(pools.get(), value);
+	}
+
+	private static void recycle(Pool pool, Object value) {
+		if (value instanceof Row row) {
+			Object[] values = row.values;
+			for (int i = 0; i < values.length; i++) {
+				recycle(pool, values[i]);
+				values[i] = null;
+			}
+			pool.returnRow(row);
+		} else if (value instanceof PooledList list) {
+			for (Object item : list) {
+				recycle(pool, item);
+			}
+			list.clear();
+			pool.returnList(list);
+		}
+	}
+
+	/**
+	 * A minimal record. Unlike {@link GenericData.Record}, it does not validate field positions.
+	 */
+	static final class Row implements GenericRecord {
+		private final Schema schema;
+		private final Object[] values;
+
+		private Row(Schema schema) {
+			this.schema = schema;
+			values = new Object[schema.getFields().size()];
+		}
+
+		@Override
+		public Schema getSchema() {
+			return schema;
+		}
+
+		@Override
+		public void put(int i, Object v) {
+			values[i] = v;
+		}
+
+		@Override
+		public Object get(int i) {
+			return values[i];
+		}
+
+		@Override
+		public void put(String key, Object v) {
+			values[schema.getField(key).pos()] = v;
+		}
+
+		@Override
+		public Object get(String key) {
+			Schema.Field field = schema.getField(key);
+			return field == null ? null : values[field.pos()];
+		}
+
+		@Override
+		public String toString() {
+			return INSTANCE.toString(this);
+		}
+	}
+
+	/**
+	 * A list that can be recycled.
+	 */
+	static final class PooledList extends ArrayList<Object> {
+		@Serial
+		private static final long serialVersionUID = 1L;
+
+		private PooledList(int initialCapacity) {
+			super(initialCapacity);
+		}
+	}
+
+	private static final class Pool {
+		// Resolvers use the same schema instance for all records they create.
+		private final Map<Schema, ArrayDeque<Row>> rowsBySchema = new IdentityHashMap<>();
+		private final ArrayDeque<PooledList> lists = new ArrayDeque<>();
+
+		private Row takeRow(Schema schema) {
+			ArrayDeque<Row> rows = rowsBySchema.get(schema);
+			return rows == null ? null : rows.pollLast();
+		}
+
+		private void returnRow(Row row) {
+			ArrayDeque<Row> rows = rowsBySchema.computeIfAbsent(row.schema, ignored -> new ArrayDeque<>());
+			if (rows.size() < MAXIMUM_POOL_SIZE) {
+				rows.addLast(row);
+			}
+		}
+
+		private PooledList takeList() {
+			return lists.pollLast();
+		}
+
+		private void returnList(PooledList list) {
+			if (lists.size() < MAXIMUM_POOL_SIZE) {
+				lists.addLast(list);
+			}
+		}
+	}
+}
@@ -0,0 +1,224 @@
+package opwvhk.avro.io;
+
+import org.apache.avro.Schema;
+import org.apache.avro.file.CodecFactory;
+import org.apache.avro.file.DataFileConstants;
+import org.apache.avro.file.DataFileWriter;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.io.DatumWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * <p>Bulk conversion of inputs into an Avro object container file.</p>
+ *
+ * <p>The pipeline parses inputs on a pool of worker threads, while the calling thread serializes the records and writes (and compresses) the blocks of the
+ * container file. As both stages run concurrently, throughput is bound by the slowest stage instead of their sum. The records are written in the order of
+ * the inputs, and the number of inputs being parsed at any time is bounded, so memory use does not depend on the number of inputs.</p>
+ *
+ * <p>Parsers need not be thread-safe: each worker thread uses its own parser, created by the parser factory. Creating parsers for the same schemata is
+ * cheap, as they share their resolvers (see {@link ResolverCache}). For example:</p>
+ *
+ * <pre>{@code
+ * ConversionPipeline<String> pipeline = new ConversionPipeline<String>(readSchema, GenericData.get(),
+ *         () -> new JsonAsAvroParser(jsonSchemaLocation, readSchema, GenericData.get())::parse)
+ *         .withCodec(CodecFactory.zstandardCodec(3));
+ * long recordCount = pipeline.convert(jsonDocuments.iterator(), Path.of("records.avro"));
+ * }</pre>
+ *
+ * @param <I> the type of inputs (for example file locations, JSON text or byte arrays)
+ */
+public class ConversionPipeline<I> {
+	/**
+	 * The number of inputs per worker thread that can be parsed ahead of the record being written.
+	 */
+	private static final int INPUTS_IN_FLIGHT_PER_THREAD = 4;
+
+	private final Schema schema;
+	private final GenericData model;
+	private final Supplier<? extends RecordParser<? super I>> parserFactory;
+	private CodecFactory codec;
+	private int syncInterval;
+	private int threadCount;
+
+	/**
+	 * Create a conversion pipeline, that parses inputs into records and writes them to a container file without compression.
+	 *
+	 * @param schema        the schema of the parsed records (and the container file)
+	 * @param model         the model used to create the parsed records, used to write them
+	 * @param parserFactory a factory for parsers; each worker thread creates one parser
+	 */
+	public ConversionPipeline(Schema schema, GenericData model, Supplier<? extends RecordParser<? super I>> parserFactory) {
+		this.schema = requireNonNull(schema);
+		this.model = requireNonNull(model);
+		this.parserFactory = requireNonNull(parserFactory);
+		codec = CodecFactory.nullCodec();
+		syncInterval = DataFileConstants.DEFAULT_SYNC_INTERVAL;
+		threadCount = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+	}
+
+	/**
+	 * Set the codec to compress the blocks of the container file with.
+	 *
+	 * @param codec a codec factory
+	 * @return this pipeline
+	 */
+	public ConversionPipeline<I> withCodec(CodecFactory codec) {
+		this.codec = requireNonNull(codec);
+		return this;
+	}
+
+	/**
+	 * <p>Set the sync interval: the approximate size of the (uncompressed) blocks in the container file.</p>
+	 *
+	 * <p>Larger blocks compress better, smaller blocks need less memory when reading, and allow splitting the file more finely.</p>
+	 *
+	 * @param syncInterval the block size in bytes, between 32 and 2^30 (inclusive)
+	 * @return this pipeline
+	 */
+	public ConversionPipeline<I> withSyncInterval(int syncInterval) {
+		if (syncInterval < 32 || syncInterval > (1 << 30)) {
+			throw new IllegalArgumentException("Invalid sync interval: %d (must be between 32 and 2^30)".formatted(syncInterval));
+		}
+		this.syncInterval = syncInterval;
+		return this;
+	}
+
+	/**
+	 * Set the number of worker threads to parse with. The default is one less than the number of available processors (but at least one), leaving one
+	 * processor for writing.
+	 *
+	 * @param threadCount the number of worker threads
+	 * @return this pipeline
+	 */
+	public ConversionPipeline<I> withThreads(int threadCount) {
+		if (threadCount < 1) {
+			throw new IllegalArgumentException("At least one worker thread is needed");
+		}
+		this.threadCount = threadCount;
+		return this;
+	}
+
+	/**
+	 * Convert inputs into a container file.
+	 *
+	 * @param inputs the inputs to convert
+	 * @param file   the container file to (over)write
+	 * @return the number of records written
+	 * @throws IOException when an input cannot be converted, or the file cannot be written
+	 */
+	public long convert(Iterator<? extends I> inputs, Path file) throws IOException {
+		try (OutputStream output = Files.newOutputStream(file)) {
+			return convert(inputs, output);
+		}
+	}
+
+	/**
+	 * Convert inputs into a container file. The output stream is not closed.
+	 *
+	 * @param inputs the inputs to convert
+	 * @param output the stream to write the container file to
+	 * @return the number of records written
+	 * @throws IOException when an input cannot be converted, or the file cannot be written
+	 */
+	public long convert(Iterator<? extends I> inputs, OutputStream output) throws IOException {
+		ThreadLocal<RecordParser<? super I>> parsers = ThreadLocal.withInitial(parserFactory);
+		ExecutorService workers = Executors.newFixedThreadPool(threadCount);
+		Deque<Future<Object>> parsedRecords = new ArrayDeque<>();
+		int maxInputsInFlight = threadCount * INPUTS_IN_FLIGHT_PER_THREAD;
+		long recordCount = 0;
+		@SuppressWarnings("unchecked")
+		DatumWriter<Object> datumWriter = (DatumWriter<Object>) model.createDatumWriter(schema);
+		try (DataFileWriter<Object> writer = new DataFileWriter<>(datumWriter)) {
+			writer.setCodec(codec);
+			writer.setSyncInterval(syncInterval);
+			writer.create(schema, new NonClosingOutputStream(output));
+			while (inputs.hasNext() || !parsedRecords.isEmpty()) {
+				while (inputs.hasNext() && parsedRecords.size() < maxInputsInFlight) {
+					I input = inputs.next();
+					parsedRecords.add(workers.submit(() -> parsers.get().parse(input)));
+				}
+				Object record = awaitRecord(parsedRecords.removeFirst(), recordCount);
+				writer.append(record);
+				recordCount++;
+			}
+			return recordCount;
+		} finally {
+			workers.shutdownNow();
+		}
+	}
+
+	private static Object awaitRecord(Future<Object> parsedRecord, long index) throws IOException {
+		try {
+			return parsedRecord.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while converting input %d".formatted(index), e);
+		} catch (ExecutionException e) {
+			throw new IOException("Failed to convert input %d".formatted(index), e.getCause());
+		}
+	}
+
+	/**
+	 * A parser for a single input.
+	 *
+	 * <p>This is a functional interface: a parser can be a method reference like {@code xmlAsAvroParser::parse}.</p>
+	 *
+	 * @param <I> the type of inputs
+	 */
+	@FunctionalInterface
+	public interface RecordParser<I> {
+		/**
+		 * Parse an input into a record.
+		 *
+		 * @param input the input to parse
+		 * @return the parsed record
+		 * @throws Exception when the input cannot be parsed
+		 */
+		Object parse(I input) throws Exception;
+	}
+
+	/**
+	 * An output stream that does not close the underlying stream, as closing the container file writer also closes its output.
+	 */
+	private static class NonClosingOutputStream extends OutputStream {
+		private final OutputStream delegate;
+
+		private NonClosingOutputStream(OutputStream delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			delegate.write(b);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			delegate.write(b, off, len);
+		}
+
+		@Override
+		public void flush() throws IOException {
+			delegate.flush();
+		}
+
+		@Override
+		public void close() throws IOException {
+			delegate.flush();
+		}
+	}
+}
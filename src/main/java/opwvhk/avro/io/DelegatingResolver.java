@@ -15,6 +15,16 @@ public class DelegatingResolver extends ValueResolver {
 		this.delegate = delegate;
 	}
 
+	/**
+	 * Return the resolver that a resolver delegates to, if any.
+	 *
+	 * @param resolver a resolver
+	 * @return the delegate if the resolver is a {@code DelegatingResolver}, the resolver itself otherwise
+	 */
+	public static ValueResolver unwrap(ValueResolver resolver) {
+		return resolver instanceof DelegatingResolver delegatingResolver ? delegatingResolver.delegate : resolver;
+	}
+
 	@Override
 	public void doNotParseContent() {
 		delegate.doNotParseContent();
@@ -45,6 +55,11 @@ public class DelegatingResolver extends ValueResolver {
 		return delegate.complete(collector);
 	}
 
+	@Override
+	public Object complete(Object collector, ParseListener listener) {
+		return delegate.complete(collector, listener);
+	}
+
 	@Override
 	public boolean parseContent() {
 		return delegate.parseContent();
@@ -0,0 +1,259 @@
+package opwvhk.avro.io;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * <p>Fast parsers for the common ISO8601 shapes of dates, times and timestamps.</p>
+ *
+ * <p>Each method parses only fixed-width input: a 4-digit year, 2-digit months, days, hours, minutes and seconds, an optional fraction of 1-9 digits, and
+ * (where applicable) an optional offset {@code Z} or {@code ±hh:mm}. Anything else (including invalid dates) yields {@code null}, so the caller can fall
+ * back to a {@link java.time.format.DateTimeFormatter DateTimeFormatter} that handles all supported inputs, and reports errors.</p>
+ */
+final class IsoTemporalParser {
+	private static final int NOT_A_NUMBER = -1;
+	private static final int SECONDS_PER_DAY = 86_400;
+	private static final int DAYS_PER_CYCLE = 146_097;
+	private static final long DAYS_0000_TO_1970 = (DAYS_PER_CYCLE * 5L) - (30L * 365L + 7L);
+	private static final int[] NANO_FACTORS = {0, 100_000_000, 10_000_000, 1_000_000, 100_000, 10_000, 1_000, 100, 10, 1};
+
+	/**
+	 * Parse a date of the form {@code yyyy-MM-dd}.
+	 *
+	 * @param text the text to parse
+	 * @return the parsed date, or {@code null} if the text is not a valid date in the fast format
+	 */
+	static LocalDate parseLocalDate(String text) {
+		if (text.length() != 10 || !isDate(text)) {
+			return null;
+		}
+		return LocalDate.of(year(text), month(text), day(text));
+	}
+
+	/**
+	 * Parse a date-time of the form {@code yyyy-MM-ddTHH:mm:ss[.fffffffff]}.
+	 *
+	 * @param text the text to parse
+	 * @return the parsed date-time, or {@code null} if the text is not a valid date-time in the fast format
+	 */
+	static LocalDateTime parseLocalDateTime(String text) {
+		int length = text.length();
+		if (length < 19 || !isDate(text) || !isDateTimeSeparator(text.charAt(10), false)) {
+			return null;
+		}
+		int nano = nanosAfterTime(text, 11);
+		if (nano == NOT_A_NUMBER || fractionEnd(text, 19) != length) {
+			return null;
+		}
+		return LocalDateTime.of(year(text), month(text), day(text), hour(text, 11), minute(text, 11), second(text, 11), nano);
+	}
+
+	/**
+	 * Parse a time of the form {@code HH:mm:ss[.fffffffff][offset]}.
+	 *
+	 * @param text           the text to parse
+	 * @param fallbackOffset the offset to use if the text has none
+	 * @return the parsed time, or {@code null} if the text is not a valid time in the fast format
+	 */
+	static OffsetTime parseOffsetTime(String text, ZoneOffset fallbackOffset) {
+		int nano = nanosAfterTime(text, 0);
+		if (nano == NOT_A_NUMBER) {
+			return null;
+		}
+		int offsetStart = fractionEnd(text, 8);
+		ZoneOffset offset = offsetStart == text.length() ? fallbackOffset : offset(text, offsetStart);
+		if (offset == null) {
+			return null;
+		}
+		return OffsetTime.of(hour(text, 0), minute(text, 0), second(text, 0), nano, offset);
+	}
+
+	/**
+	 * Parse a timestamp of the form {@code yyyy-MM-dd[T| ]HH:mm:ss[.fffffffff][offset]}.
+	 *
+	 * <p>Timestamps with an offset, or without one for a fallback time zone with a fixed offset, are converted to an instant arithmetically.</p>
+	 *
+	 * @param text             the text to parse
+	 * @param fallbackTimezone the time zone to use if the text has no offset
+	 * @return the parsed timestamp, or {@code null} if the text is not a valid timestamp in the fast format
+	 */
+	static Instant parseInstant(String text, ZoneId fallbackTimezone) {
+		if (text.length() < 19 || !isDate(text) || !isDateTimeSeparator(text.charAt(10), true)) {
+			return null;
+		}
+		int nano = nanosAfterTime(text, 11);
+		if (nano == NOT_A_NUMBER) {
+			return null;
+		}
+		int offsetStart = fractionEnd(text, 19);
+		int year = year(text);
+		int month = month(text);
+		int day = day(text);
+		int hour = hour(text, 11);
+		int minute = minute(text, 11);
+		int second = second(text, 11);
+		ZoneOffset offset;
+		if (offsetStart != text.length()) {
+			offset = offset(text, offsetStart);
+			if (offset == null) {
+				return null;
+			}
+		} else if (fallbackTimezone instanceof ZoneOffset fallbackOffset) {
+			offset = fallbackOffset;
+		} else {
+			// Gaps and overlaps of time zone rules are rare, and handled by the JDK.
+			return LocalDateTime.of(year, month, day, hour, minute, second, nano).atZone(fallbackTimezone).toInstant();
+		}
+		long epochSecond = epochDay(year, month, day) * SECONDS_PER_DAY + hour * 3600 + minute * 60 + second - offset.getTotalSeconds();
+		return Instant.ofEpochSecond(epochSecond, nano);
+	}
+
+	private static boolean isDate(String text) {
+		if (text.charAt(4) != '-' || text.charAt(7) != '-') {
+			return false;
+		}
+		int year = digits(text, 0, 4);
+		int month = digits(text, 5, 2);
+		int day = digits(text, 8, 2);
+		return year != NOT_A_NUMBER && month >= 1 && month <= 12 && day >= 1 && day <= lengthOfMonth(year, month);
+	}
+
+	private static boolean isDateTimeSeparator(char c, boolean allowSpace) {
+		return c == 'T' || c == 't' || allowSpace && c == ' ';
+	}
+
+	/**
+	 * Validate the time at the start position, and parse the fraction of a second after it.
+	 *
+	 * @return the nanoseconds, or {@link #NOT_A_NUMBER} if the time or fraction is invalid
+	 */
+	private static int nanosAfterTime(String text, int start) {
+		if (text.length() < start + 8 || text.charAt(start + 2) != ':' || text.charAt(start + 5) != ':') {
+			return NOT_A_NUMBER;
+		}
+		int hour = digits(text, start, 2);
+		int minute = digits(text, start + 3, 2);
+		int second = digits(text, start + 6, 2);
+		if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+			return NOT_A_NUMBER;
+		}
+		int fractionStart = start + 8;
+		if (fractionStart == text.length() || text.charAt(fractionStart) != '.') {
+			return 0;
+		}
+		int fractionDigits = fractionEnd(text, fractionStart) - fractionStart - 1;
+		if (fractionDigits < 1 || fractionDigits > 9) {
+			return NOT_A_NUMBER;
+		}
+		return digits(text, fractionStart + 1, fractionDigits) * NANO_FACTORS[fractionDigits];
+	}
+
+	/**
+	 * Find the end of the (optional) fraction of a second.
+	 *
+	 * @return the index of the first character after the fraction, or the start index if there is no fraction
+	 */
+	private static int fractionEnd(String text, int start) {
+		int length = text.length();
+		if (start == length || text.charAt(start) != '.') {
+			return start;
+		}
+		int end = start + 1;
+		while (end < length && isDigit(text.charAt(end))) {
+			end++;
+		}
+		return end;
+	}
+
+	private static ZoneOffset offset(String text, int start) {
+		int length = text.length() - start;
+		char sign = text.charAt(start);
+		if (length == 1 && (sign == 'Z' || sign == 'z')) {
+			return ZoneOffset.UTC;
+		}
+		if (length != 6 || sign != '+' && sign != '-' || text.charAt(start + 3) != ':') {
+			return null;
+		}
+		int hours = digits(text, start + 1, 2);
+		int minutes = digits(text, start + 4, 2);
+		if (hours < 0 || minutes < 0 || minutes > 59 || hours > 18 || hours == 18 && minutes > 0) {
+			return null;
+		}
+		int totalSeconds = hours * 3600 + minutes * 60;
+		// Cached by the JDK for whole quarter hours, which covers nearly all offsets in use.
+		return ZoneOffset.ofTotalSeconds(sign == '-' ? -totalSeconds : totalSeconds);
+	}
+
+	private static int year(String text) {
+		return digits(text, 0, 4);
+	}
+
+	private static int month(String text) {
+		return digits(text, 5, 2);
+	}
+
+	private static int day(String text) {
+		return digits(text, 8, 2);
+	}
+
+	private static int hour(String text, int timeStart) {
+		return digits(text, timeStart, 2);
+	}
+
+	private static int minute(String text, int timeStart) {
+		return digits(text, timeStart + 3, 2);
+	}
+
+	private static int second(String text, int timeStart) {
+		return digits(text, timeStart + 6, 2);
+	}
+
+	private static int digits(String text, int start, int count) {
+		int value = 0;
+		for (int i = start; i < start + count; i++) {
+			char c = text.charAt(i);
+			if (!isDigit(c)) {
+				return NOT_A_NUMBER;
+			}
+			value = value * 10 + (c - '0');
+		}
+		return value;
+	}
+
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+
+	private static int lengthOfMonth(int year, int month) {
+		return switch (month) {
+			case 2 -> isLeapYear(year) ? 29 : 28;
+			case 4, 6, 9, 11 -> 30;
+			default -> 31;
+		};
+	}
+
+	private static boolean isLeapYear(int year) {
+		return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+	}
+
+	/**
+	 * Calculate the epoch day for a valid date with a non-negative year. This is the same calculation as {@link LocalDate#toEpochDay()}.
+	 */
+	private static long epochDay(int year, int month, int day) {
+		long total = 365L * year + (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+		total += (367 * month - 362) / 12;
+		total += day - 1;
+		if (month > 2) {
+			total -= isLeapYear(year) ? 1 : 2;
+		}
+		return total - DAYS_0000_TO_1970;
+	}
+
+	private IsoTemporalParser() {
+		// Utility class: do not instantiate.
+	}
+}
@@ -1,21 +1,49 @@
 package opwvhk.avro.io;
 
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+
 import java.util.ArrayList;
-import java.util.List;
+import java.util.Collection;
 
 /**
- * A resolver for list values.
+ * <p>A resolver for list values.</p>
+ *
+ * <p>When created with a model and array schema, lists are created by the model. For the generic and specific models, this yields arrays that store numbers
+ * (int, long, float, double) and booleans without boxing. The initial capacity of lists is the size of the previously completed list, which prevents
+ * repeated resizing for records with similar list sizes.</p>
  */
 public class ListResolver extends ValueResolver {
 	private final ValueResolver resolver;
+	private final GenericData model;
+	private final Schema arraySchema;
+	/**
+	 * The initial capacity for new lists. This is the only field that changes after the resolver is built, and it is written without synchronization, even
+	 * though resolvers are shared between parsers and threads (see {@link ResolverCache}). This data race is benign: reading and writing an {@code int} is
+	 * atomic, and any value is a valid capacity. At worst, a list is resized more often.
+	 */
+	private int sizeHint;
 
 	/**
-	 * Create a list resolver using the resolver for items.
+	 * Create a list resolver using the resolver for items. Lists are created as {@link ArrayList}.
 	 *
 	 * @param resolver the resolver to use for list items
 	 */
 	public ListResolver(ValueResolver resolver) {
+		this(resolver, null, null);
+	}
+
+	/**
+	 * Create a list resolver using the resolver for items, and a model to create lists with.
+	 *
+	 * @param resolver    the resolver to use for list items
+	 * @param model       the model to create lists with
+	 * @param arraySchema the (non-nullable) array schema of the lists to create
+	 */
+	public ListResolver(ValueResolver resolver, GenericData model, Schema arraySchema) {
 		this.resolver = resolver;
+		this.model = model;
+		this.arraySchema = arraySchema;
 	}
 
 	@Override
@@ -31,12 +59,34 @@ public class ListResolver extends ValueResolver {
 
 	@Override
 	public Object createCollector() {
-		return new ArrayList<>();
+		return model == null ? new ArrayList<>(Math.max(sizeHint, 10)) : model.newArray(null, sizeHint, arraySchema);
 	}
 
 	@Override
 	public Object addProperty(Object collector, String name, Object value) {
-		((List<Object>) collector).add(value);
+		if (value == null) {
+			requireNullableItems(arraySchema);
+		}
+		((Collection<Object>) collector).add(value);
+		return collector;
+	}
+
+	/**
+	 * Fail if an array schema does not allow {@code null} items. Models store numbers and booleans in such arrays without boxing, so they cannot contain
+	 * {@code null}.
+	 *
+	 * @param arraySchema the (non-nullable) array schema of a list, if known
+	 * @throws IllegalArgumentException if the array items are not nullable
+	 */
+	static void requireNullableItems(Schema arraySchema) {
+		if (arraySchema != null && !arraySchema.getElementType().isNullable()) {
+			throw new IllegalArgumentException("Array items of type %s cannot be null".formatted(arraySchema.getElementType()));
+		}
+	}
+
+	@Override
+	public Object complete(Object collector) {
+		sizeHint = ((Collection<?>) collector).size();
 		return collector;
 	}
 }
@@ -0,0 +1,64 @@
+package opwvhk.avro.io;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * <p>JDK Flight Recorder event for parsing a single record.</p>
+ *
+ * <p>Like all JFR events, it is enabled (and given a threshold) via the recording settings. When not recording, {@link #begin()} and {@link #finish(long,
+ * Throwable)} do nothing, and parsers use a {@link #DISABLED shared instance} instead of creating one for every record.</p>
+ *
+ * @see AsAvroParserBase#startParseEvent()
+ */
+@Name("opwvhk.avro.Parse")
+@Label("Parse Record")
+@Description("Parsing a record with a parser for Avro records")
+@Category("Avro Conversions")
+@StackTrace(false)
+public final class ParseEvent extends Event {
+	/**
+	 * A shared event that is never committed, for use when parse events are not recorded.
+	 */
+	static final ParseEvent DISABLED = new ParseEvent(null, null);
+
+	@Label("Parser")
+	String parser;
+	@Label("Record Type")
+	String recordType;
+	@Label("Input Size")
+	@Description("The number of bytes (or characters, if the input is text) read; -1 if unknown")
+	@DataAmount
+	long inputSize;
+	@Label("Outcome")
+	@Description("'success', or the class name of the exception that caused parsing to fail")
+	String outcome;
+
+	ParseEvent(String parser, String recordType) {
+		this.parser = parser;
+		this.recordType = recordType;
+	}
+
+	/**
+	 * End the event, and commit it if it is recorded.
+	 *
+	 * @param inputSize the number of bytes (or characters, if the input is text) read, or {@code -1} if unknown
+	 * @param failure   the exception that caused parsing to fail, or {@code null} if parsing succeeded
+	 */
+	public void finish(long inputSize, Throwable failure) {
+		if (this == DISABLED) {
+			return;
+		}
+		end();
+		if (shouldCommit()) {
+			this.inputSize = inputSize;
+			this.outcome = failure == null ? "success" : failure.getClass().getName();
+			commit();
+		}
+	}
+}
@@ -0,0 +1,56 @@
+package opwvhk.avro.io;
+
+import org.apache.avro.Schema;
+
+/**
+ * <p>Listener for parse events, to gather metrics with.</p>
+ *
+ * <p>Parsers call the listener while parsing, on the parsing thread. Implementations must therefore be fast, and thread-safe if the parser is used by
+ * multiple threads. All methods have an empty default implementation.</p>
+ *
+ * @see AsAvroParserBase#setParseListener(ParseListener)
+ * @see ParseMetrics
+ */
+public interface ParseListener {
+	/**
+	 * A listener that ignores all events. Parsers use this listener by default, and skip all measurements for it.
+	 */
+	ParseListener NONE = new ParseListener() {
+	};
+
+	/**
+	 * Called when a resolver resolves a property (field, element, attribute, etc.) of a value.
+	 *
+	 * @param parent   the resolver of the value that has the property
+	 * @param name     the property name
+	 * @param resolver the resolver for the property value; {@link ValueResolver#NOOP} if the property is unknown (and ignored)
+	 */
+	default void propertyResolved(ValueResolver parent, String name, ValueResolver resolver) {
+	}
+
+	/**
+	 * Called when a resolver completes a value.
+	 *
+	 * @param resolver the resolver that completed a value
+	 */
+	default void valueCompleted(ValueResolver resolver) {
+	}
+
+	/**
+	 * Called when a record field was not in the input, and its default value is used.
+	 *
+	 * @param record the resolver of the record that has the field
+	 * @param field  the record field
+	 */
+	default void defaultValueUsed(RecordResolver record, Schema.Field field) {
+	}
+
+	/**
+	 * Called when a parser finished parsing a record.
+	 *
+	 * @param inputSize     the number of bytes (or characters, if the input is text) read, or {@code -1} if unknown
+	 * @param durationNanos the time it took to parse the record, in nanoseconds
+	 */
+	default void recordParsed(long inputSize, long durationNanos) {
+	}
+}
@@ -0,0 +1,115 @@
+package opwvhk.avro.io;
+
+import org.apache.avro.Schema;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * <p>A parse listener that counts parse events, and measures parse latency.</p>
+ *
+ * <p>This class is thread-safe, and does not allocate memory after the first occurrence of each field and resolver type. Use {@link #snapshot()} to
+ * get the current values, for example to export them to a metrics system.</p>
+ */
+public class ParseMetrics implements ParseListener {
+	/**
+	 * The number of buckets in the latency histogram.
+	 */
+	public static final int LATENCY_BUCKETS = 40;
+
+	private final LongAdder recordsParsed = new LongAdder();
+	private final LongAdder inputSize = new LongAdder();
+	private final ConcurrentMap<Class<?>, LongAdder> completionsByResolverType = new ConcurrentHashMap<>();
+	private final ConcurrentMap<ValueResolver, ConcurrentMap<String, LongAdder>> valuesByParentAndName = new ConcurrentHashMap<>();
+	private final ConcurrentMap<ValueResolver, ConcurrentMap<String, LongAdder>> unknownByParentAndName = new ConcurrentHashMap<>();
+	private final ConcurrentMap<ValueResolver, ConcurrentMap<String, LongAdder>> defaultsByParentAndName = new ConcurrentHashMap<>();
+	private final AtomicLongArray latencyHistogram = new AtomicLongArray(LATENCY_BUCKETS);
+
+	@Override
+	public void propertyResolved(ValueResolver parent, String name, ValueResolver resolver) {
+		if (parent == ValueResolver.NOOP) {
+			// Properties of unknown properties are unknown as well: the unknown parent has been counted already.
+			return;
+		}
+		var countsByParentAndName = resolver == ValueResolver.NOOP ? unknownByParentAndName : valuesByParentAndName;
+		counter(counter(countsByParentAndName, parent, ignored -> new ConcurrentHashMap<>()), name, ignored -> new LongAdder()).increment();
+	}
+
+	@Override
+	public void valueCompleted(ValueResolver resolver) {
+		if (resolver == ValueResolver.NOOP) {
+			// Ignored values (of unknown properties) are counted as such.
+			return;
+		}
+		counter(completionsByResolverType, resolver.getClass(), ignored -> new LongAdder()).increment();
+	}
+
+	@Override
+	public void defaultValueUsed(RecordResolver record, Schema.Field field) {
+		counter(counter(defaultsByParentAndName, record, ignored -> new ConcurrentHashMap<>()), field.name(), ignored -> new LongAdder()).increment();
+	}
+
+	@Override
+	public void recordParsed(long inputSize, long durationNanos) {
+		recordsParsed.increment();
+		if (inputSize > 0) {
+			this.inputSize.add(inputSize);
+		}
+		long micros = durationNanos / 1000;
+		int bucket = Math.min(Long.SIZE - Long.numberOfLeadingZeros(micros), LATENCY_BUCKETS - 1);
+		latencyHistogram.incrementAndGet(bucket);
+	}
+
+	private static <K, V> V counter(ConcurrentMap<K, V> map, K key, Function<K, V> factory) {
+		// Try a plain get first: computeIfAbsent can lock, even if the key is present.
+		V value = map.get(key);
+		return value != null ? value : map.computeIfAbsent(key, factory);
+	}
+
+	/**
+	 * Take a snapshot of the current metrics.
+	 *
+	 * @return the current metrics
+	 */
+	public Snapshot snapshot() {
+		Map<String, Long> completions = new TreeMap<>();
+		completionsByResolverType.forEach((type, count) -> completions.merge(type.getSimpleName(), count.sum(), Long::sum));
+		long[] latencies = new long[LATENCY_BUCKETS];
+		for (int i = 0; i < LATENCY_BUCKETS; i++) {
+			latencies[i] = latencyHistogram.get(i);
+		}
+		return new Snapshot(recordsParsed.sum(), inputSize.sum(), propertyCounts(valuesByParentAndName), propertyCounts(unknownByParentAndName),
+				propertyCounts(defaultsByParentAndName), completions, latencies);
+	}
+
+	private static Map<String, Long> propertyCounts(ConcurrentMap<ValueResolver, ConcurrentMap<String, LongAdder>> countsByParentAndName) {
+		Map<String, Long> result = new TreeMap<>();
+		countsByParentAndName.forEach((parent, countsByName) -> {
+			String prefix = parent instanceof RecordResolver recordResolver ? recordResolver.recordSchema().getFullName() + "." : "";
+			countsByName.forEach((name, count) -> result.merge(prefix + name, count.sum(), Long::sum));
+		});
+		return result;
+	}
+
+	/**
+	 * A snapshot of parse metrics.
+	 *
+	 * @param recordsParsed             the number of records parsed
+	 * @param inputSize                 the total number of bytes (or characters for text input) parsed, as far as known
+	 * @param fieldValues               the number of values per property, by property name (prefixed by the full record name if known)
+	 * @param unknownFields             the number of ignored values per unknown property, by property name (prefixed by the full record name if known)
+	 * @param defaultValues             the number of times the default value was used, by field name (prefixed by the full record name)
+	 * @param completionsByResolverType the number of values completed, by resolver type (the simple class name): values completed by different resolvers
+	 *                                  of the same type are counted together
+	 * @param latencyHistogram          a histogram of parse latencies: bucket {@code i > 0} counts parses that took at least {@code 2^(i-1)}, but less than
+	 *                                  {@code 2^i} microseconds (bucket 0 counts parses under 1 microsecond, and the last bucket all slower parses)
+	 */
+	public record Snapshot(long recordsParsed, long inputSize, Map<String, Long> fieldValues, Map<String, Long> unknownFields,
+	                       Map<String, Long> defaultValues, Map<String, Long> completionsByResolverType, long[] latencyHistogram) {
+	}
+}
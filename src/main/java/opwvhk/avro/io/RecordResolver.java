@@ -3,25 +3,33 @@ package opwvhk.avro.io;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericData;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
+import static opwvhk.avro.util.AvroSchemaUtils.nonNullableSchemaOf;
+
 /**
  * Create a record resolver for Avro records.
  */
 public class RecordResolver
 		extends ValueResolver {
-	private static final Object NOT_SET = new Object();
+	static final Object NOT_SET = new Object();
 
 	private final GenericData model;
 	private final Schema recordSchema;
 	private final Map<String, ValueResolver> resolversByName;
 	private final Map<String, Schema.Field> fieldsByName;
 	private final Set<String> arrayFields;
+	/**
+	 * Initial capacities for array fields (by field position). These are the only values that change after the resolver is built, and they are written
+	 * without synchronization, even though resolvers are shared between parsers and threads (see {@link ResolverCache}). This data race is benign: reading
+	 * and writing an {@code int} is atomic, and any value is a valid capacity. At worst, a list is resized more often.
+	 */
+	private final int[] arraySizeHints;
 
 	/**
 	 * Create a records resolver for the given model and schema.
@@ -35,6 +43,8 @@ public class RecordResolver
 		resolversByName = new HashMap<>();
 		fieldsByName = new HashMap<>();
 		arrayFields = new HashSet<>();
+		arraySizeHints = new int[recordSchema.getFields().size()];
+		Arrays.fill(arraySizeHints, -1);
 	}
 
 	/**
@@ -47,6 +57,7 @@ public class RecordResolver
 	public void addArrayResolver(String name, Schema.Field field, ValueResolver resolver) {
 		addResolver(name, field, resolver);
 		arrayFields.add(name);
+		arraySizeHints[field.pos()] = 0;
 	}
 
 	/**
@@ -61,10 +72,80 @@ public class RecordResolver
 		fieldsByName.put(name, field);
 	}
 
+	/**
+	 * Return the schema of the records this resolver creates.
+	 *
+	 * @return the record schema
+	 */
+	public Schema recordSchema() {
+		return recordSchema;
+	}
+
+	/**
+	 * Return the field for a property.
+	 *
+	 * @param name the name of a property
+	 * @return the field in the schema that represents the property, or {@code null} if the property is unknown
+	 */
+	Schema.Field fieldFor(String name) {
+		return fieldsByName.get(name);
+	}
+
+	/**
+	 * Check if a property is an array field whose items are resolved one by one.
+	 *
+	 * @param name the name of a property
+	 * @return {@code true} if the property is an array field, {@code false} otherwise
+	 */
+	boolean isArrayField(String name) {
+		return arrayFields.contains(name);
+	}
+
+	/**
+	 * Create a list for an array field, using the size of the previous list for this field as initial capacity.
+	 *
+	 * @param field an array field
+	 * @return a new, empty list
+	 */
+	Collection<Object> newArray(Schema.Field field) {
+		int capacity = Math.max(arraySizeHints[field.pos()], 0);
+		@SuppressWarnings("unchecked")
+		Collection<Object> array = (Collection<Object>) model.newArray(null, capacity, nonNullableSchemaOf(field.schema()));
+		return array;
+	}
+
+	/**
+	 * Add an item to the list of an array field.
+	 *
+	 * @param list  the list of an array field
+	 * @param field the array field
+	 * @param item  the item to add
+	 * @throws IllegalArgumentException if the item is {@code null}, but the array items are not nullable
+	 */
+	void addArrayItem(Collection<Object> list, Schema.Field field, Object item) {
+		if (item == null) {
+			ListResolver.requireNullableItems(nonNullableSchemaOf(field.schema()));
+		}
+		list.add(item);
+	}
+
+	/**
+	 * Remember the size of the array field values in a completed record, as initial capacity for the next record.
+	 *
+	 * @param pos   the position of a field
+	 * @param value the value of the field
+	 */
+	void updateArraySizeHint(int pos, Object value) {
+		if (arraySizeHints[pos] != -1 && value instanceof Collection<?> collection) {
+			arraySizeHints[pos] = collection.size();
+		}
+	}
+
 	@Override
 	public ValueResolver resolve(String name) {
-		return resolversByName.computeIfAbsent(name,
-				super::resolve);
+		// Do not cache unknown names: resolvers can be shared between parsers (and threads), and must not change after they've been built.
+		ValueResolver resolver = resolversByName.get(name);
+		return resolver != null ? resolver : super.resolve(name);
 	}
 
 	@Override
@@ -85,11 +166,11 @@ public class RecordResolver
 			if (arrayFields.contains(name)) {
 				Object maybeList = model.getField(record, field.name(), field.pos());
 				if (maybeList == NOT_SET) {
-					maybeList = new ArrayList<>();
+					maybeList = newArray(field);
 					model.setField(record, field.name(), field.pos(), maybeList);
 				}
 				Collection<Object> list = (Collection<Object>) maybeList;
-				list.add(value);
+				addArrayItem(list, field, value);
 			} else {
 				model.setField(record, field.name(), field.pos(), value);
 			}
@@ -106,11 +187,20 @@ public class RecordResolver
 
 	@Override
 	public Object complete(Object collector) {
+		return complete(collector, ParseListener.NONE);
+	}
+
+	@Override
+	public Object complete(Object collector, ParseListener listener) {
 		// Fill in default values for fields that have not been set.
 		for (Schema.Field field : recordSchema.getFields()) {
-			if (model.getField(collector, field.name(), field.pos()) == NOT_SET) {
+			Object currentValue = model.getField(collector, field.name(), field.pos());
+			if (currentValue == NOT_SET) {
+				listener.defaultValueUsed(this, field);
 				Object value = field.hasDefaultValue() ? model.getDefaultValue(field) : null; // Don't leak internal object; using the object will fail anyway
 				model.setField(collector, field.name(), field.pos(), value);
+			} else {
+				updateArraySizeHint(field.pos(), currentValue);
 			}
 		}
 		return collector;
@@ -0,0 +1,103 @@
+package opwvhk.avro.io;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * <p>A size-bounded, thread-safe cache of resolver graphs.</p>
+ *
+ * <p>Creating a parser matches the read schema against the write schema, and builds a graph of {@link ValueResolver resolvers} to parse with. As resolvers
+ * do not change once built (apart from the initial capacities for lists, which are hints only), parsers created for the same schemata, model and options
+ * can share them. This cache keeps the most recently used resolver
+ * graphs, so creating parsers repeatedly for a small set of schema pairs builds each resolver graph only once.</p>
+ *
+ * <p>Resolvers are created outside the lock guarding the cache. This means that concurrent requests for a missing entry may each create a resolver graph,
+ * but all of them receive the one that was stored first.</p>
+ */
+public final class ResolverCache {
+	/**
+	 * The default maximum number of resolver graphs in the cache.
+	 */
+	public static final int DEFAULT_MAXIMUM_SIZE = 256;
+	private static final ResolverCache SHARED = new ResolverCache(DEFAULT_MAXIMUM_SIZE);
+
+	/**
+	 * Return the process-wide cache used by all parsers.
+	 *
+	 * @return the shared resolver cache
+	 */
+	public static ResolverCache shared() {
+		return SHARED;
+	}
+
+	private final Map<Object, ValueResolver> resolversByKey;
+	private int maximumSize;
+
+	/**
+	 * Create a resolver cache.
+	 *
+	 * @param maximumSize the maximum number of resolver graphs to keep
+	 */
+	ResolverCache(int maximumSize) {
+		setMaximumSize(maximumSize);
+		// Access order: the eldest entry is the least recently used one.
+		resolversByKey = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Object, ValueResolver> eldest) {
+				return size() > ResolverCache.this.maximumSize;
+			}
+		};
+	}
+
+	/**
+	 * Set the maximum number of resolver graphs to keep. Lowering the maximum evicts the excess entries on the next insertion.
+	 *
+	 * @param maximumSize the maximum number of resolver graphs to keep; use {@code 0} to disable caching
+	 */
+	public void setMaximumSize(int maximumSize) {
+		if (maximumSize < 0) {
+			throw new IllegalArgumentException("The maximum size cannot be negative");
+		}
+		synchronized (this) {
+			this.maximumSize = maximumSize;
+		}
+	}
+
+	/**
+	 * Return the number of resolver graphs in the cache.
+	 *
+	 * @return the number of cached resolver graphs
+	 */
+	public synchronized int size() {
+		return resolversByKey.size();
+	}
+
+	/**
+	 * Remove all resolver graphs from the cache.
+	 */
+	public synchronized void clear() {
+		resolversByKey.clear();
+	}
+
+	/**
+	 * Get the resolver graph for a key, creating it if needed.
+	 *
+	 * @param key     the cache key; must implement {@link Object#equals(Object)} and {@link Object#hashCode()}
+	 * @param factory a factory to create the resolver graph if it's not cached yet
+	 * @return the cached or created resolver graph
+	 */
+	ValueResolver get(Object key, Supplier<ValueResolver> factory) {
+		synchronized (this) {
+			ValueResolver cached = resolversByKey.get(key);
+			if (cached != null) {
+				return cached;
+			}
+		}
+		ValueResolver created = factory.get();
+		synchronized (this) {
+			ValueResolver existing = resolversByKey.putIfAbsent(key, created);
+			return existing == null ? created : existing;
+		}
+	}
+}
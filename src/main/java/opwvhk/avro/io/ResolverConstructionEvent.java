@@ -0,0 +1,32 @@
+package opwvhk.avro.io;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event for matching the read schema against the write schema when creating a parser.
+ */
+@Name("opwvhk.avro.ResolverConstruction")
+@Label("Resolver Construction")
+@Description("Creating the resolvers for a parser, or getting them from the resolver cache")
+@Category("Avro Conversions")
+@StackTrace(false)
+final class ResolverConstructionEvent extends Event {
+	@Label("Parser")
+	String parser;
+	@Label("Record Type")
+	String recordType;
+	@Label("Cacheable")
+	@Description("Whether the resolvers can be shared with other parsers via the resolver cache")
+	boolean cacheable;
+	@Label("Created")
+	@Description("Whether the resolvers were created (false if they were found in the resolver cache)")
+	boolean created;
+	@Label("Outcome")
+	@Description("'success', or the class name of the exception that caused the construction to fail")
+	String outcome;
+}
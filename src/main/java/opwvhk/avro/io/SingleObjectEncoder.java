@@ -0,0 +1,158 @@
+package opwvhk.avro.io;
+
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaNormalization;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DatumWriter;
+import org.apache.avro.io.EncoderFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * <p>Encoder for the Avro <a href="https://avro.apache.org/docs/current/specification/#single-object-encoding">single-object encoding</a>: a header with
+ * the schema fingerprint, followed by the binary encoded record. This is a common format for messages on a message bus, like Kafka.</p>
+ *
+ * <p>The header is calculated once. Encoding uses a buffer and binary encoder per thread, which are reused for all messages. So encoding into a
+ * {@link #encode(Object, ByteBuffer) buffer} or {@link #encode(Object, OutputStream) stream} allocates no memory, and {@link #encode(Object)} only allocates
+ * the result. The output is compatible with Avro's {@link org.apache.avro.message.BinaryMessageDecoder BinaryMessageDecoder}. For example:</p>
+ *
+ * <pre>{@code
+ * JsonAsAvroParser parser = new JsonAsAvroParser(jsonSchemaLocation, readSchema, GenericData.get());
+ * SingleObjectEncoder encoder = new SingleObjectEncoder(readSchema, GenericData.get());
+ * ByteBuffer message = encoder.encode(parser.parse(json));
+ * }</pre>
+ *
+ * <p>Encoders are thread-safe.</p>
+ */
+public final class SingleObjectEncoder {
+	private static final byte[] MAGIC = {(byte) 0xC3, (byte) 0x01};
+	private static final int HEADER_SIZE = MAGIC.length + Long.BYTES;
+	private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+
+	private final Schema schema;
+	private final long fingerprint;
+	private final byte[] header;
+	private final DatumWriter<Object> writer;
+
+	/**
+	 * Create an encoder for records with a schema.
+	 *
+	 * @param schema the schema of the records to encode (the write schema for the messages)
+	 * @param model  the model the records were created with (i.e., the model used by the parser)
+	 */
+	public SingleObjectEncoder(Schema schema, GenericData model) {
+		this.schema = requireNonNull(schema);
+		fingerprint = SchemaNormalization.parsingFingerprint64(schema);
+		header = Arrays.copyOf(MAGIC, HEADER_SIZE);
+		// The fingerprint is little-endian.
+		ByteBuffer.wrap(header, MAGIC.length, Long.BYTES).order(ByteOrder.LITTLE_ENDIAN).putLong(fingerprint);
+		@SuppressWarnings("unchecked")
+		DatumWriter<Object> datumWriter = (DatumWriter<Object>) model.createDatumWriter(schema);
+		writer = datumWriter;
+	}
+
+	/**
+	 * Return the schema of the encoded records.
+	 *
+	 * @return the write schema
+	 */
+	public Schema schema() {
+		return schema;
+	}
+
+	/**
+	 * Return the fingerprint of the schema, as included in the header of each message.
+	 *
+	 * @return the CRC-64-AVRO fingerprint of the schema
+	 */
+	public long fingerprint() {
+		return fingerprint;
+	}
+
+	/**
+	 * Encode a record into a new buffer.
+	 *
+	 * @param record the record to encode
+	 * @return a buffer with the encoded message, ready to read
+	 * @throws UncheckedIOException if the record cannot be encoded (for example, because it does not match the schema)
+	 */
+	public ByteBuffer encode(Object record) {
+		Buffers buffers = encodeIntoBuffer(record);
+		return ByteBuffer.wrap(buffers.output.toByteArray());
+	}
+
+	/**
+	 * Encode a record into an existing buffer. The message is written at the current position of the buffer, which is then moved past the message.
+	 *
+	 * @param record the record to encode
+	 * @param target the buffer to write the encoded message to
+	 * @return the size of the encoded message, in bytes
+	 * @throws BufferOverflowException if the message does not fit into the remaining space of the buffer
+	 * @throws UncheckedIOException    if the record cannot be encoded (for example, because it does not match the schema)
+	 */
+	public int encode(Object record, ByteBuffer target) {
+		GrowableOutputStream output = encodeIntoBuffer(record).output;
+		target.put(output.buffer(), 0, output.size());
+		return output.size();
+	}
+
+	/**
+	 * Encode a record to a stream.
+	 *
+	 * @param record the record to encode
+	 * @param target the stream to write the encoded message to
+	 * @throws IOException when the stream cannot be written to, or the record cannot be encoded
+	 */
+	public void encode(Object record, OutputStream target) throws IOException {
+		Buffers buffers = BUFFERS.get();
+		target.write(header);
+		buffers.encoder = EncoderFactory.get().directBinaryEncoder(target, buffers.encoder);
+		writer.write(record, buffers.encoder);
+	}
+
+	private Buffers encodeIntoBuffer(Object record) {
+		Buffers buffers = BUFFERS.get();
+		GrowableOutputStream output = buffers.output;
+		output.reset();
+		output.write(header, 0, header.length);
+		buffers.encoder = EncoderFactory.get().directBinaryEncoder(output, buffers.encoder);
+		try {
+			writer.write(record, buffers.encoder);
+		} catch (IOException e) {
+			// Writing to memory does not fail, but encoding can.
+			throw new UncheckedIOException("Failed to encode record", e);
+		}
+		return buffers;
+	}
+
+	/**
+	 * The reusable objects for a thread.
+	 */
+	private static final class Buffers {
+		private final GrowableOutputStream output = new GrowableOutputStream();
+		private BinaryEncoder encoder;
+	}
+
+	/**
+	 * A byte array output stream that exposes its buffer, to copy the content without intermediate copies.
+	 */
+	private static final class GrowableOutputStream extends ByteArrayOutputStream {
+		private GrowableOutputStream() {
+			super(1024);
+		}
+
+		private byte[] buffer() {
+			return buf;
+		}
+	}
+}
@@ -0,0 +1,116 @@
+package opwvhk.avro.io;
+
+import opwvhk.avro.ResolvingFailure;
+import org.apache.avro.Schema;
+import org.apache.avro.specific.SpecificData;
+import org.apache.avro.specific.SpecificRecordBase;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * <p>A record resolver for generated (specific) Avro records.</p>
+ *
+ * <p>Instead of creating a record up front and setting fields by name, this resolver collects the field values by position, and creates the record when
+ * it's complete. This avoids reflection: records are created using a cached constructor handle, and fields are set with {@link SpecificRecordBase#put(int,
+ * Object)}. It also ensures primitive fields (as used for non-nullable numbers and booleans) are never set to {@code null}.</p>
+ */
+public class SpecificRecordResolver
+		extends RecordResolver {
+	private static final Set<Schema.Type> PRIMITIVE_TYPES = EnumSet.of(Schema.Type.BOOLEAN, Schema.Type.INT, Schema.Type.LONG, Schema.Type.FLOAT,
+			Schema.Type.DOUBLE);
+
+	private final SpecificData model;
+	private final List<Schema.Field> fields;
+	private final boolean[] primitiveFields;
+	private final MethodHandle constructor;
+
+	/**
+	 * Create a records resolver for the given model and schema.
+	 *
+	 * @param model        a model to generate records with
+	 * @param recordSchema the record schema
+	 * @param recordClass  the generated class for the record schema
+	 */
+	public SpecificRecordResolver(SpecificData model, Schema recordSchema, Class<? extends SpecificRecordBase> recordClass) {
+		super(model, recordSchema);
+		this.model = model;
+		fields = recordSchema.getFields();
+		primitiveFields = new boolean[fields.size()];
+		for (Schema.Field field : fields) {
+			Schema fieldSchema = field.schema();
+			primitiveFields[field.pos()] = PRIMITIVE_TYPES.contains(fieldSchema.getType()) && fieldSchema.getLogicalType() == null;
+		}
+		try {
+			constructor = MethodHandles.publicLookup().findConstructor(recordClass, MethodType.methodType(void.class))
+					.asType(MethodType.methodType(SpecificRecordBase.class));
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			throw new ResolvingFailure("Cannot create records of type %s: no public no-arg constructor".formatted(recordClass.getName()));
+		}
+	}
+
+	@Override
+	public Object createCollector() {
+		Object[] values = new Object[fields.size()];
+		Arrays.fill(values, NOT_SET);
+		return values;
+	}
+
+	@Override
+	public Object addProperty(Object collector, String name, Object value) {
+		Schema.Field field = fieldFor(name);
+		// If null, the field is unknown and should be ignored.
+		if (field != null) {
+			Object[] values = (Object[]) collector;
+			int pos = field.pos();
+			if (isArrayField(name)) {
+				if (values[pos] == NOT_SET) {
+					values[pos] = newArray(field);
+				}
+				@SuppressWarnings("unchecked")
+				Collection<Object> list = (Collection<Object>) values[pos];
+				addArrayItem(list, field, value);
+			} else {
+				values[pos] = value;
+			}
+		}
+		return collector;
+	}
+
+	@Override
+	public Object complete(Object collector, ParseListener listener) {
+		Object[] values = (Object[]) collector;
+		SpecificRecordBase record = newRecord();
+		for (Schema.Field field : fields) {
+			int pos = field.pos();
+			Object value = values[pos];
+			if (value == NOT_SET) {
+				listener.defaultValueUsed(this, field);
+				value = field.hasDefaultValue() ? model.getDefaultValue(field) : null;
+			} else {
+				updateArraySizeHint(pos, value);
+			}
+			// Primitive fields cannot be null: leave these unset (as when fields are allowed to be missing)
+			if (value != null || !primitiveFields[pos]) {
+				record.put(pos, value);
+			}
+		}
+		return record;
+	}
+
+	private SpecificRecordBase newRecord() {
+		try {
+			return (SpecificRecordBase) constructor.invokeExact();
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new IllegalStateException("Failed to create a record", e);
+		}
+	}
+}
@@ -0,0 +1,152 @@
+package opwvhk.avro.io;
+
+import org.apache.avro.util.Utf8;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * <p>A bounded, thread-safe dictionary of canonical string instances.</p>
+ *
+ * <p>Fields with few distinct values (like status codes or country names) yield many equal strings when parsing. A dictionary replaces them with a single,
+ * canonical instance, so the duplicates can be garbage collected immediately. Dictionaries can provide both {@code String} and {@link Utf8} instances.</p>
+ *
+ * <p>Parsers use a dictionary for strings whose read schema has a property {@value #SCHEMA_PROPERTY}, containing the name of the dictionary. For example:
+ * {@code {"type": "string", "dictionary": "countries"}}. The same name can be used for multiple fields, to share the dictionary. Dictionaries are
+ * registered by name for the entire process, so you can inspect their {@link #hitRate() hit rate}, or register them beforehand with a different size.</p>
+ *
+ * <p>The dictionary is bounded: once full, new values are returned as is. This way, a field with unexpectedly many distinct values does not exhaust the
+ * heap. The maximum size is not enforced strictly: concurrent additions can exceed it slightly.</p>
+ */
+public final class StringDictionary {
+	/**
+	 * The read schema property that holds the name of the dictionary to use.
+	 */
+	public static final String SCHEMA_PROPERTY = "dictionary";
+	/**
+	 * The default maximum number of strings in a dictionary.
+	 */
+	public static final int DEFAULT_MAXIMUM_SIZE = 1024;
+	private static final Map<String, StringDictionary> DICTIONARIES_BY_NAME = new ConcurrentHashMap<>();
+
+	/**
+	 * Return the dictionary with the given name, creating it with the {@link #DEFAULT_MAXIMUM_SIZE default maximum size} if needed.
+	 *
+	 * @param name the name of the dictionary
+	 * @return the dictionary
+	 */
+	public static StringDictionary named(String name) {
+		return named(name, DEFAULT_MAXIMUM_SIZE);
+	}
+
+	/**
+	 * Return the dictionary with the given name, creating it if needed. Note that if the dictionary already exists, its maximum size is not changed.
+	 *
+	 * @param name        the name of the dictionary
+	 * @param maximumSize the maximum size of the dictionary, if it is created
+	 * @return the dictionary
+	 */
+	public static StringDictionary named(String name, int maximumSize) {
+		return DICTIONARIES_BY_NAME.computeIfAbsent(requireNonNull(name), ignored -> new StringDictionary(maximumSize));
+	}
+
+	private final Map<String, String> canonicalStrings;
+	private final Map<String, Utf8> canonicalUtf8s;
+	private final int maximumSize;
+	private final LongAdder hits;
+	private final LongAdder misses;
+
+	/**
+	 * Create a string dictionary.
+	 *
+	 * @param maximumSize the maximum number of strings in the dictionary
+	 */
+	public StringDictionary(int maximumSize) {
+		if (maximumSize < 0) {
+			throw new IllegalArgumentException("The maximum size cannot be negative");
+		}
+		this.maximumSize = maximumSize;
+		canonicalStrings = new ConcurrentHashMap<>();
+		canonicalUtf8s = new ConcurrentHashMap<>();
+		hits = new LongAdder();
+		misses = new LongAdder();
+	}
+
+	/**
+	 * Return the canonical instance for a string, adding it to the dictionary if it isn't present (and the dictionary isn't full).
+	 *
+	 * @param value a string
+	 * @return the canonical instance of the string, or the string itself if the dictionary doesn't contain it
+	 */
+	public String canonical(String value) {
+		return canonical(canonicalStrings, value, Function.identity());
+	}
+
+	/**
+	 * <p>Return the canonical {@link Utf8} instance for a string, adding it to the dictionary if it isn't present (and the dictionary isn't full).</p>
+	 *
+	 * <p>As the result is shared, it must not be modified. This also means it cannot be reused by (for example) a {@code DatumReader}.</p>
+	 *
+	 * @param value a string
+	 * @return the canonical {@code Utf8} instance of the string, or a new instance if the dictionary doesn't contain it
+	 */
+	public Utf8 canonicalUtf8(String value) {
+		return canonical(canonicalUtf8s, value, Utf8::new);
+	}
+
+	private <T> T canonical(Map<String, T> canonicalValues, String value, Function<String, T> valueFactory) {
+		T canonical = canonicalValues.get(value);
+		if (canonical != null) {
+			hits.increment();
+			return canonical;
+		}
+		misses.increment();
+		T newValue = valueFactory.apply(value);
+		if (size() < maximumSize) {
+			canonical = canonicalValues.putIfAbsent(value, newValue);
+		}
+		return canonical == null ? newValue : canonical;
+	}
+
+	/**
+	 * Return the number of strings in the dictionary.
+	 *
+	 * @return the dictionary size
+	 */
+	public int size() {
+		return canonicalStrings.size() + canonicalUtf8s.size();
+	}
+
+	/**
+	 * Return the number of lookups that found a canonical string.
+	 *
+	 * @return the number of hits
+	 */
+	public long hits() {
+		return hits.sum();
+	}
+
+	/**
+	 * Return the number of lookups that did not find a canonical string.
+	 *
+	 * @return the number of misses
+	 */
+	public long misses() {
+		return misses.sum();
+	}
+
+	/**
+	 * Return the fraction of lookups that found a canonical string.
+	 *
+	 * @return the hit rate, between 0 and 1 (inclusive); 0 if there were no lookups
+	 */
+	public double hitRate() {
+		long hitCount = hits();
+		long total = hitCount + misses();
+		return total == 0 ? 0 : (double) hitCount / total;
+	}
+}
@@ -92,6 +92,19 @@ public abstract class ValueResolver {
 		return collector;
 	}
 
+	/**
+	 * Complete the record, and pass it back to the creator, notifying the listener of details (like default values) that only the resolver knows about.
+	 *
+	 * <p>The default implementation calls {@link #complete(Object)}.</p>
+	 *
+	 * @param collector the (current) value collector
+	 * @param listener  the listener to notify of parse events
+	 * @return the completed record
+	 */
+	public Object complete(Object collector, ParseListener listener) {
+		return complete(collector);
+	}
+
 	/**
 	 * Whether the content for this resolver should be parsed.
 	 *
@@ -9,7 +9,10 @@ import net.jimblackler.jsonschemafriend.ValidationException;
 import net.jimblackler.jsonschemafriend.Validator;
 import opwvhk.avro.ResolvingFailure;
 import opwvhk.avro.io.AsAvroParserBase;
+import opwvhk.avro.io.DelegatingResolver;
 import opwvhk.avro.io.ListResolver;
+import opwvhk.avro.io.ParseEvent;
+import opwvhk.avro.io.ParseListener;
 import opwvhk.avro.io.RecordResolver;
 import opwvhk.avro.io.ValueResolver;
 import org.apache.avro.LogicalTypes;
@@ -24,6 +27,7 @@ import java.util.Deque;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Predicate;
 
@@ -91,7 +95,6 @@ public class JsonAsAvroParser extends AsAvroParserBase<SchemaProperties> {
 		        readSchema.getEnumSymbols().containsAll(enumValues));
 	}
 
-	private final ValueResolver resolver;
 	private final net.jimblackler.jsonschemafriend.Schema jsonSchema;
 
 	/**
@@ -120,8 +123,7 @@ public class JsonAsAvroParser extends AsAvroParserBase<SchemaProperties> {
 	}
 
 	private static SchemaProperties analyseJsonSchema(URI jsonSchemaLocation) {
-		SchemaAnalyzer schemaAnalyzer = new SchemaAnalyzer();
-		return schemaAnalyzer.parseJsonProperties(jsonSchemaLocation);
+		return JsonSchemaCache.shared().schemaProperties(jsonSchemaLocation);
 	}
 
 	/**
@@ -138,7 +140,6 @@ public class JsonAsAvroParser extends AsAvroParserBase<SchemaProperties> {
 	private JsonAsAvroParser(GenericData model, SchemaProperties schemaProperties, Schema readSchema, Set<Schema.Field> fieldsAllowedMissing,
 	                         boolean validateInput) {
 		super(model, schemaProperties, readSchema, fieldsAllowedMissing);
-		resolver = createResolver(schemaProperties, readSchema);
 		mapper = new ObjectMapper();
 		if (validateInput) {
 			jsonSchema = schemaProperties.getJsonSchema();
@@ -149,6 +150,12 @@ public class JsonAsAvroParser extends AsAvroParserBase<SchemaProperties> {
 		}
 	}
 
+	@Override
+	protected Object writeSchemaFingerprint(SchemaProperties writeSchema) {
+		// Analysed JSON schemas come from the JsonSchemaCache, which yields the same instance until the schema changes.
+		return writeSchema == null ? Optional.empty() : Optional.of(writeSchema);
+	}
+
 	@Override
 	protected List<ResolveRule<SchemaProperties>> createResolveRules() {
 		List<ResolveRule<SchemaProperties>> resolveRules = super.createResolveRules();
@@ -173,11 +180,11 @@ public class JsonAsAvroParser extends AsAvroParserBase<SchemaProperties> {
 		resolveRules.add(new ResolveRule<>(isNumber(), rawType(Schema.Type.DOUBLE), (w, r) -> DOUBLE_RESOLVER));
 		resolveRules.add(new ResolveRule<>(isInteger(32), rawType(Schema.Type.INT), (w, r) -> INTEGER_RESOLVER));
 		resolveRules.add(new ResolveRule<>(isInteger(64), rawType(Schema.Type.LONG), (w, r) -> LONG_RESOLVER));
-		resolveRules.add(new ResolveRule<>(jsonType(SchemaType.STRING), rawType(Schema.Type.STRING), (w, r) -> STRING_RESOLVER));
+		resolveRules.add(new ResolveRule<>(jsonType(SchemaType.STRING), rawType(Schema.Type.STRING), (w, r) -> createStringResolver(r)));
 		// Composite types
 		// UNION is not needed: this is unwrapped as needed (and forced if the JSON may contain explicit null values)
 		resolveRules.add(new ResolveRule<>(jsonType(SchemaType.ARRAY), rawType(Schema.Type.ARRAY),
-				(w, r) -> new ListResolver(createResolver(w.itemSchemaProperties(), nonNullableSchemaOf(r.getElementType())))));
+				(w, r) -> new ListResolver(createResolver(w.itemSchemaProperties(), nonNullableSchemaOf(r.getElementType())), model, r)));
 		// resolveRules.add(new ResolveRule<>(JsonAsAvroParser::isValidEnum, (w, r) -> createRecordResolver(r)));
 		resolveRules.add(new ResolveRule<>(jsonType(SchemaType.OBJECT), rawType(Schema.Type.RECORD), this::createResolverForRecord));
 
@@ -200,7 +207,7 @@ public class JsonAsAvroParser extends AsAvroParserBase<SchemaProperties> {
 		Map<String, Schema.Field> readFieldsByName = collectFieldsByNameAndAliases(readSchema);
 		Set<Schema.Field> unhandledButRequiredFields = determineRequiredFields(readSchema);
 
-		RecordResolver recordResolver = new RecordResolver(model, readSchema);
+		RecordResolver recordResolver = newRecordResolver(readSchema);
 
 		for (Map.Entry<String, SchemaProperties> entry : writerProperties.properties().entrySet()) {
 			String name = entry.getKey();
@@ -252,8 +259,11 @@ public class JsonAsAvroParser extends AsAvroParserBase<SchemaProperties> {
 	}
 
 	private <T> T parse(JsonParser parser) throws IOException {
+		ParseListener listener = getParseListener();
+		long start = listener == ParseListener.NONE ? 0 : System.nanoTime();
+		ParseEvent event = startParseEvent();
 		try {
-			ResolvingJsonParser<T> resolvingJsonParser = new ResolvingJsonParser<>(parser, resolver);
+			ResolvingJsonParser<T> resolvingJsonParser = new ResolvingJsonParser<>(parser, getResolver(), listener);
 			if (jsonSchema == null) {
 				while (resolvingJsonParser.nextToken() != null) {
 					// Do nothing: we've wrapped the parser to do the work.
@@ -262,12 +272,26 @@ public class JsonAsAvroParser extends AsAvroParserBase<SchemaProperties> {
 				Object object = resolvingJsonParser.readValueAs(Object.class);
 				validator.validate(jsonSchema, object);
 			}
+			long inputSize = listener != ParseListener.NONE || event.isEnabled() ? inputSize(parser.currentLocation()) : -1;
+			event.finish(inputSize, null);
+			if (listener != ParseListener.NONE) {
+				listener.recordParsed(inputSize, System.nanoTime() - start);
+			}
 			return resolvingJsonParser.result;
 		} catch (ValidationException e) {
+			event.finish(inputSize(parser.currentLocation()), e);
 			throw new IOException("Invalid JSON", e);
+		} catch (IOException | RuntimeException | Error e) {
+			event.finish(inputSize(parser.currentLocation()), e);
+			throw e;
 		}
 	}
 
+	private static long inputSize(JsonLocation location) {
+		long byteOffset = location.getByteOffset();
+		return byteOffset != -1 ? byteOffset : location.getCharOffset();
+	}
+
 	/**
 	 * <p>Create a parser that creates the intended parse result while we're parsing the input for validation.</p>
 	 *
@@ -281,11 +305,11 @@ public class JsonAsAvroParser extends AsAvroParserBase<SchemaProperties> {
 		private final Deque<CollectingResolver> parseStack;
 		private T result;
 
-		private ResolvingJsonParser(JsonParser parser, ValueResolver rootResolver) {
+		private ResolvingJsonParser(JsonParser parser, ValueResolver rootResolver, ParseListener listener) {
 			super(parser);
-			noopResolver = new CollectingResolver(ValueResolver.NOOP);
+			noopResolver = new CollectingResolver(ValueResolver.NOOP, listener);
 			parseStack = new ArrayDeque<>();
-			parseStack.push(new CollectingResolver(rootResolver));
+			parseStack.push(new CollectingResolver(rootResolver, listener));
 			result = null;
 		}
 
@@ -308,7 +332,7 @@ public class JsonAsAvroParser extends AsAvroParserBase<SchemaProperties> {
 						break;
 					case START_ARRAY:
 						if (collectingResolver.isCollectingArray()) {
-							parseStack.push(collectingResolver.resolve("value")); // Any value will do
+							parseStack.push(collectingResolver.resolveItem());
 						} else {
 							JsonLocation location = currentTokenLocation();
 							throw new IllegalStateException("Did not expect an array at %d:%d".formatted(location.getLineNr(), location.getColumnNr()));
@@ -336,7 +360,7 @@ public class JsonAsAvroParser extends AsAvroParserBase<SchemaProperties> {
 						if (parentResolver == null) {
 							result = (T) value;
 						} else if (parentResolver.addProperty(currentName(), value)) {
-							parseStack.push(parentResolver.resolve("value")); // Any value will do
+							parseStack.push(parentResolver.resolveItem());
 						} else {
 							parseStack.push(noopResolver);
 						}
@@ -349,15 +373,24 @@ public class JsonAsAvroParser extends AsAvroParserBase<SchemaProperties> {
 
 	private static class CollectingResolver {
 		private final ValueResolver resolver;
+		private final ParseListener listener;
 		private Object collector;
 
-		private CollectingResolver(ValueResolver resolver) {
-			this.resolver = requireNonNull(resolver);
+		private CollectingResolver(ValueResolver resolver, ParseListener listener) {
+			// Unwrap resolvers for recursive types: the parser inspects the resolver type to handle objects and arrays.
+			this.resolver = requireNonNull(DelegatingResolver.unwrap(resolver));
+			this.listener = listener;
 			this.collector = resolver.createCollector();
 		}
 
 		private CollectingResolver resolve(String fieldName) {
-			return new CollectingResolver(resolver.resolve(fieldName));
+			ValueResolver fieldResolver = resolver.resolve(fieldName);
+			listener.propertyResolved(resolver, fieldName, fieldResolver);
+			return new CollectingResolver(fieldResolver, listener);
+		}
+
+		private CollectingResolver resolveItem() {
+			return new CollectingResolver(resolver.resolve("value"), listener); // Any value will do
 		}
 
 		private void addContent(String value) {
@@ -365,7 +398,9 @@ public class JsonAsAvroParser extends AsAvroParserBase<SchemaProperties> {
 		}
 
 		private Object complete() {
-			return resolver.complete(collector);
+			Object value = resolver.complete(collector, listener);
+			listener.valueCompleted(resolver);
+			return value;
 		}
 
 		private boolean addProperty(String fieldName, Object value) {
@@ -0,0 +1,24 @@
+package opwvhk.avro.json;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event for loading and analysing a JSON schema.
+ */
+@Name("opwvhk.avro.JsonSchemaAnalysis")
+@Label("JSON Schema Analysis")
+@Description("Loading and analysing a JSON schema")
+@Category("Avro Conversions")
+@StackTrace(false)
+final class JsonSchemaAnalysisEvent extends Event {
+	@Label("Schema Location")
+	String schemaLocation;
+	@Label("Outcome")
+	@Description("'success', or the class name of the exception that caused the analysis to fail")
+	String outcome;
+}
@@ -0,0 +1,243 @@
+package opwvhk.avro.json;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * <p>A size-bounded, thread-safe cache of analyzed JSON schemas.</p>
+ *
+ * <p>Analyzing a JSON schema loads and parses the schema and all documents it references. As the analysis result is not modified by parsers, parsers for
+ * the same JSON schema can share it. This cache keeps the most recently used analysis results, keyed by the location of the schema. So creating parsers
+ * repeatedly for a JSON schema analyzes it only once, and (for cached schemas) without reading any remote documents.</p>
+ *
+ * <p>Cached schemas are analyzed again when they may have changed: when the schema or a document it references is a local file whose modification time
+ * or size changed, or after an explicit {@link #invalidate(URI) invalidation}. Changes to remote documents are not detected.</p>
+ *
+ * <p>Schemas can also be read from local directories instead of their actual location, using
+ * {@link #addLocalDirectory(String, Path) local directories}. This applies to the location of the schema itself. As relative references ({@code $ref})
+ * are resolved against the location of the schema that contains them, documents referenced that way are then read from the local directory as well.
+ * Documents referenced by an absolute location are read from that location, as the JSON schema library offers no way to redirect them.</p>
+ *
+ * <p>Analysis happens outside the lock guarding the cache. This means that concurrent requests for a missing entry may each analyze the schema, but all of
+ * them receive the result that was stored first.</p>
+ */
+public final class JsonSchemaCache {
+	/**
+	 * The default maximum number of analyzed schemas in the cache.
+	 */
+	public static final int DEFAULT_MAXIMUM_SIZE = 64;
+	private static final JsonSchemaCache SHARED = new JsonSchemaCache(DEFAULT_MAXIMUM_SIZE);
+
+	/**
+	 * Return the process-wide cache used by all JSON parsers.
+	 *
+	 * @return the shared JSON schema cache
+	 */
+	public static JsonSchemaCache shared() {
+		return SHARED;
+	}
+
+	private final Map<URI, Entry> entriesByLocation;
+	private final Map<String, Path> localDirectoriesByPrefix;
+	private int maximumSize;
+
+	/**
+	 * Create a JSON schema cache.
+	 *
+	 * @param maximumSize the maximum number of analyzed schemas to keep
+	 */
+	JsonSchemaCache(int maximumSize) {
+		setMaximumSize(maximumSize);
+		// Access order: the eldest entry is the least recently used one.
+		entriesByLocation = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<URI, Entry> eldest) {
+				return size() > JsonSchemaCache.this.maximumSize;
+			}
+		};
+		localDirectoriesByPrefix = new LinkedHashMap<>();
+	}
+
+	/**
+	 * Set the maximum number of analyzed schemas to keep. Lowering the maximum evicts the excess entries on the next insertion.
+	 *
+	 * @param maximumSize the maximum number of analyzed schemas to keep; use {@code 0} to disable caching
+	 */
+	public void setMaximumSize(int maximumSize) {
+		if (maximumSize < 0) {
+			throw new IllegalArgumentException("The maximum size cannot be negative");
+		}
+		synchronized (this) {
+			this.maximumSize = maximumSize;
+		}
+	}
+
+	/**
+	 * Return the number of analyzed schemas in the cache.
+	 *
+	 * @return the number of cached schemas
+	 */
+	public synchronized int size() {
+		return entriesByLocation.size();
+	}
+
+	/**
+	 * Remove all analyzed schemas from the cache.
+	 */
+	public synchronized void clear() {
+		entriesByLocation.clear();
+	}
+
+	/**
+	 * Remove the analyzed schemas that use a document from the cache. Use this when a (remote) schema document has changed.
+	 *
+	 * @param documentLocation the location of a JSON schema, or of a document referenced by JSON schemas
+	 */
+	public void invalidate(URI documentLocation) {
+		URI location = resolve(documentLocation);
+		synchronized (this) {
+			entriesByLocation.values().removeIf(entry -> entry.documents().containsKey(location));
+		}
+	}
+
+	/**
+	 * <p>Read schemas whose location starts with a prefix from a local directory. The remainder of the location is resolved against the directory. If
+	 * multiple prefixes match a location, the longest prefix wins.</p>
+	 *
+	 * <p>For example, after {@code addLocalDirectory("https://example.com/schemas/", Path.of("schemas"))}, the schema
+	 * {@code https://example.com/schemas/orders/order.json} is read from the file {@code schemas/orders/order.json}.</p>
+	 *
+	 * @param locationPrefix the prefix of schema locations to read locally
+	 * @param directory      the directory to read the schemas from
+	 */
+	public synchronized void addLocalDirectory(String locationPrefix, Path directory) {
+		localDirectoriesByPrefix.put(requireNonNull(locationPrefix), directory.toAbsolutePath());
+	}
+
+	/**
+	 * Determine where to read a schema from, taking {@link #addLocalDirectory(String, Path) local directories} into account.
+	 *
+	 * @param jsonSchemaLocation the location of a JSON schema
+	 * @return the location to read the schema from
+	 */
+	public synchronized URI resolve(URI jsonSchemaLocation) {
+		String location = jsonSchemaLocation.toString();
+		String longestPrefix = null;
+		for (String prefix : localDirectoriesByPrefix.keySet()) {
+			if (location.startsWith(prefix) && (longestPrefix == null || prefix.length() > longestPrefix.length())) {
+				longestPrefix = prefix;
+			}
+		}
+		if (longestPrefix == null) {
+			return jsonSchemaLocation;
+		}
+		return localDirectoriesByPrefix.get(longestPrefix).resolve(location.substring(longestPrefix.length())).toUri();
+	}
+
+	/**
+	 * Get the analyzed JSON schema at a location, analyzing it if needed.
+	 *
+	 * @param jsonSchemaLocation the location of a JSON schema
+	 * @return the result of analyzing the JSON schema
+	 * @throws AnalysisFailure when the JSON schema cannot be read or analysed
+	 */
+	public SchemaProperties schemaProperties(URI jsonSchemaLocation) throws AnalysisFailure {
+		return get(jsonSchemaLocation, (location, documents) -> new SchemaAnalyzer().parseJsonProperties(location, documents));
+	}
+
+	/**
+	 * Get the analyzed JSON schema at a location, analyzing it if needed.
+	 *
+	 * @param jsonSchemaLocation the location of a JSON schema
+	 * @param analysis           the analysis to apply to the (resolved) location if the schema is not cached (or changed); it also receives a set to add
+	 *                           the locations of the referenced documents to
+	 * @return the cached or new analysis result
+	 */
+	SchemaProperties get(URI jsonSchemaLocation, BiFunction<URI, Set<URI>, SchemaProperties> analysis) {
+		URI location = resolve(jsonSchemaLocation);
+		Entry cached;
+		synchronized (this) {
+			cached = entriesByLocation.get(location);
+		}
+		if (cached != null && cached.isUnchanged()) {
+			return cached.schemaProperties();
+		}
+
+		// Determine the version of the schema before analyzing it: if it changes during the analysis, the next request analyzes it again.
+		Map<URI, FileVersion> documentVersions = new HashMap<>();
+		documentVersions.put(location, FileVersion.of(location));
+		Set<URI> documents = new HashSet<>();
+		SchemaProperties analyzed = analysis.apply(location, documents);
+		for (URI document : documents) {
+			if (!documentVersions.containsKey(document)) {
+				documentVersions.put(document, FileVersion.of(document));
+			}
+		}
+		Entry entry = new Entry(analyzed, documentVersions);
+		synchronized (this) {
+			Entry existing = entriesByLocation.get(location);
+			if (existing != null && existing != cached && existing.isUnchanged()) {
+				return existing.schemaProperties();
+			}
+			entriesByLocation.put(location, entry);
+			return analyzed;
+		}
+	}
+
+	/**
+	 * A cache entry.
+	 *
+	 * @param schemaProperties the analysis result
+	 * @param documents        the documents used for the analysis, with their version (if known)
+	 */
+	private record Entry(SchemaProperties schemaProperties, Map<URI, FileVersion> documents) {
+		private boolean isUnchanged() {
+			for (Map.Entry<URI, FileVersion> document : documents.entrySet()) {
+				FileVersion version = document.getValue();
+				if (version != null && !version.equals(FileVersion.of(document.getKey()))) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * The version of a local file, to detect changes without reading it.
+	 *
+	 * @param lastModified the modification time, in nanoseconds since the epoch
+	 * @param size         the file size in bytes
+	 */
+	private record FileVersion(long lastModified, long size) {
+		/**
+		 * Determine the version of a document.
+		 *
+		 * @param document the location of a document
+		 * @return the version of the document if it is a local file, {@code null} otherwise
+		 * @throws AnalysisFailure if the document is a local file that cannot be read
+		 */
+		private static FileVersion of(URI document) {
+			if (!"file".equals(document.getScheme())) {
+				return null;
+			}
+			try {
+				BasicFileAttributes attributes = Files.readAttributes(Path.of(document), BasicFileAttributes.class);
+				return new FileVersion(attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS), attributes.size());
+			} catch (IOException | IllegalArgumentException e) {
+				throw new AnalysisFailure("Failed to read the JSON schema at " + document, e);
+			}
+		}
+	}
+}
@@ -14,10 +14,12 @@ import org.apache.avro.generic.GenericData;
 
 import java.math.BigDecimal;
 import java.net.URI;
+import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -227,21 +229,57 @@ public class SchemaAnalyzer {
 	 * @throws AnalysisFailure when the JSON schema cannot be analysed
 	 */
 	public SchemaProperties parseJsonProperties(URI jsonSchemaLocation) throws AnalysisFailure {
-		net.jimblackler.jsonschemafriend.Schema schema;
+		return parseJsonProperties(jsonSchemaLocation, new HashSet<>());
+	}
+
+	/**
+	 * Parse a JSON schema and return the schema properties describing objects that can contain JSON data adhering to this schema.
+	 *
+	 * @param jsonSchemaLocation the location of a JSON schema
+	 * @param documents          a set to add the locations of all documents to that were used (the schema itself and all documents it references)
+	 * @return an object describing the JSON schema
+	 * @throws AnalysisFailure when the JSON schema cannot be analysed
+	 */
+	SchemaProperties parseJsonProperties(URI jsonSchemaLocation, Set<URI> documents) throws AnalysisFailure {
+		JsonSchemaAnalysisEvent event = new JsonSchemaAnalysisEvent();
+		event.begin();
+		event.schemaLocation = String.valueOf(jsonSchemaLocation);
 		try {
-			// Load/parse the schema.
-			schema = schemaStore.loadSchema(jsonSchemaLocation, validator);
-		} catch (GenerationException e) {
-			throw new AnalysisFailure("Failed to load the JSON schema", e);
-		}
+			net.jimblackler.jsonschemafriend.Schema schema;
+			try {
+				// Load/parse the schema.
+				schema = schemaStore.loadSchema(jsonSchemaLocation, validator);
+			} catch (GenerationException e) {
+				throw new AnalysisFailure("Failed to load the JSON schema", e);
+			}
 
-		// Interpret the schema
+			// Interpret the schema
 
-		URI metaSchema = schema.getMetaSchema();
-		SchemaVersion schemaVersion = SchemaVersion.valueOf(metaSchema);
+			URI metaSchema = schema.getMetaSchema();
+			SchemaVersion schemaVersion = SchemaVersion.valueOf(metaSchema);
+
+			Map<URI, SchemaProperties> examinedSchemas = new HashMap<>();
+			SchemaProperties result = determineSchemaProperties(schema, schemaVersion, examinedSchemas);
+			documents.add(jsonSchemaLocation);
+			for (URI schemaUri : examinedSchemas.keySet()) {
+				documents.add(withoutFragment(schemaUri));
+			}
+			event.outcome = "success";
+			return result;
+		} catch (RuntimeException | Error e) {
+			event.outcome = e.getClass().getName();
+			throw e;
+		} finally {
+			event.commit();
+		}
+	}
 
-		Map<URI, SchemaProperties> examinedSchemas = new HashMap<>();
-		return determineSchemaProperties(schema, schemaVersion, examinedSchemas);
+	private static URI withoutFragment(URI uri) {
+		try {
+			return new URI(uri.getScheme(), uri.getSchemeSpecificPart(), null);
+		} catch (URISyntaxException e) {
+			throw new IllegalArgumentException("Not a valid URI: " + uri, e);
+		}
 	}
 
 	private SchemaProperties determineSchemaProperties(net.jimblackler.jsonschemafriend.Schema schema, SchemaVersion version,
@@ -6,6 +6,8 @@ import org.apache.avro.Schema;
 import org.apache.avro.util.SchemaVisitor;
 import org.apache.avro.util.Schemas;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Collections;
 import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
@@ -14,14 +16,12 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.StringJoiner;
-import java.util.stream.Stream;
-
-import static java.util.stream.Stream.concat;
 
 /**
  * Utility class to document Avro schemas.
  */
 public final class AvroSchemaUtils {
+	private static final String TABLE_HEADER = "| Field(path) | Type | Documentation |\n|-------------|------|---------------|\n";
 
 	/**
 	 * <p>Lists all names in the Avro schema as rows in a Markdown table, as path from the schema root, combined its documentation (if any).</p>
@@ -48,40 +48,65 @@ public final class AvroSchemaUtils {
 	 * @param buffer the buffer to write the result to
 	 */
 	public static void documentAsMarkdown(Schema schema, StringBuilder buffer) {
-		buffer.append(Entry.TABLE_HEADER);
-		describeSchema(schema).forEach(buffer::append);
+		try {
+			documentAsMarkdown(schema, (Appendable) buffer);
+		} catch (IOException e) {
+			throw new UncheckedIOException("StringBuilder does not throw IOException", e);
+		}
 	}
 
-	private static Stream<Entry> describeSchema(Schema schema) {
-		IdentityHashMap<Schema, Schema> seen = new IdentityHashMap<>();
-		return describeSchema("", null, schema, seen);
+	/**
+	 * <p>Lists all names in the Avro schema as rows in a Markdown table, as path from the schema root, combined its documentation (if any). Each entry in the
+	 * result is a concatenation of 1 or more names, separated by dots.</p>
+	 *
+	 * <p>The rows are written while visiting the schema, so documenting even very large schemata requires little memory when writing to a
+	 * {@link java.io.Writer Writer}.</p>
+	 *
+	 * @param schema an Avro schema
+	 * @param output where to write the result to
+	 * @throws IOException when the output cannot be written to
+	 */
+	public static void documentAsMarkdown(Schema schema, Appendable output) throws IOException {
+		output.append(TABLE_HEADER);
+		describeSchema(output, new StringBuilder(), null, schema, new IdentityHashMap<>());
 	}
 
-	private static Stream<Entry> describeSchema(String path, String fieldDoc, Schema schema, IdentityHashMap<Schema, Schema> seen) {
+	private static void describeSchema(Appendable output, StringBuilder path, String fieldDoc, Schema schema, IdentityHashMap<Schema, Schema> seen)
+			throws IOException {
 		if (seen.put(schema, schema) != null) {
-			return Stream.of(entryForSchema(path, fieldDoc, schema));
+			writeEntry(output, path, fieldDoc, schema);
+			return;
 		}
-		return switch (schema.getType()) {
+		int pathLength = path.length();
+		switch (schema.getType()) {
 			case RECORD -> {
-				String pathPrefix = path.isEmpty() ? "" : path + ".";
-				yield concat(
-						Stream.of(entryForSchema(path, fieldDoc, schema)),
-						schema.getFields().stream()
-								.flatMap(field -> describeSchema(pathPrefix + field.name(), field.doc(), field.schema(), seen)));
+				writeEntry(output, path, fieldDoc, schema);
+				for (Schema.Field field : schema.getFields()) {
+					if (pathLength > 0) {
+						path.append('.');
+					}
+					describeSchema(output, path.append(field.name()), field.doc(), field.schema(), seen);
+					path.setLength(pathLength);
+				}
 			}
 			case UNION -> {
-				String newPath = schema.isNullable() ? path + "?" : path;
-				yield schema.getTypes().stream()
-						.filter(s -> s.getType() != Schema.Type.NULL)
-						.flatMap(s -> describeSchema(newPath, fieldDoc, s, seen));
+				if (schema.isNullable()) {
+					path.append('?');
+				}
+				for (Schema type : schema.getTypes()) {
+					if (type.getType() != Schema.Type.NULL) {
+						describeSchema(output, path, fieldDoc, type, seen);
+					}
+				}
 			}
-			case ARRAY -> describeSchema(path + "[]", fieldDoc, schema.getElementType(), seen);
-			case MAP -> describeSchema(path + "()", fieldDoc, schema.getValueType(), seen);
-			default -> Stream.of(entryForSchema(path, fieldDoc, schema));
-		};
+			case ARRAY -> describeSchema(output, path.append("[]"), fieldDoc, schema.getElementType(), seen);
+			case MAP -> describeSchema(output, path.append("()"), fieldDoc, schema.getValueType(), seen);
+			default -> writeEntry(output, path, fieldDoc, schema);
+		}
+		path.setLength(pathLength);
 	}
 
-	private static Entry entryForSchema(String path, String fieldDoc, Schema schema) {
+	private static void writeEntry(Appendable output, CharSequence path, String fieldDoc, Schema schema) throws IOException {
 		String type;
 		LogicalType logicalType = schema.getLogicalType();
 		if (logicalType == null) {
@@ -92,11 +117,30 @@ public final class AvroSchemaUtils {
 			type = logicalType.getName();
 		}
 
-		StringJoiner doc = new StringJoiner("\n");
-		Optional.ofNullable(fieldDoc).ifPresent(doc::add);
-		Optional.ofNullable(schema.getDoc()).map(s -> "Type: " + s).ifPresent(doc::add);
+		output.append("| ").append(path).append(" | ").append(type).append(" | ");
+		if (fieldDoc != null) {
+			appendDocumentation(output, fieldDoc);
+		}
+		String schemaDoc = schema.getDoc();
+		if (schemaDoc != null) {
+			output.append(fieldDoc != null ? "<br/>Type: " : "Type: ");
+			appendDocumentation(output, schemaDoc);
+		}
+		output.append(" |\n");
+	}
 
-		return new Entry(path, type, doc.toString());
+	private static void appendDocumentation(Appendable output, String documentation) throws IOException {
+		// The path and type are either validated or under our control. But documentation needs escaping.
+		// Also, documentation should show newlines, which is done in tables in Markdown using <br/> tags.
+		int start = 0;
+		for (int i = 0; i < documentation.length(); i++) {
+			char c = documentation.charAt(i);
+			if (c == '<' || c == '\n') {
+				output.append(documentation, start, i).append(c == '<' ? "&lt;" : "<br/>");
+				start = i + 1;
+			}
+		}
+		output.append(documentation, start, documentation.length());
 	}
 
 	/**
@@ -184,19 +228,6 @@ public final class AvroSchemaUtils {
 		}
 	}
 
-	record Entry(String path, String type, String documentation) {
-		private static final String TABLE_HEADER = "| Field(path) | Type | Documentation |\n|-------------|------|---------------|\n";
-		private static final String TABLE_ENTRY_FORMAT = "| %s | %s | %s |\n";
-
-		@Override
-		public String toString() {
-			// The path and type are either validated or under our control. But documentation needs escaping.
-			// Also, documentation should show newlines, which is done in tables in Markdown using <br/> tags.
-			String docForMDTableCell = this.documentation().replace("<", "&lt;").replace("\n", "<br/>");
-			return TABLE_ENTRY_FORMAT.formatted(path(), type(), docForMDTableCell);
-		}
-	}
-
 	private AvroSchemaUtils() {
 		// Utility class: no need to instantiate.
 	}
@@ -0,0 +1,124 @@
+package opwvhk.avro.util;
+
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * <p>Decoding of binary data encoded as text.</p>
+ *
+ * <p>The decoders read directly from the text into a byte array of the exact size, without intermediate copies of the input. Also, the decoded size can be
+ * determined up front, to validate it before decoding anything.</p>
+ */
+public final class BinaryDecoding {
+	private static final byte INVALID = -1;
+	private static final byte[] HEX_VALUES = new byte[128];
+	private static final byte[] BASE64_VALUES = new byte[128];
+
+	static {
+		Arrays.fill(HEX_VALUES, INVALID);
+		for (int i = 0; i < 10; i++) {
+			HEX_VALUES['0' + i] = (byte) i;
+		}
+		for (int i = 0; i < 6; i++) {
+			HEX_VALUES['A' + i] = (byte) (10 + i);
+			HEX_VALUES['a' + i] = (byte) (10 + i);
+		}
+		Arrays.fill(BASE64_VALUES, INVALID);
+		String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+		for (int i = 0; i < alphabet.length(); i++) {
+			BASE64_VALUES[alphabet.charAt(i)] = (byte) i;
+		}
+	}
+
+	/**
+	 * Determine the number of bytes that hexadecimal text decodes to.
+	 *
+	 * @param text hexadecimal text
+	 * @return the decoded size
+	 */
+	public static int base16Size(CharSequence text) {
+		return text.length() / 2;
+	}
+
+	/**
+	 * Decode hexadecimal text (case-insensitive).
+	 *
+	 * @param text hexadecimal text
+	 * @return the decoded bytes
+	 * @throws IllegalArgumentException if the text is not valid hexadecimal text
+	 */
+	public static byte[] decodeBase16(CharSequence text) {
+		int length = text.length();
+		if (length % 2 != 0) {
+			throw new IllegalArgumentException("Hexadecimal text must have an even number of characters, but has %d".formatted(length));
+		}
+		byte[] result = new byte[length / 2];
+		for (int i = 0; i < result.length; i++) {
+			int high = hexValue(text, 2 * i);
+			int low = hexValue(text, 2 * i + 1);
+			result[i] = (byte) (high << 4 | low);
+		}
+		return result;
+	}
+
+	private static int hexValue(CharSequence text, int index) {
+		char c = text.charAt(index);
+		byte value = c < HEX_VALUES.length ? HEX_VALUES[c] : INVALID;
+		if (value == INVALID) {
+			throw new IllegalArgumentException("Illegal hexadecimal character '%c' at index %d".formatted(c, index));
+		}
+		return value;
+	}
+
+	/**
+	 * Determine the number of bytes that base64 text decodes to. Assumes the text is valid.
+	 *
+	 * @param text base64 text, with or without padding
+	 * @return the decoded size
+	 */
+	public static int base64Size(CharSequence text) {
+		int length = text.length();
+		while (length > 0 && text.charAt(length - 1) == '=') {
+			length--;
+		}
+		return length * 3 / 4;
+	}
+
+	/**
+	 * Decode base64 text, as the {@link Base64#getDecoder() basic decoder} does.
+	 *
+	 * @param text base64 text
+	 * @return the decoded bytes
+	 * @throws IllegalArgumentException if the text is not valid base64 text
+	 */
+	public static byte[] decodeBase64(String text) {
+		int length = text.length();
+		int size = base64Size(text);
+		if (length % 4 != 0 || length / 4 * 3 - size > 2) {
+			// Unusual (unpadded or invalid) input: let the JDK handle it (and report any errors)
+			return Base64.getDecoder().decode(text);
+		}
+		byte[] result = new byte[size];
+		int out = 0;
+		int bits = 0;
+		int bitCount = 0;
+		for (int i = 0; i < length && out < result.length; i++) {
+			char c = text.charAt(i);
+			byte value = c < BASE64_VALUES.length ? BASE64_VALUES[c] : INVALID;
+			if (value == INVALID) {
+				return Base64.getDecoder().decode(text);
+			}
+			bits = bits << 6 | value;
+			bitCount += 6;
+			if (bitCount >= 8) {
+				bitCount -= 8;
+				result[out++] = (byte) (bits >> bitCount);
+			}
+		}
+		return result;
+	}
+
+	private BinaryDecoding() {
+		// Utility class: no need to instantiate.
+	}
+}
@@ -22,6 +22,8 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.UnaryOperator;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -46,6 +48,9 @@ import java.util.regex.Pattern;
  * <a href="https://www.unicode.org/reports/tr44/#General_Category_Values">unicode categories</a> letter (L), number (N), space separator (Zs), connector
  * punctuation (Pc) or dash punctuation (Pd). This also removes accents. Words are then determined by splitting along spacing and punctuation.</p>
  *
+ * <p>As schemas often repeat the same names, each naming convention remembers (a bounded number of) the conversions it made. Also, names that consist of
+ * ASCII characters only are converted without normalization or regular expressions.</p>
+ *
  * <h2>Defined conventions</h2>
  *
  * <p>There are a number of capitalisation conventions predefined, combining various delimiters and combinations of upper and lower case, as listed below:</p>
@@ -119,9 +124,15 @@ public class NamingConvention {
 		}
 	};
 
+	/**
+	 * The maximum number of conversions to remember per naming convention. When exceeded, the remembered conversions are discarded.
+	 */
+	private static final int MAXIMUM_CACHE_SIZE = 10_000;
+
 	private final String delimiter;
 	private final WordCase firstWord;
 	private final WordCase otherWords;
+	private final Map<String, String> convertedNames;
 
 	/**
 	 * Create a naming convention for multiple-word identifiers. Combining an empty delimiter with {@link WordCase#LOWER_CASE} or
@@ -135,6 +146,7 @@ public class NamingConvention {
 		this.delimiter = delimiter;
 		this.firstWord = firstWord;
 		this.otherWords = otherWords;
+		convertedNames = new ConcurrentHashMap<>();
 	}
 
 	/**
@@ -144,17 +156,37 @@ public class NamingConvention {
 	 * @return the name in this name case
 	 */
 	public String convert(String name) {
+		String convertedName = convertedNames.get(name);
+		if (convertedName == null) {
+			convertedName = convert(name, isAscii(name));
+			if (convertedNames.size() >= MAXIMUM_CACHE_SIZE) {
+				convertedNames.clear();
+			}
+			convertedNames.put(name, convertedName);
+		}
+		return convertedName;
+	}
+
+	/**
+	 * Convert a text/name to a name in this name case, without remembering the result.
+	 *
+	 * @param name            the name to convert
+	 * @param useAsciiMethods if {@code true}, the name must consist of ASCII characters only; it is then converted without normalization and regular
+	 *                        expressions
+	 * @return the name in this name case
+	 */
+	String convert(String name, boolean useAsciiMethods) {
 		// First remove accents, extra punctuation, etc. Keep only letters, numbers, and dash & combining punctuation.
-		String cleanName = NAME_CHARACTER_FILTER.matcher(Normalizer.normalize(name, Normalizer.Form.NFD)).replaceAll("");
-		// if (cleanName.isEmpty() )
+		String cleanName = useAsciiMethods ? removeInvalidAsciiCharacters(name) :
+				NAME_CHARACTER_FILTER.matcher(Normalizer.normalize(name, Normalizer.Form.NFD)).replaceAll("");
 
 		// Then split by boundary characters, and determine the first non-empty word
-		List<String> words = splitToWords(DELIMITER_BOUNDARY, cleanName);
+		List<String> words = useAsciiMethods ? splitAsciiToWords(cleanName) : splitToWords(DELIMITER_BOUNDARY, cleanName);
 		if (words.isEmpty()) {
 			throw new IllegalArgumentException("The name contains no letters or numbers");
 		} else if (words.size() == 1) {
 			// The name contains no boundary characters: maybe it is camel case.
-			words = splitToWords(CAMEL_BOUNDARY, cleanName);
+			words = useAsciiMethods ? splitAsciiCamelCase(cleanName) : splitToWords(CAMEL_BOUNDARY, cleanName);
 		}
 
 		StringBuilder buffer = new StringBuilder((int) (name.length() * 1.2f));
@@ -197,6 +229,76 @@ public class NamingConvention {
 		return words;
 	}
 
+	static boolean isAscii(String text) {
+		for (int i = 0; i < text.length(); i++) {
+			if (text.charAt(i) > 0x7F) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * ASCII equivalent of {@link #NAME_CHARACTER_FILTER}: keep letters, digits, spaces, hyphens and underscores.
+	 */
+	private static String removeInvalidAsciiCharacters(String text) {
+		StringBuilder buffer = null;
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			boolean valid = isAsciiLetterOrDigit(c) || isAsciiDelimiter(c);
+			if (!valid && buffer == null) {
+				buffer = new StringBuilder(text.length()).append(text, 0, i);
+			} else if (valid && buffer != null) {
+				buffer.append(c);
+			}
+		}
+		return buffer == null ? text : buffer.toString();
+	}
+
+	private static boolean isAsciiLetterOrDigit(char c) {
+		return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9';
+	}
+
+	private static boolean isAsciiDelimiter(char c) {
+		return c == ' ' || c == '-' || c == '_';
+	}
+
+	/**
+	 * ASCII equivalent of splitting with {@link #DELIMITER_BOUNDARY}.
+	 */
+	private static List<String> splitAsciiToWords(String text) {
+		List<String> words = new ArrayList<>();
+		int start = 0;
+		for (int i = 0; i <= text.length(); i++) {
+			if (i == text.length() || isAsciiDelimiter(text.charAt(i))) {
+				if (start < i) {
+					// Only add non-empty words
+					words.add(text.substring(start, i));
+				}
+				start = i + 1;
+			}
+		}
+		return words;
+	}
+
+	/**
+	 * ASCII equivalent of splitting with {@link #CAMEL_BOUNDARY}.
+	 */
+	private static List<String> splitAsciiCamelCase(String text) {
+		List<String> words = new ArrayList<>();
+		int start = 0;
+		for (int i = 1; i < text.length(); i++) {
+			char previous = text.charAt(i - 1);
+			char current = text.charAt(i);
+			if (previous >= 'a' && previous <= 'z' && current >= 'A' && current <= 'Z') {
+				words.add(text.substring(start, i));
+				start = i;
+			}
+		}
+		words.add(text.substring(start));
+		return words;
+	}
+
 	/**
 	 * Operator to apply "proper" to a name part.
 	 */
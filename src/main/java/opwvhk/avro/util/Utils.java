@@ -1,5 +1,7 @@
 package opwvhk.avro.util;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.HashMap;
@@ -17,6 +19,8 @@ import static java.util.Objects.requireNonNull;
  * Container class with various utilities that didn't fit elsewhere.
  */
 public final class Utils {
+	private static final int MAX_LONG_DIGITS = 18;
+
 	/**
 	 * Create a message digest. Assumes that the given algorithm is known, and throws an {@link IllegalArgumentException} if it doesn't exist.
 	 *
@@ -64,6 +68,54 @@ public final class Utils {
 		}
 	}
 
+	/**
+	 * <p>Parse a decimal number with the given scale, as {@code new BigDecimal(text).setScale(scale, RoundingMode.UNNECESSARY)} does.</p>
+	 *
+	 * <p>Plain numbers (an optional sign, digits, and an optional decimal point with fraction) with at most 18 digits after scaling are parsed directly into
+	 * an unscaled {@code long}, which avoids the intermediate objects that {@code BigDecimal} needs for arbitrary precision. Other input, like exponents,
+	 * long numbers or fractions longer than the scale, is parsed the regular way.</p>
+	 *
+	 * @param text  the text to parse
+	 * @param scale the scale of the result
+	 * @return the parsed number
+	 * @throws NumberFormatException if the text is not a number
+	 * @throws ArithmeticException   if the number has more fractional digits than the scale allows
+	 */
+	public static BigDecimal parseDecimal(String text, int scale) {
+		int length = text.length();
+		int index = 0;
+		boolean negative = false;
+		if (length > 0 && (text.charAt(0) == '-' || text.charAt(0) == '+')) {
+			negative = text.charAt(0) == '-';
+			index++;
+		}
+		long unscaled = 0;
+		int digits = 0;
+		int fractionDigits = -1;
+		for (; index < length; index++) {
+			char c = text.charAt(index);
+			if (c >= '0' && c <= '9') {
+				unscaled = unscaled * 10 + (c - '0');
+				digits++;
+				if (fractionDigits >= 0) {
+					fractionDigits++;
+				}
+			} else if (c == '.' && fractionDigits < 0) {
+				fractionDigits = 0;
+			} else {
+				break;
+			}
+		}
+		fractionDigits = Math.max(fractionDigits, 0);
+		if (index == length && digits > 0 && fractionDigits <= scale && digits + scale - fractionDigits <= MAX_LONG_DIGITS) {
+			for (int i = fractionDigits; i < scale; i++) {
+				unscaled *= 10;
+			}
+			return BigDecimal.valueOf(negative ? -unscaled : unscaled, scale);
+		}
+		return new BigDecimal(text).setScale(scale, RoundingMode.UNNECESSARY);
+	}
+
 	/**
 	 * <p>An implementation for {@link Object#equals(Object)} that guards against infinite recursion.</p>
 	 *
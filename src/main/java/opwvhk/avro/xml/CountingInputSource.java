@@ -0,0 +1,110 @@
+package opwvhk.avro.xml;
+
+import org.xml.sax.InputSource;
+
+import java.io.FilterInputStream;
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+
+/**
+ * <p>An input source that counts the bytes (or characters) read from the stream of another input source.</p>
+ *
+ * <p>SAX parsers do not report how much input they have read. This input source wraps the character or byte stream of the original input source instead.
+ * If the original input source has neither (i.e., the parser opens its system ID itself), the input size is unknown.</p>
+ */
+final class CountingInputSource extends InputSource {
+	private long count;
+
+	/**
+	 * Create an input source that counts what is read from another input source.
+	 *
+	 * @param source the input source to count the input of
+	 */
+	CountingInputSource(InputSource source) {
+		super(source.getSystemId());
+		setPublicId(source.getPublicId());
+		setEncoding(source.getEncoding());
+		Reader characterStream = source.getCharacterStream();
+		InputStream byteStream = source.getByteStream();
+		if (characterStream != null) {
+			setCharacterStream(new CountingReader(characterStream));
+		} else if (byteStream != null) {
+			setByteStream(new CountingInputStream(byteStream));
+		} else {
+			count = -1;
+		}
+	}
+
+	/**
+	 * Return the number of bytes (or characters, if the input source has a character stream) read.
+	 *
+	 * @return the input size read so far, or {@code -1} if unknown
+	 */
+	long inputSize() {
+		return count;
+	}
+
+	private final class CountingInputStream extends FilterInputStream {
+		private CountingInputStream(InputStream in) {
+			super(in);
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b = super.read();
+			if (b != -1) {
+				count++;
+			}
+			return b;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int read = super.read(b, off, len);
+			if (read > 0) {
+				count += read;
+			}
+			return read;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			long skipped = super.skip(n);
+			count += skipped;
+			return skipped;
+		}
+	}
+
+	private final class CountingReader extends FilterReader {
+		private CountingReader(Reader in) {
+			super(in);
+		}
+
+		@Override
+		public int read() throws IOException {
+			int c = super.read();
+			if (c != -1) {
+				count++;
+			}
+			return c;
+		}
+
+		@Override
+		public int read(char[] cbuf, int off, int len) throws IOException {
+			int read = super.read(cbuf, off, len);
+			if (read > 0) {
+				count += read;
+			}
+			return read;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			long skipped = super.skip(n);
+			count += skipped;
+			return skipped;
+		}
+	}
+}
@@ -3,6 +3,8 @@ package opwvhk.avro.xml;
 import opwvhk.avro.ResolvingFailure;
 import opwvhk.avro.io.AsAvroParserBase;
 import opwvhk.avro.io.ListResolver;
+import opwvhk.avro.io.ParseEvent;
+import opwvhk.avro.io.ParseListener;
 import opwvhk.avro.io.RecordResolver;
 import opwvhk.avro.io.ScalarValueResolver;
 import opwvhk.avro.io.ValueResolver;
@@ -22,10 +24,12 @@ import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Predicate;
 import javax.xml.parsers.ParserConfigurationException;
@@ -126,10 +130,31 @@ public class XmlAsAvroParser extends AsAvroParserBase<Type> {
 		this(model, null, null, false, readSchema, Set.of(), null);
 	}
 
+	/**
+	 * <p>Create an XML parser from a parser plan, reading data into records created by the model for the read schema of the plan.</p>
+	 *
+	 * <p>This skips the analysis of the XSD, which makes creating the parser a lot faster. The XSD is only read if the parser should validate XML while
+	 * parsing.</p>
+	 *
+	 * @param plan     the parser plan (the result of analysing an XSD for a read schema)
+	 * @param validate whether the XML parser should validate XML while parsing
+	 * @param model    the model to create records
+	 * @throws IOException when the XSD cannot be read
+	 * @see XmlParserPlan
+	 */
+	public XmlAsAvroParser(XmlParserPlan plan, boolean validate, GenericData model) throws IOException {
+		this(model, plan.writeType(), validate ? new URL(plan.xsdLocation()) : null, plan.readSchema(), plan.fieldsAllowedMissing(), null);
+	}
+
 	XmlAsAvroParser(GenericData model, URL xsdLocation, String rootElement, boolean validate, Schema readSchema, Set<Schema.Field> fieldsAllowedMissing,
 	                ValueResolver resolver) throws IOException {
-		super(model, determineWriteType(xsdLocation, rootElement), readSchema, fieldsAllowedMissing);
-		parser = createParser(validate ? xsdLocation : null);
+		this(model, determineWriteType(xsdLocation, rootElement), validate ? xsdLocation : null, readSchema, fieldsAllowedMissing, resolver);
+	}
+
+	private XmlAsAvroParser(GenericData model, Type writeType, URL validationXsdLocation, Schema readSchema, Set<Schema.Field> fieldsAllowedMissing,
+	                        ValueResolver resolver) throws IOException {
+		super(model, writeType, readSchema, fieldsAllowedMissing);
+		parser = createParser(validationXsdLocation);
 		this.resolver = resolver;
 	}
 
@@ -141,6 +166,12 @@ public class XmlAsAvroParser extends AsAvroParserBase<Type> {
 		return xsdAnalyzer.typeOf(rootElement);
 	}
 
+	@Override
+	protected Object writeSchemaFingerprint(Type writeType) {
+		// Types are compared structurally.
+		return Optional.ofNullable(writeType);
+	}
+
 	@Override
 	protected ValueResolver getResolver() {
 		return resolver != null ? resolver : super.getResolver();
@@ -159,10 +190,10 @@ public class XmlAsAvroParser extends AsAvroParserBase<Type> {
 		resolveRules.add(new ResolveRule<>(DecimalType.class::isInstance, rawType(Schema.Type.FLOAT), (w, r) -> FLOAT_RESOLVER));
 		resolveRules.add(new ResolveRule<>(FLOATING_POINT_TYPES::contains, rawType(Schema.Type.DOUBLE), (w, r) -> DOUBLE_RESOLVER));
 		resolveRules.add(new ResolveRule<>(DecimalType.class::isInstance, rawType(Schema.Type.DOUBLE), (w, r) -> DOUBLE_RESOLVER));
-		resolveRules.add(new ResolveRule<>(t -> t == FixedType.STRING, rawType(Schema.Type.STRING), (w, r) -> STRING_RESOLVER));
+		resolveRules.add(new ResolveRule<>(t -> t == FixedType.STRING, rawType(Schema.Type.STRING), (w, r) -> createStringResolver(r)));
 		// Enums (also as string)
 		resolveRules.add(new ResolveRule<>(XmlAsAvroParser::isValidEnum, (w, r) -> createEnumResolver(r)));
-		resolveRules.add(new ResolveRule<>(EnumType.class::isInstance, rawType(Schema.Type.STRING), (w, r) -> STRING_RESOLVER));
+		resolveRules.add(new ResolveRule<>(EnumType.class::isInstance, rawType(Schema.Type.STRING), (w, r) -> createStringResolver(r)));
 		// Fixed-point number types
 		resolveRules.add(new ResolveRule<>(decimal(32), rawType(Schema.Type.INT), (w, r) -> INTEGER_RESOLVER));
 		resolveRules.add(new ResolveRule<>(decimal(64), rawType(Schema.Type.LONG), (w, r) -> LONG_RESOLVER));
@@ -201,7 +232,7 @@ public class XmlAsAvroParser extends AsAvroParserBase<Type> {
 		Map<String, Schema.Field> readFieldsByName = collectFieldsByNameAndAliases(readSchema);
 		Set<Schema.Field> unhandledButRequiredFields = determineRequiredFields(readSchema);
 
-		RecordResolver resolver = new RecordResolver(model, readSchema);
+		RecordResolver resolver = newRecordResolver(readSchema);
 		for (StructType.Field writeField : writeType.fields()) {
 			Schema.Field readField = readFieldsByName.get(writeField.name());
 			if (readField == null) {
@@ -239,7 +270,7 @@ public class XmlAsAvroParser extends AsAvroParserBase<Type> {
 					// Special case: handle wrapped arrays in XML. The recursive call enforces that the wrapped field must be an array.
 					writeField = writeStructType.fields().get(0);
 					ValueResolver nestedResolver = createResolver(writeField.type(), elementSchema);
-					return new ListResolver(nestedResolver);
+					return new ListResolver(nestedResolver, model, AvroSchemaUtils.nonNullableSchemaOf(readField.schema()));
 				}
 				return createResolver(writeField.type(), elementSchema);
 			}
@@ -278,7 +309,10 @@ public class XmlAsAvroParser extends AsAvroParserBase<Type> {
 	}
 
 	/**
-	 * Parse the given source into records.
+	 * <p>Parse the given source into records.</p>
+	 *
+	 * <p>The input size reported to the {@link #setParseListener(ParseListener) parse listener} and in parse events is only known if the source has a byte
+	 * or character stream.</p>
 	 *
 	 * @param source a source of XML data
 	 * @param <T>    the record type
@@ -287,9 +321,24 @@ public class XmlAsAvroParser extends AsAvroParserBase<Type> {
 	 * @throws SAXException when the XML cannot be parsed
 	 */
 	public <T> T parse(InputSource source) throws IOException, SAXException {
-		XmlRecordHandler handler = new XmlRecordHandler(getResolver());
-		parser.parse(source, new SimpleContentAdapter(handler));
-		return handler.getValue();
+		ParseListener listener = getParseListener();
+		long start = listener == ParseListener.NONE ? 0 : System.nanoTime();
+		ParseEvent event = startParseEvent();
+		// The SAX parser does not report how much input it has read, so count it (but only if needed).
+		CountingInputSource countingSource = listener != ParseListener.NONE || event.isEnabled() ? new CountingInputSource(source) : null;
+		try {
+			XmlRecordHandler handler = new XmlRecordHandler(getResolver(), listener);
+			parser.parse(countingSource == null ? source : countingSource, new SimpleContentAdapter(handler));
+			long inputSize = countingSource == null ? -1 : countingSource.inputSize();
+			event.finish(inputSize, null);
+			if (listener != ParseListener.NONE) {
+				listener.recordParsed(inputSize, System.nanoTime() - start);
+			}
+			return handler.getValue();
+		} catch (IOException | SAXException | RuntimeException | Error e) {
+			event.finish(countingSource == null ? -1 : countingSource.inputSize(), e);
+			throw e;
+		}
 	}
 
 	/**
@@ -302,8 +351,10 @@ public class XmlAsAvroParser extends AsAvroParserBase<Type> {
 	 * @throws SAXException when the XML cannot be parsed
 	 */
 	public <T> T parse(URL url) throws IOException, SAXException {
-		InputSource inputSource = new InputSource();
-		inputSource.setSystemId(url.toExternalForm());
-		return parse(inputSource);
+		try (InputStream inputStream = url.openStream()) {
+			InputSource inputSource = new InputSource(inputStream);
+			inputSource.setSystemId(url.toExternalForm());
+			return parse(inputSource);
+		}
 	}
 }
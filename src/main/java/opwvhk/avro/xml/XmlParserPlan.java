@@ -0,0 +1,459 @@
+package opwvhk.avro.xml;
+
+import opwvhk.avro.xml.datamodel.Cardinality;
+import opwvhk.avro.xml.datamodel.DecimalType;
+import opwvhk.avro.xml.datamodel.EnumType;
+import opwvhk.avro.xml.datamodel.FixedType;
+import opwvhk.avro.xml.datamodel.StructType;
+import opwvhk.avro.xml.datamodel.Type;
+import opwvhk.avro.xml.datamodel.TypeWithUnparsedContent;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * <p>A parser plan: the result of analyzing an XSD for a root element, together with the read schema to parse into.</p>
+ *
+ * <p>Analyzing an XSD is the most expensive part of creating an {@link XmlAsAvroParser}. A plan can be created once (for example when building an
+ * application), written to a file, and read when starting the application. Parsers created from a plan skip the XSD analysis. The XSD is only read
+ * again if the parser validates its input. For example:</p>
+ *
+ * <pre>{@code
+ * // At build time
+ * XmlParserPlan.create(xsdLocation, "order", readSchema).writeTo(Path.of("order.plan"));
+ * // At runtime
+ * XmlAsAvroParser parser = new XmlAsAvroParser(XmlParserPlan.readFrom(Path.of("order.plan")), false, GenericData.get());
+ * }</pre>
+ *
+ * <p>The file format is compact and binary. It is versioned: reading a plan written by an incompatible version of this library fails.</p>
+ */
+public final class XmlParserPlan {
+	private static final int MAGIC = 0x41585050; // "AXPP"
+	private static final int FORMAT_VERSION = 2;
+
+	private static final byte NULL = 0;
+	private static final byte FIXED_TYPE = 1;
+	private static final byte DECIMAL_TYPE = 2;
+	private static final byte ENUM_TYPE = 3;
+	private static final byte STRUCT_TYPE = 4;
+	private static final byte STRUCT_REFERENCE = 5;
+	private static final byte UNPARSED_CONTENT = 6;
+
+	private static final byte NULL_VALUE = 1;
+	private static final byte EMPTY_LIST = 2;
+	private static final byte STRING_VALUE = 3;
+	private static final byte BOOLEAN_VALUE = 4;
+	private static final byte INT_VALUE = 5;
+	private static final byte LONG_VALUE = 6;
+	private static final byte FLOAT_VALUE = 7;
+	private static final byte DOUBLE_VALUE = 8;
+	private static final byte DECIMAL_VALUE = 9;
+	private static final byte BYTES_VALUE = 10;
+
+	private final String xsdLocation;
+	private final String rootElement;
+	private final Type writeType;
+	private final Schema readSchema;
+	private final Set<Schema.Field> fieldsAllowedMissing;
+
+	XmlParserPlan(String xsdLocation, String rootElement, Type writeType, Schema readSchema, Set<Schema.Field> fieldsAllowedMissing) {
+		this.xsdLocation = xsdLocation;
+		this.rootElement = requireNonNull(rootElement);
+		this.writeType = requireNonNull(writeType);
+		this.readSchema = requireNonNull(readSchema);
+		this.fieldsAllowedMissing = Set.copyOf(fieldsAllowedMissing);
+	}
+
+	/**
+	 * Create a parser plan by analyzing an XSD. This also verifies that the XSD and read schema are compatible.
+	 *
+	 * @param xsdLocation the XSD defining the data to read
+	 * @param rootElement the root element that will be read
+	 * @param readSchema  the schema of the resulting records
+	 * @return the parser plan
+	 * @throws IOException when the XSD cannot be read
+	 */
+	public static XmlParserPlan create(URL xsdLocation, String rootElement, Schema readSchema) throws IOException {
+		return create(xsdLocation, rootElement, readSchema, Set.of());
+	}
+
+	/**
+	 * Create a parser plan by analyzing an XSD. This also verifies that the XSD and read schema are compatible.
+	 *
+	 * @param xsdLocation          the XSD defining the data to read
+	 * @param rootElement          the root element that will be read
+	 * @param readSchema           the schema of the resulting records
+	 * @param fieldsAllowedMissing fields in the read schema that are allowed to be missing, even when this yields invalid records
+	 * @return the parser plan
+	 * @throws IOException when the XSD cannot be read
+	 */
+	public static XmlParserPlan create(URL xsdLocation, String rootElement, Schema readSchema, Set<Schema.Field> fieldsAllowedMissing) throws IOException {
+		Type writeType = new XsdAnalyzer(xsdLocation).typeOf(rootElement);
+		XmlParserPlan plan = new XmlParserPlan(xsdLocation.toExternalForm(), rootElement, writeType, readSchema, fieldsAllowedMissing);
+		// Fail early if the schemas are incompatible.
+		new XmlAsAvroParser(plan, false, GenericData.get());
+		return plan;
+	}
+
+	/**
+	 * Return the location of the XSD the plan was created from.
+	 *
+	 * @return the XSD location
+	 */
+	public String xsdLocation() {
+		return xsdLocation;
+	}
+
+	/**
+	 * Return the root element of the XML documents to parse.
+	 *
+	 * @return the root element name
+	 */
+	public String rootElement() {
+		return rootElement;
+	}
+
+	/**
+	 * Return the schema of the records to parse into.
+	 *
+	 * @return the read schema
+	 */
+	public Schema readSchema() {
+		return readSchema;
+	}
+
+	/**
+	 * Return the fields in the read schema that are allowed to be missing.
+	 *
+	 * @return the fields that are allowed to be missing, even when this yields invalid records
+	 */
+	public Set<Schema.Field> fieldsAllowedMissing() {
+		return fieldsAllowedMissing;
+	}
+
+	Type writeType() {
+		return writeType;
+	}
+
+	/**
+	 * Write the plan to a file.
+	 *
+	 * @param file the file to write
+	 * @throws IOException when the file cannot be written
+	 */
+	public void writeTo(Path file) throws IOException {
+		try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(file))) {
+			writeTo(output);
+		}
+	}
+
+	/**
+	 * Write the plan to a stream. The stream is not closed.
+	 *
+	 * @param output the stream to write to
+	 * @throws IOException when the stream cannot be written to
+	 */
+	public void writeTo(OutputStream output) throws IOException {
+		DataOutputStream data = new DataOutputStream(new BufferedOutputStream(output));
+		data.writeInt(MAGIC);
+		data.writeInt(FORMAT_VERSION);
+		writeString(data, xsdLocation);
+		writeString(data, rootElement);
+		writeString(data, readSchema.toString());
+		writeFieldsAllowedMissing(data);
+		writeType(data, writeType, new IdentityHashMap<>());
+		data.flush();
+	}
+
+	/**
+	 * Read a plan from a file.
+	 *
+	 * @param file the file to read
+	 * @return the parser plan
+	 * @throws IOException when the file cannot be read, or is not a (compatible) parser plan
+	 */
+	public static XmlParserPlan readFrom(Path file) throws IOException {
+		try (InputStream input = new BufferedInputStream(Files.newInputStream(file))) {
+			return readFrom(input);
+		}
+	}
+
+	/**
+	 * Read a plan from a stream. The stream is not closed, nor read beyond the end of the plan (so wrap it in a buffered stream if needed).
+	 *
+	 * @param input the stream to read from
+	 * @return the parser plan
+	 * @throws IOException when the stream cannot be read, or does not contain a (compatible) parser plan
+	 */
+	public static XmlParserPlan readFrom(InputStream input) throws IOException {
+		DataInputStream data = new DataInputStream(input);
+		if (data.readInt() != MAGIC) {
+			throw new IOException("Not a parser plan");
+		}
+		int version = data.readInt();
+		if (version != FORMAT_VERSION) {
+			throw new IOException("Unsupported parser plan version: %d (expected %d)".formatted(version, FORMAT_VERSION));
+		}
+		String xsdLocation = readString(data);
+		String rootElement = readString(data);
+		Schema readSchema = new Schema.Parser().parse(readString(data));
+		Set<Schema.Field> fieldsAllowedMissing = readFieldsAllowedMissing(data, readSchema);
+		Type writeType = readType(data, new ArrayList<>());
+		return new XmlParserPlan(xsdLocation, rootElement, writeType, readSchema, fieldsAllowedMissing);
+	}
+
+	private void writeFieldsAllowedMissing(DataOutputStream data) throws IOException {
+		// Fields are written by record and field name, as the read schema is written as text.
+		List<String> recordAndFieldNames = new ArrayList<>();
+		for (Schema record : recordsByName(readSchema).values()) {
+			for (Schema.Field field : record.getFields()) {
+				if (fieldsAllowedMissing.contains(field)) {
+					recordAndFieldNames.add(record.getFullName());
+					recordAndFieldNames.add(field.name());
+				}
+			}
+		}
+		data.writeInt(recordAndFieldNames.size() / 2);
+		for (String name : recordAndFieldNames) {
+			writeString(data, name);
+		}
+	}
+
+	private static Set<Schema.Field> readFieldsAllowedMissing(DataInputStream data, Schema readSchema) throws IOException {
+		Map<String, Schema> recordsByName = recordsByName(readSchema);
+		int fieldCount = data.readInt();
+		Set<Schema.Field> fieldsAllowedMissing = new HashSet<>();
+		for (int i = 0; i < fieldCount; i++) {
+			String recordName = readString(data);
+			String fieldName = readString(data);
+			Schema record = recordsByName.get(recordName);
+			Schema.Field field = record == null ? null : record.getField(fieldName);
+			if (field == null) {
+				throw new IOException("Corrupt parser plan: unknown field %s.%s".formatted(recordName, fieldName));
+			}
+			fieldsAllowedMissing.add(field);
+		}
+		return fieldsAllowedMissing;
+	}
+
+	private static Map<String, Schema> recordsByName(Schema schema) {
+		Map<String, Schema> recordsByName = new LinkedHashMap<>();
+		addRecords(schema, recordsByName);
+		return recordsByName;
+	}
+
+	private static void addRecords(Schema schema, Map<String, Schema> recordsByName) {
+		switch (schema.getType()) {
+			case RECORD -> {
+				if (recordsByName.putIfAbsent(schema.getFullName(), schema) == null) {
+					schema.getFields().forEach(field -> addRecords(field.schema(), recordsByName));
+				}
+			}
+			case ARRAY -> addRecords(schema.getElementType(), recordsByName);
+			case MAP -> addRecords(schema.getValueType(), recordsByName);
+			case UNION -> schema.getTypes().forEach(type -> addRecords(type, recordsByName));
+			default -> {
+				// Other types have no fields.
+			}
+		}
+	}
+
+	private static void writeType(DataOutputStream data, Type type, Map<StructType, Integer> structIds) throws IOException {
+		if (type instanceof FixedType fixedType) {
+			data.writeByte(FIXED_TYPE);
+			data.writeUTF(fixedType.name());
+		} else if (type instanceof DecimalType decimalType) {
+			data.writeByte(DECIMAL_TYPE);
+			data.writeInt(decimalType.bitSize());
+			data.writeInt(decimalType.precision());
+			data.writeInt(decimalType.scale());
+		} else if (type instanceof EnumType enumType) {
+			data.writeByte(ENUM_TYPE);
+			writeString(data, enumType.name());
+			writeString(data, enumType.documentation());
+			data.writeInt(enumType.enumSymbols().size());
+			for (String symbol : enumType.enumSymbols()) {
+				writeString(data, symbol);
+			}
+			writeString(data, enumType.defaultSymbol());
+		} else if (type instanceof TypeWithUnparsedContent unparsedContent) {
+			data.writeByte(UNPARSED_CONTENT);
+			writeType(data, unparsedContent.actualType(), structIds);
+		} else if (type instanceof StructType structType) {
+			Integer id = structIds.get(structType);
+			if (id != null) {
+				// Recursive types: refer to the struct written earlier.
+				data.writeByte(STRUCT_REFERENCE);
+				data.writeInt(id);
+				return;
+			}
+			structIds.put(structType, structIds.size());
+			data.writeByte(STRUCT_TYPE);
+			writeString(data, structType.name());
+			writeString(data, structType.documentation());
+			data.writeInt(structType.fields().size());
+			for (StructType.Field field : structType.fields()) {
+				writeString(data, field.name());
+				writeString(data, field.documentation());
+				data.writeUTF(field.cardinality().name());
+				writeType(data, field.type(), structIds);
+				writeValue(data, field.defaultValue());
+			}
+		} else {
+			throw new IllegalArgumentException("Unsupported type: " + type);
+		}
+	}
+
+	private static Type readType(DataInputStream data, List<StructType> structs) throws IOException {
+		byte tag = data.readByte();
+		return switch (tag) {
+			case FIXED_TYPE -> FixedType.valueOf(data.readUTF());
+			case DECIMAL_TYPE -> new DecimalType(data.readInt(), data.readInt(), data.readInt());
+			case ENUM_TYPE -> {
+				String name = readString(data);
+				String documentation = readString(data);
+				int symbolCount = data.readInt();
+				List<String> symbols = new ArrayList<>(symbolCount);
+				for (int i = 0; i < symbolCount; i++) {
+					symbols.add(readString(data));
+				}
+				yield new EnumType(name, documentation, List.copyOf(symbols), readString(data));
+			}
+			case UNPARSED_CONTENT -> new TypeWithUnparsedContent(readType(data, structs));
+			case STRUCT_REFERENCE -> structs.get(data.readInt());
+			case STRUCT_TYPE -> {
+				StructType structType = new StructType(readString(data), readString(data));
+				structs.add(structType);
+				int fieldCount = data.readInt();
+				List<StructType.Field> fields = new ArrayList<>(fieldCount);
+				for (int i = 0; i < fieldCount; i++) {
+					String name = readString(data);
+					String documentation = readString(data);
+					Cardinality cardinality = Cardinality.valueOf(data.readUTF());
+					Type type = readType(data, structs);
+					fields.add(new StructType.Field(name, documentation, cardinality, type, readValue(data)));
+				}
+				structType.setFields(fields);
+				yield structType;
+			}
+			default -> throw new IOException("Corrupt parser plan: unknown type tag " + tag);
+		};
+	}
+
+	private static void writeValue(DataOutputStream data, Object value) throws IOException {
+		if (value == null) {
+			data.writeByte(NULL);
+		} else if (value == StructType.Field.NULL_VALUE) {
+			data.writeByte(NULL_VALUE);
+		} else if (value instanceof List<?> list && list.isEmpty()) {
+			data.writeByte(EMPTY_LIST);
+		} else if (value instanceof String string) {
+			data.writeByte(STRING_VALUE);
+			writeString(data, string);
+		} else if (value instanceof Boolean bool) {
+			data.writeByte(BOOLEAN_VALUE);
+			data.writeBoolean(bool);
+		} else if (value instanceof Integer integer) {
+			data.writeByte(INT_VALUE);
+			data.writeInt(integer);
+		} else if (value instanceof Long longValue) {
+			data.writeByte(LONG_VALUE);
+			data.writeLong(longValue);
+		} else if (value instanceof Float floatValue) {
+			data.writeByte(FLOAT_VALUE);
+			data.writeFloat(floatValue);
+		} else if (value instanceof Double doubleValue) {
+			data.writeByte(DOUBLE_VALUE);
+			data.writeDouble(doubleValue);
+		} else if (value instanceof BigDecimal decimal) {
+			data.writeByte(DECIMAL_VALUE);
+			data.writeInt(decimal.scale());
+			writeBytes(data, decimal.unscaledValue().toByteArray());
+		} else if (value instanceof ByteBuffer buffer) {
+			data.writeByte(BYTES_VALUE);
+			byte[] bytes = new byte[buffer.remaining()];
+			buffer.duplicate().get(bytes);
+			writeBytes(data, bytes);
+		} else {
+			throw new IllegalArgumentException("Unsupported default value: " + value);
+		}
+	}
+
+	private static Object readValue(DataInputStream data) throws IOException {
+		byte tag = data.readByte();
+		return switch (tag) {
+			case NULL -> null;
+			case NULL_VALUE -> StructType.Field.NULL_VALUE;
+			case EMPTY_LIST -> List.of();
+			case STRING_VALUE -> readString(data);
+			case BOOLEAN_VALUE -> data.readBoolean();
+			case INT_VALUE -> data.readInt();
+			case LONG_VALUE -> data.readLong();
+			case FLOAT_VALUE -> data.readFloat();
+			case DOUBLE_VALUE -> data.readDouble();
+			case DECIMAL_VALUE -> {
+				int scale = data.readInt();
+				yield new BigDecimal(new BigInteger(readBytes(data)), scale);
+			}
+			case BYTES_VALUE -> ByteBuffer.wrap(readBytes(data));
+			default -> throw new IOException("Corrupt parser plan: unknown value tag " + tag);
+		};
+	}
+
+	private static void writeString(DataOutputStream data, String text) throws IOException {
+		// DataOutput.writeUTF is limited to 64KiB, which is too small for large read schemas.
+		writeBytes(data, text == null ? null : text.getBytes(UTF_8));
+	}
+
+	private static String readString(DataInputStream data) throws IOException {
+		byte[] bytes = readBytes(data);
+		return bytes == null ? null : new String(bytes, UTF_8);
+	}
+
+	private static void writeBytes(DataOutputStream data, byte[] bytes) throws IOException {
+		if (bytes == null) {
+			data.writeInt(-1);
+		} else {
+			data.writeInt(bytes.length);
+			data.write(bytes);
+		}
+	}
+
+	private static byte[] readBytes(DataInputStream data) throws IOException {
+		int length = data.readInt();
+		if (length < 0) {
+			return null;
+		}
+		byte[] bytes = new byte[length];
+		data.readFully(bytes);
+		return bytes;
+	}
+
+	@Override
+	public String toString() {
+		return "XmlParserPlan(" + xsdLocation + ", " + rootElement + " → " + readSchema.getFullName() + ")";
+	}
+}
@@ -1,5 +1,6 @@
 package opwvhk.avro.xml;
 
+import opwvhk.avro.io.ParseListener;
 import opwvhk.avro.io.ValueResolver;
 import org.xml.sax.Attributes;
 
@@ -10,11 +11,17 @@ import static java.util.Objects.requireNonNullElse;
 
 class XmlRecordHandler implements SimpleContentHandler {
 	private final ValueResolver rootHandler;
+	private final ParseListener listener;
 	private final Deque<HandlerContext> contextStack;
 	private Object value;
 
 	XmlRecordHandler(ValueResolver rootHandler) {
+		this(rootHandler, ParseListener.NONE);
+	}
+
+	XmlRecordHandler(ValueResolver rootHandler, ParseListener listener) {
 		this.rootHandler = rootHandler;
+		this.listener = listener;
 		contextStack = new ArrayDeque<>();
 		value = null;
 	}
@@ -39,7 +46,7 @@ class XmlRecordHandler implements SimpleContentHandler {
 		HandlerContext parentContext = contextStack.peek();
 		HandlerContext context;
 		if (parentContext == null) {
-			context = new HandlerContext(rootHandler);
+			context = new HandlerContext(rootHandler, listener);
 		} else {
 			String element = requireNonNullElse(localName, qName);
 			context = parentContext.resolve(element);
@@ -77,11 +84,13 @@ class XmlRecordHandler implements SimpleContentHandler {
 
 	private static class HandlerContext {
 		private final ValueResolver resolver;
+		private final ParseListener listener;
 		private final StringBuilder buffer;
 		private Object collector;
 
-		private HandlerContext(ValueResolver resolver) {
+		private HandlerContext(ValueResolver resolver, ParseListener listener) {
 			this.resolver = resolver;
+			this.listener = listener;
 			buffer = new StringBuilder();
 			collector = resolver.createCollector();
 		}
@@ -91,14 +100,22 @@ class XmlRecordHandler implements SimpleContentHandler {
 		}
 
 		private HandlerContext resolve(String name) {
-			return new HandlerContext(resolver.resolve(name));
+			return new HandlerContext(resolveProperty(name), listener);
 		}
 
 		private Object resolveValue(String name, String value) {
-			ValueResolver childResolver = resolver.resolve(name);
+			ValueResolver childResolver = resolveProperty(name);
 			Object childCollector = childResolver.createCollector();
 			childCollector = childResolver.addContent(childCollector, value);
-			return childResolver.complete(childCollector);
+			Object childValue = childResolver.complete(childCollector, listener);
+			listener.valueCompleted(childResolver);
+			return childValue;
+		}
+
+		private ValueResolver resolveProperty(String name) {
+			ValueResolver childResolver = resolver.resolve(name);
+			listener.propertyResolved(resolver, name, childResolver);
+			return childResolver;
 		}
 
 		private void addProperty(String name, Object value) {
@@ -116,7 +133,8 @@ class XmlRecordHandler implements SimpleContentHandler {
 				collector = resolver.addContent(collector, content);
 			}
 
-			collector = resolver.complete(collector);
+			collector = resolver.complete(collector, listener);
+			listener.valueCompleted(resolver);
 			return collector;
 		}
 
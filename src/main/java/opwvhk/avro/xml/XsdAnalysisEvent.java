@@ -0,0 +1,24 @@
+package opwvhk.avro.xml;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event for determining the type structure of an XSD root element.
+ */
+@Name("opwvhk.avro.XsdAnalysis")
+@Label("XSD Analysis")
+@Description("Determining the type structure of a root element in an XML schema")
+@Category("Avro Conversions")
+@StackTrace(false)
+final class XsdAnalysisEvent extends Event {
+	@Label("Root Element")
+	String rootElement;
+	@Label("Outcome")
+	@Description("'success', or the class name of the exception that caused the analysis to fail")
+	String outcome;
+}
@@ -133,13 +133,24 @@ public class XsdAnalyzer {
 	 * @return a descriptor describing the XML schema for use as an Object
 	 */
 	Type typeOf(QName rootElement) {
-		TypeBuildingVisitor visitor = new TypeBuildingVisitor(new TypeStructureBuilder(), namespaces::get, Integer.MAX_VALUE);
-		walkSchema(rootElement, visitor);
-		Type result = visitor.result();
-		if (result == null) {
-			throw new IllegalArgumentException("No schema: was the element abstract?");
+		XsdAnalysisEvent event = new XsdAnalysisEvent();
+		event.begin();
+		event.rootElement = rootElement.toString();
+		try {
+			TypeBuildingVisitor visitor = new TypeBuildingVisitor(new TypeStructureBuilder(), namespaces::get, Integer.MAX_VALUE);
+			walkSchema(rootElement, visitor);
+			Type result = visitor.result();
+			if (result == null) {
+				throw new IllegalArgumentException("No schema: was the element abstract?");
+			}
+			event.outcome = "success";
+			return result;
+		} catch (RuntimeException | Error e) {
+			event.outcome = e.getClass().getName();
+			throw e;
+		} finally {
+			event.commit();
 		}
-		return result;
 	}
 
 	// For testing
@@ -1,10 +1,10 @@
 package opwvhk.avro.xml.datamodel;
 
+import opwvhk.avro.util.Utils;
 import org.apache.avro.LogicalTypes;
 import org.apache.avro.Schema;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 
 import static org.apache.avro.Schema.Type.BYTES;
 import static org.apache.avro.Schema.Type.INT;
@@ -74,7 +74,7 @@ public record DecimalType(int bitSize, int precision, int scale) implements Scal
 		} else if (bitSize < Long.SIZE) {
 			return Long.decode(text);
 		} else {
-			BigDecimal decimal = new BigDecimal(text).setScale(scale, RoundingMode.UNNECESSARY);
+			BigDecimal decimal = Utils.parseDecimal(text, scale);
 			if (decimal.precision() > precision) {
 				throw new ArithmeticException("Decimal value larger than supported precision");
 			}
@@ -1,11 +1,10 @@
 package opwvhk.avro.xml.datamodel;
 
+import opwvhk.avro.util.BinaryDecoding;
 import org.apache.avro.LogicalTypes;
 import org.apache.avro.Schema;
-import org.apache.commons.codec.binary.Base16;
 
 import java.nio.ByteBuffer;
-import java.util.Base64;
 import java.util.Locale;
 
 import static org.apache.avro.Schema.Type.BYTES;
@@ -104,12 +103,9 @@ public enum FixedType implements ScalarType {
 	 * Binary data, encoded as hexadecimal bytes.
 	 */
 	BINARY_HEX() {
-
-		private static final Base16 BASE_16 = new Base16();
-
 		@Override
 		public ByteBuffer parseNonNull(String text) {
-			return ByteBuffer.wrap(BASE_16.decode(text.toUpperCase(Locale.ROOT)));
+			return ByteBuffer.wrap(BinaryDecoding.decodeBase16(text));
 		}
 
 		@Override
@@ -125,7 +121,7 @@ public enum FixedType implements ScalarType {
 	BINARY_BASE64() {
 		@Override
 		public ByteBuffer parseNonNull(String text) {
-			return ByteBuffer.wrap(Base64.getDecoder().decode(text));
+			return ByteBuffer.wrap(BinaryDecoding.decodeBase64(text));
 		}
 
 		@Override
@@ -1,6 +1,5 @@
 package opwvhk.avro.xml.datamodel;
 
-import opwvhk.avro.util.Utils;
 import org.apache.avro.JsonProperties;
 import org.apache.avro.Schema;
 
@@ -9,6 +8,7 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -21,12 +21,17 @@ import static org.apache.avro.Schema.Field.NULL_DEFAULT_VALUE;
 import static org.apache.avro.Schema.Type.NULL;
 
 /**
- * A structural type with named fields.
+ * <p>A structural type with named fields.</p>
+ *
+ * <p>XSD analysis compares types often, and types can be recursive. To keep this cheap, a structural hash (over the name, documentation and fields) is
+ * calculated once when the fields are set. Types with different hashes are never equal, and equal hashes only require looking up each field by name.</p>
  */
 public final class StructType implements Type {
 	private final String name;
 	private final String documentation;
 	private List<Field> fields;
+	private Map<String, Field> fieldsByName;
+	private int structuralHash;
 
 	/**
 	 * Create a {@code StructType}.
@@ -40,6 +45,24 @@ public final class StructType implements Type {
 		fields = null;
 	}
 
+	/**
+	 * Return the name of the type.
+	 *
+	 * @return the (full) name of the type
+	 */
+	public String name() {
+		return name;
+	}
+
+	/**
+	 * Return the documentation of the type.
+	 *
+	 * @return the documentation describing the type, if any
+	 */
+	public String documentation() {
+		return documentation;
+	}
+
 	/**
 	 * Returns the fields defined for this type.
 	 *
@@ -86,6 +109,13 @@ public final class StructType implements Type {
 			field.setStructType(this);
 		}
 		this.fields = List.copyOf(fields);
+		this.fieldsByName = fieldsByName;
+		// The field hashes include the (shallow) hashes of their types, so this is safe for recursive types. Summing them ignores the field order.
+		int fieldHash = 0;
+		for (Field field : fields) {
+			fieldHash += field.hashCode();
+		}
+		structuralHash = 31 * hashCode() + fieldHash;
 	}
 
 	@Override
@@ -117,20 +147,26 @@ public final class StructType implements Type {
 			return false;
 		}
 		StructType that = (StructType) o;
+		if (!name.equals(that.name) || !Objects.equals(documentation, that.documentation)) {
+			return false;
+		}
 		// noinspection NonFinalFieldReferenceInEquals
-		return nonRecursive("StructEquality", this, that, true,
-				() -> name.equals(that.name) && Objects.equals(documentation, that.documentation) && containSame(fields, that.fields));
-	}
-
-	private <T> boolean containSame(List<T> list1, List<T> list2) {
-		int found = 0;
-		for (T t : list2) {
-			if (!list1.contains(t)) {
-				return false;
-			}
-			found++;
+		if (fields == null || that.fields == null) {
+			return fields == that.fields;
+		}
+		// noinspection NonFinalFieldReferenceInEquals
+		if (structuralHash != that.structuralHash || fields.size() != that.fields.size()) {
+			return false;
 		}
-		return found == list1.size();
+		// Recursive types: while comparing a pair of types, assume they're equal (if not, another field will differ).
+		return nonRecursive("StructEquality", this, that, true, () -> {
+			for (Field field : fields) {
+				if (!field.equals(that.fieldsByName.get(field.name()))) {
+					return false;
+				}
+			}
+			return true;
+		});
 	}
 
 	@Override
@@ -188,6 +224,7 @@ public final class StructType implements Type {
 		private final Cardinality cardinality;
 		private final Type type;
 		private final Object defaultValue;
+		private final int hashCode;
 
 		/**
 		 * Create a field.
@@ -211,6 +248,8 @@ public final class StructType implements Type {
 				case OPTIONAL -> Optional.ofNullable(defaultValue).orElse(StructType.Field.NULL_VALUE);
 				default -> defaultValue;
 			};
+			// Types only hash shallowly (struct types use their name and documentation), so this cannot recurse.
+			hashCode = Objects.hash(this.name, this.documentation, this.cardinality, this.type, this.defaultValue);
 		}
 
 		private void setStructType(StructType structType) {
@@ -229,7 +268,12 @@ public final class StructType implements Type {
 			return name;
 		}
 
-		private String documentation() {
+		/**
+		 * Return the field documentation.
+		 *
+		 * @return documentation describing the field, if any
+		 */
+		public String documentation() {
 			return documentation;
 		}
 
@@ -251,19 +295,31 @@ public final class StructType implements Type {
 			return type;
 		}
 
-		private Object defaultValue() {
+		/**
+		 * Return the default value of the field.
+		 *
+		 * @return the default value, {@link #NULL_VALUE} for a {@code null} default value, or {@code null} if there is no default value
+		 */
+		public Object defaultValue() {
 			return defaultValue;
 		}
 
-		@SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
 		@Override
 		public boolean equals(Object o) {
-			return Utils.recursionSafeEquals(this, o, Field::name, Field::documentation, Field::cardinality, Field::type, Field::defaultValue);
+			if (this == o) {
+				return true;
+			}
+			if (o == null || getClass() != o.getClass()) {
+				return false;
+			}
+			Field that = (Field) o;
+			return hashCode == that.hashCode && name.equals(that.name) && cardinality == that.cardinality &&
+			       Objects.equals(documentation, that.documentation) && Objects.equals(defaultValue, that.defaultValue) && type.equals(that.type);
 		}
 
 		@Override
 		public int hashCode() {
-			return Utils.recursionSafeHashCode(this, name, documentation, cardinality, type, defaultValue);
+			return hashCode;
 		}
 	}
 }
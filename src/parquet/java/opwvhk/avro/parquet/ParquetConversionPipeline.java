@@ -0,0 +1,270 @@
+package opwvhk.avro.parquet;
+
+import opwvhk.avro.io.ConversionPipeline.RecordParser;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.parquet.avro.AvroParquetWriter;
+import org.apache.parquet.hadoop.ParquetFileWriter;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.io.LocalOutputFile;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * <p>Bulk conversion of inputs into Parquet files on the local filesystem.</p>
+ *
+ * <p>The pipeline uses a number of writer threads, each writing its own output file ({@code part-00000.parquet}, {@code part-00001.parquet}, etc.). The
+ * threads take batches of inputs, parse them, and write the records to their file. As each thread has its own writer, the (expensive) encoding and
+ * compression of row groups happens in parallel across the output files. The order of the records is not preserved.</p>
+ *
+ * <p>Parsers need not be thread-safe: each writer thread uses its own parser, created by the parser factory. Creating parsers for the same schemata is
+ * cheap, as they share their resolvers. For example:</p>
+ *
+ * <pre>{@code
+ * ParquetConversionPipeline<String> pipeline = new ParquetConversionPipeline<String>(readSchema, GenericData.get(),
+ *         () -> new JsonAsAvroParser(jsonSchemaLocation, readSchema, GenericData.get())::parse)
+ *         .withRowGroupSize(64 * 1024 * 1024)
+ *         .withWriterThreads(4);
+ * long recordCount = pipeline.convert(jsonDocuments.iterator(), Path.of("output"));
+ * }</pre>
+ *
+ * @param <I> the type of inputs (for example file locations, JSON text or byte arrays)
+ */
+public class ParquetConversionPipeline<I> {
+	private static final String FILE_NAME_FORMAT = "part-%05d.parquet";
+	private static final String FILE_NAME_GLOB = "part-*.parquet";
+
+	private final Schema schema;
+	private final GenericData model;
+	private final Supplier<? extends RecordParser<? super I>> parserFactory;
+	private CompressionCodecName compression;
+	private long rowGroupSize;
+	private int pageSize;
+	private int batchSize;
+	private int writerThreadCount;
+
+	/**
+	 * Create a conversion pipeline, that parses inputs into records and writes them to Parquet files with Snappy compression.
+	 *
+	 * @param schema        the schema of the parsed records (and the Parquet files)
+	 * @param model         the model used to create the parsed records, used to write them
+	 * @param parserFactory a factory for parsers; each writer thread creates one parser
+	 */
+	public ParquetConversionPipeline(Schema schema, GenericData model, Supplier<? extends RecordParser<? super I>> parserFactory) {
+		this.schema = requireNonNull(schema);
+		this.model = requireNonNull(model);
+		this.parserFactory = requireNonNull(parserFactory);
+		compression = CompressionCodecName.SNAPPY;
+		rowGroupSize = ParquetWriter.DEFAULT_BLOCK_SIZE;
+		pageSize = ParquetWriter.DEFAULT_PAGE_SIZE;
+		batchSize = 1000;
+		writerThreadCount = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+	}
+
+	/**
+	 * Set the compression codec for the Parquet files.
+	 *
+	 * @param compression the compression codec
+	 * @return this pipeline
+	 */
+	public ParquetConversionPipeline<I> withCompression(CompressionCodecName compression) {
+		this.compression = requireNonNull(compression);
+		return this;
+	}
+
+	/**
+	 * Set the row group size: the approximate size of the buffered data per file before it is encoded, compressed and written.
+	 *
+	 * @param rowGroupSize the row group size in bytes
+	 * @return this pipeline
+	 */
+	public ParquetConversionPipeline<I> withRowGroupSize(long rowGroupSize) {
+		if (rowGroupSize <= 0) {
+			throw new IllegalArgumentException("The row group size must be positive");
+		}
+		this.rowGroupSize = rowGroupSize;
+		return this;
+	}
+
+	/**
+	 * Set the page size: the approximate size of the unit of encoding and compression within a column of a row group.
+	 *
+	 * @param pageSize the page size in bytes
+	 * @return this pipeline
+	 */
+	public ParquetConversionPipeline<I> withPageSize(int pageSize) {
+		if (pageSize <= 0) {
+			throw new IllegalArgumentException("The page size must be positive");
+		}
+		this.pageSize = pageSize;
+		return this;
+	}
+
+	/**
+	 * Set the number of inputs a writer thread takes at once. Larger batches reduce contention on the inputs.
+	 *
+	 * @param batchSize the number of inputs per batch
+	 * @return this pipeline
+	 */
+	public ParquetConversionPipeline<I> withBatchSize(int batchSize) {
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("The batch size must be positive");
+		}
+		this.batchSize = batchSize;
+		return this;
+	}
+
+	/**
+	 * Set the number of writer threads, which is also the maximum number of output files. The default is half the number of available processors (but at
+	 * least one).
+	 *
+	 * @param writerThreadCount the number of writer threads
+	 * @return this pipeline
+	 */
+	public ParquetConversionPipeline<I> withWriterThreads(int writerThreadCount) {
+		if (writerThreadCount < 1) {
+			throw new IllegalArgumentException("At least one writer thread is needed");
+		}
+		this.writerThreadCount = writerThreadCount;
+		return this;
+	}
+
+	/**
+	 * <p>Convert inputs into Parquet files. Existing part files in the directory (from an earlier conversion, possibly with more writer threads) are deleted
+	 * first, so the directory contains only the converted inputs. Writer threads that receive no inputs do not create a file.</p>
+	 *
+	 * <p>When a writer thread fails, the other writer threads are cancelled: they take no more inputs, and the files they were writing are closed.</p>
+	 *
+	 * @param inputs    the inputs to convert
+	 * @param directory the directory to write the Parquet files in; it is created if needed
+	 * @return the number of records written
+	 * @throws IOException when an input cannot be converted, or a file cannot be written
+	 */
+	public long convert(Iterator<? extends I> inputs, Path directory) throws IOException {
+		Files.createDirectories(directory);
+		try (DirectoryStream<Path> existingFiles = Files.newDirectoryStream(directory, FILE_NAME_GLOB)) {
+			for (Path existingFile : existingFiles) {
+				Files.delete(existingFile);
+			}
+		}
+		InputBatches<I> batches = new InputBatches<>(inputs, batchSize);
+		ExecutorService writers = Executors.newFixedThreadPool(writerThreadCount);
+		CompletionService<Long> completedWriters = new ExecutorCompletionService<>(writers);
+		List<Future<Long>> recordCounts = new ArrayList<>();
+		try {
+			for (int i = 0; i < writerThreadCount; i++) {
+				Path file = directory.resolve(FILE_NAME_FORMAT.formatted(i));
+				recordCounts.add(completedWriters.submit(() -> writeFile(batches, file)));
+			}
+			long recordCount = 0;
+			// Await the writers in the order they finish, to notice the first failure as soon as possible.
+			for (int i = 0; i < writerThreadCount; i++) {
+				recordCount += await(completedWriters);
+			}
+			return recordCount;
+		} catch (IOException | RuntimeException e) {
+			batches.stop();
+			for (Future<Long> recordCount : recordCounts) {
+				recordCount.cancel(true);
+			}
+			throw e;
+		} finally {
+			writers.shutdownNow();
+		}
+	}
+
+	private long writeFile(InputBatches<I> batches, Path file) throws Exception {
+		RecordParser<? super I> parser = null;
+		ParquetWriter<Object> writer = null;
+		long recordCount = 0;
+		try {
+			for (List<I> batch = batches.next(); !batch.isEmpty(); batch = batches.next()) {
+				if (writer == null) {
+					parser = parserFactory.get();
+					writer = createWriter(file);
+				}
+				for (I input : batch) {
+					writer.write(parser.parse(input));
+				}
+				recordCount += batch.size();
+			}
+		} finally {
+			if (writer != null) {
+				writer.close();
+			}
+		}
+		return recordCount;
+	}
+
+	private ParquetWriter<Object> createWriter(Path file) throws IOException {
+		return AvroParquetWriter.<Object>builder(new LocalOutputFile(file))
+				.withSchema(schema)
+				.withDataModel(model)
+				.withCompressionCodec(compression)
+				.withRowGroupSize(rowGroupSize)
+				.withPageSize(pageSize)
+				.withWriteMode(ParquetFileWriter.Mode.OVERWRITE)
+				.build();
+	}
+
+	private static long await(CompletionService<Long> completedWriters) throws IOException {
+		try {
+			return completedWriters.take().get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while converting inputs", e);
+		} catch (ExecutionException e) {
+			throw new IOException("Failed to convert inputs", e.getCause());
+		}
+	}
+
+	/**
+	 * Thread-safe source of input batches.
+	 */
+	private static class InputBatches<I> {
+		private final Iterator<? extends I> inputs;
+		private final int batchSize;
+		private boolean stopped;
+
+		private InputBatches(Iterator<? extends I> inputs, int batchSize) {
+			this.inputs = inputs;
+			this.batchSize = batchSize;
+		}
+
+		/**
+		 * Stop handing out inputs: all subsequent batches are empty.
+		 */
+		synchronized void stop() {
+			stopped = true;
+		}
+
+		/**
+		 * Take the next batch of inputs.
+		 *
+		 * @return the next batch; empty if there are no more inputs, or if stopped
+		 */
+		synchronized List<I> next() {
+			List<I> batch = new ArrayList<>(batchSize);
+			while (!stopped && batch.size() < batchSize && inputs.hasNext()) {
+				batch.add(inputs.next());
+			}
+			return batch;
+		}
+	}
+}
@@ -0,0 +1,24 @@
+package opwvhk.avro.parquet;
+
+import opwvhk.avro.BulkConverter;
+import opwvhk.avro.io.ConversionPipeline.RecordParser;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.function.Supplier;
+
+/**
+ * Parquet output for the {@link BulkConverter}, using a {@link ParquetConversionPipeline} with a writer thread per parsing thread.
+ */
+public class ParquetOutputFormat implements BulkConverter.OutputFormat {
+	@Override
+	public <I> long convert(Schema schema, GenericData model, Supplier<? extends RecordParser<? super I>> parserFactory, Iterator<? extends I> inputs,
+	                        Path outputDirectory, int threads) throws IOException {
+		return new ParquetConversionPipeline<I>(schema, model, parserFactory)
+				.withWriterThreads(threads)
+				.convert(inputs, outputDirectory);
+	}
+}
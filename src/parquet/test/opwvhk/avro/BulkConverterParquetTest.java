@@ -0,0 +1,57 @@
+package opwvhk.avro;
+
+import org.apache.avro.generic.GenericRecord;
+import org.apache.parquet.avro.AvroParquetReader;
+import org.apache.parquet.hadoop.ParquetReader;
+import org.apache.parquet.io.LocalInputFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkConverterParquetTest {
+	@Test
+	void testConvertingIntoParquetFiles(@TempDir Path tempDir) throws IOException {
+		Path avsc = Files.writeString(tempDir.resolve("item.avsc"), """
+				{"type": "record", "name": "Item", "fields": [
+				  {"name": "number", "type": "int"},
+				  {"name": "text", "type": "string"}
+				]}""");
+		Path input = Files.createDirectory(tempDir.resolve("in"));
+		Files.writeString(input.resolve("items.ndjson"), """
+				{"number": 1, "text": "one"}
+				{"number": 2, "text": "two"}
+				{"number": 3, "text": "three"}
+				""");
+		Path output = tempDir.resolve("out");
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+		int exitCode = BulkConverter.run(new String[]{"--avsc", avsc.toString(), "--in", input.toString(), "--out", output.toString(), "--threads", "2",
+				"--format", "parquet"}, new PrintStream(out, true, UTF_8), new PrintStream(err, true, UTF_8));
+
+		assertThat(exitCode).as(err.toString(UTF_8)).isZero();
+		assertThat(out.toString(UTF_8)).startsWith("Converted 1 files with 3 records");
+		List<Object> numbers = new ArrayList<>();
+		try (Stream<Path> files = Files.list(output)) {
+			for (Path file : files.toList()) {
+				try (ParquetReader<GenericRecord> reader = AvroParquetReader.<GenericRecord>builder(new LocalInputFile(file)).build()) {
+					for (GenericRecord record = reader.read(); record != null; record = reader.read()) {
+						numbers.add(record.get("number"));
+					}
+				}
+			}
+		}
+		assertThat(numbers).containsExactlyInAnyOrder(1, 2, 3);
+	}
+}
@@ -0,0 +1,97 @@
+package opwvhk.avro.parquet;
+
+import opwvhk.avro.json.JsonAsAvroParser;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.parquet.avro.AvroParquetReader;
+import org.apache.parquet.hadoop.ParquetReader;
+import org.apache.parquet.io.LocalInputFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ParquetConversionPipelineTest {
+	private static final Schema SCHEMA = SchemaBuilder.record("Item").fields()
+			.requiredInt("number")
+			.requiredString("text")
+			.endRecord();
+
+	@Test
+	void testConvertingIntoMultipleFiles(@TempDir Path tempDir) throws IOException {
+		List<String> inputs = IntStream.range(0, 1000).mapToObj("{\"number\": %1$d, \"text\": \"item %1$d\"}"::formatted).toList();
+
+		long recordCount = new ParquetConversionPipeline<String>(SCHEMA, GenericData.get(), () -> new JsonAsAvroParser(SCHEMA, GenericData.get())::parse)
+				.withRowGroupSize(4096)
+				.withPageSize(1024)
+				.withBatchSize(100)
+				.withWriterThreads(3)
+				.convert(inputs.iterator(), tempDir);
+
+		assertThat(recordCount).isEqualTo(1000);
+		List<Object> numbers = new ArrayList<>();
+		try (Stream<Path> files = Files.list(tempDir)) {
+			for (Path file : files.toList()) {
+				assertThat(file.getFileName().toString()).matches("part-0000[0-2]\\.parquet");
+				try (ParquetReader<GenericRecord> reader = AvroParquetReader.<GenericRecord>builder(new LocalInputFile(file)).build()) {
+					for (GenericRecord record = reader.read(); record != null; record = reader.read()) {
+						numbers.add(record.get("number"));
+					}
+				}
+			}
+		}
+		assertThat(numbers).containsExactlyInAnyOrderElementsOf(IntStream.range(0, 1000).boxed().toList());
+	}
+
+	@Test
+	void testPartsOfEarlierConversionsAreDeleted(@TempDir Path tempDir) throws IOException {
+		Files.writeString(tempDir.resolve("part-00007.parquet"), "stale");
+		Files.writeString(tempDir.resolve("notes.txt"), "keep");
+
+		new ParquetConversionPipeline<String>(SCHEMA, GenericData.get(), () -> new JsonAsAvroParser(SCHEMA, GenericData.get())::parse)
+				.withWriterThreads(1)
+				.convert(List.of("{\"number\": 1, \"text\": \"one\"}").iterator(), tempDir);
+
+		try (Stream<Path> files = Files.list(tempDir)) {
+			assertThat(files.map(file -> file.getFileName().toString())).containsExactlyInAnyOrder("part-00000.parquet", "notes.txt");
+		}
+	}
+
+	@Test
+	void testFailuresAreReported(@TempDir Path tempDir) {
+		ParquetConversionPipeline<String> pipeline = new ParquetConversionPipeline<String>(SCHEMA, GenericData.get(),
+				() -> new JsonAsAvroParser(SCHEMA, GenericData.get())::parse).withWriterThreads(1);
+		List<String> inputs = List.of("{\"number\": 1, \"text\": \"one\"}", "{\"number\": \"two\"}");
+
+		assertThatThrownBy(() -> pipeline.convert(inputs.iterator(), tempDir))
+				.isInstanceOf(IOException.class)
+				.hasCauseInstanceOf(NumberFormatException.class);
+	}
+
+	@Test
+	void testFailureCancelsOtherWriters(@TempDir Path tempDir) {
+		AtomicInteger takenInputs = new AtomicInteger();
+		Iterator<String> inputs = Stream.iterate(0, i -> i + 1).limit(1_000_000).peek(i -> takenInputs.incrementAndGet())
+				.map(i -> i == 10 ? "{\"number\": \"ten\"}" : "{\"number\": %1$d, \"text\": \"item %1$d\"}".formatted(i)).iterator();
+		ParquetConversionPipeline<String> pipeline = new ParquetConversionPipeline<String>(SCHEMA, GenericData.get(),
+				() -> new JsonAsAvroParser(SCHEMA, GenericData.get())::parse).withBatchSize(10).withWriterThreads(4);
+
+		assertThatThrownBy(() -> pipeline.convert(inputs, tempDir))
+				.isInstanceOf(IOException.class)
+				.hasCauseInstanceOf(NumberFormatException.class);
+		assertThat(takenInputs.get()).isLessThan(1_000_000);
+	}
+}
@@ -0,0 +1,107 @@
+package opwvhk.avro;
+
+import org.apache.avro.file.DataFileConstants;
+import org.apache.avro.file.DataFileReader;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkConverterTest {
+	private static final String SCHEMA = """
+			{"type": "record", "name": "Item", "fields": [
+			  {"name": "number", "type": "int"},
+			  {"name": "text", "type": "string"}
+			]}""";
+
+	@Test
+	void testConvertingJsonAndNdjsonFiles(@TempDir Path tempDir) throws IOException {
+		Path avsc = Files.writeString(tempDir.resolve("item.avsc"), SCHEMA);
+		Path input = Files.createDirectory(tempDir.resolve("in"));
+		Files.writeString(input.resolve("a.json"), "{\"number\": 1, \"text\": \"one\"}");
+		Files.writeString(input.resolve("b.ndjson"), """
+				{"number": 2, "text": "two"}
+
+				{"number": 3, "text": "three"}
+				""");
+		Files.writeString(input.resolve("c.jsonl"), "{\"number\": 4, \"text\": \"four\"}\n");
+		Files.writeString(input.resolve("ignored.txt"), "not JSON");
+		Path output = tempDir.resolve("out");
+
+		Result result = run("--avsc", avsc.toString(), "--in", input.toString(), "--out", output.toString(), "--threads", "2", "--codec", "deflate");
+
+		assertThat(result.exitCode).as(result.err).isZero();
+		assertThat(result.out).startsWith("Converted 3 files with 4 records").contains("records/s", "MB/s");
+		List<Object> numbers = new ArrayList<>();
+		try (DataFileReader<GenericRecord> records = new DataFileReader<>(output.resolve("part-00000.avro").toFile(), new GenericDatumReader<>())) {
+			assertThat(records.getMetaString(DataFileConstants.CODEC)).isEqualTo(DataFileConstants.DEFLATE_CODEC);
+			records.forEach(record -> numbers.add(record.get("number")));
+		}
+		assertThat(numbers).containsExactly(1, 2, 3, 4);
+	}
+
+	@Test
+	void testConvertingXmlFiles(@TempDir Path tempDir) throws IOException {
+		Path xsd = copyResource("xml/resolvingTest.xsd", tempDir);
+		Path avsc = copyResource("xml/resolvingTest.avsc", tempDir);
+		Path input = Files.createDirectory(tempDir.resolve("in"));
+		copyResource("xml/resolvingTestMinimal.xml", input);
+		copyResource("xml/resolvingTestFull.xml", input);
+		Path output = tempDir.resolve("out");
+
+		Result result = run("--xsd", xsd.toString(), "--root", "outer", "--avsc", avsc.toString(), "--in", input.toString(), "--out", output.toString());
+
+		assertThat(result.exitCode).as(result.err).isZero();
+		assertThat(result.out).startsWith("Converted 2 files with 2 records");
+		assertThat(output.resolve("part-00000.avro")).isNotEmptyFile();
+	}
+
+	@Test
+	void testInvalidArgumentsPrintUsage(@TempDir Path tempDir) {
+		Result result = run("--xsd", "schema.xsd", "--avsc", "schema.avsc", "--in", "in", "--out", "out");
+		assertThat(result.exitCode).isEqualTo(2);
+		assertThat(result.err).startsWith("The options --xsd and --root must be used together").contains("Usage: convert");
+
+		assertThat(run().exitCode).isEqualTo(2);
+		assertThat(run("--threads", "none").err).startsWith("Invalid number of threads: none");
+		assertThat(run("--avsc", "schema.avsc", "--in", "in", "--out", "out", "--format", "orc").err).startsWith("Unknown output format: orc");
+		Result unknownCodec = run("--avsc", "schema.avsc", "--in", "in", "--out", "out", "--codec", "bogus");
+		assertThat(unknownCodec.exitCode).isEqualTo(2);
+		assertThat(unknownCodec.err).startsWith("Unknown codec: bogus").contains("Usage: convert");
+
+		Result failure = run("--avsc", tempDir.resolve("missing.avsc").toString(), "--in", tempDir.toString(), "--out", tempDir.toString());
+		assertThat(failure.exitCode).isEqualTo(1);
+		assertThat(failure.err).startsWith("Conversion failed");
+	}
+
+	private Path copyResource(String resource, Path directory) throws IOException {
+		Path target = directory.resolve(resource.substring(resource.lastIndexOf('/') + 1));
+		try (InputStream input = requireNonNull(getClass().getResourceAsStream(resource))) {
+			Files.copy(input, target);
+		}
+		return target;
+	}
+
+	private static Result run(String... args) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ByteArrayOutputStream err = new ByteArrayOutputStream();
+		int exitCode = BulkConverter.run(args, new PrintStream(out, true, UTF_8), new PrintStream(err, true, UTF_8));
+		return new Result(exitCode, out.toString(UTF_8), err.toString(UTF_8));
+	}
+
+	private record Result(int exitCode, String out, String err) {
+	}
+}
@@ -181,6 +181,46 @@ class SchemaManipulatorTest {
 		assertThat(FORMATTER.format(schema)).isEqualTo(FORMATTER.format(expectedSchema));
 	}
 
+	@Test
+	void testFirstRenameWins() {
+		Schema schema = SchemaBuilder.record("ns.Record").aliases("ns.OldRecord").fields()
+				.name("field").aliases("oldField").type("string").noDefault()
+				.name("other").type("string").noDefault()
+				.endRecord();
+
+		Schema result = new SchemaManipulator(schema).renameWithoutAliases()
+				.renameField("ns.OldRecord", "oldField", "byAlias")
+				.renameFieldAtPath("byPath", "field")
+				.renameField("ns.Record", "field", "byName")
+				.renameFieldAtPath("otherByPath", "other")
+				.renameFieldAtPath("ignored", "other")
+				.renameSchemaAtPath("ns.ByPath")
+				.renameSchema("ns.Record", "ns.ByName")
+				.useFieldNamingConvention(NamingConvention.SNAKE_CASE)
+				.finish();
+
+		assertThat(result.getFullName()).isEqualTo("ns.ByPath");
+		assertThat(result.getFields()).map(Schema.Field::name).containsExactly("byAlias", "otherByPath");
+	}
+
+	@Test
+	void testManyManipulations() {
+		SchemaBuilder.FieldAssembler<Schema> fields = SchemaBuilder.record("ns.Wide").fields();
+		for (int i = 0; i < 5000; i++) {
+			fields = fields.name("field" + i).type("string").noDefault();
+		}
+		SchemaManipulator manipulator = new SchemaManipulator(fields.endRecord()).renameWithoutAliases();
+		for (int i = 0; i < 5000; i += 2) {
+			manipulator.renameFieldAtPath("byPath" + i, "field" + i);
+			manipulator.renameField("ns.Wide", "field" + (i + 1), "byName" + (i + 1));
+		}
+		Schema result = manipulator.finish();
+
+		assertThat(result.getField("byPath4998")).isNotNull();
+		assertThat(result.getField("byName4999")).isNotNull();
+		assertThat(result.getFields()).noneMatch(field -> field.name().startsWith("field"));
+	}
+
 	@Test
 	void testApplyNamingConventions() {
 		Schema schemaWithoutNamespace = SchemaBuilder.record("simple_name").fields()
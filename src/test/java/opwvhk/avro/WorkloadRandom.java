@@ -0,0 +1,236 @@
+package opwvhk.avro;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Random values for synthetic workloads, following the {@link WorkloadSettings}. All text values are valid in both JSON and XML, and need no escaping.
+ */
+public class WorkloadRandom {
+	private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+	private static final long MIN_EPOCH_SECOND = LocalDate.of(1970, 1, 1).toEpochSecond(LocalTime.MIDNIGHT, ZoneOffset.UTC);
+	private static final long MAX_EPOCH_SECOND = LocalDate.of(2100, 1, 1).toEpochSecond(LocalTime.MIDNIGHT, ZoneOffset.UTC);
+	private static final int MAX_LONG_DIGITS = 18;
+
+	private final WorkloadSettings settings;
+	private final Random random;
+	private int unknownFieldCount;
+
+	/**
+	 * Create a source of random values.
+	 *
+	 * @param settings the workload settings to follow
+	 */
+	public WorkloadRandom(WorkloadSettings settings) {
+		this.settings = settings;
+		random = new Random(settings.seed());
+		unknownFieldCount = 0;
+	}
+
+	/**
+	 * Decide whether to include an optional field.
+	 *
+	 * @param depth the nesting depth of the field
+	 * @return {@code true} if the field should be included
+	 */
+	public boolean includeOptional(int depth) {
+		return depth < settings.maxDepth() && random.nextDouble() < settings.optionalFieldRate();
+	}
+
+	/**
+	 * Decide whether to add an unknown field (noise) to a record.
+	 *
+	 * @return {@code true} if an unknown field should be added
+	 */
+	public boolean addUnknownField() {
+		return random.nextDouble() < settings.unknownFieldRate();
+	}
+
+	/**
+	 * Return a name for an unknown field. These names are unique per generator.
+	 *
+	 * @return a field name
+	 */
+	public String unknownFieldName() {
+		return "unknownField" + ++unknownFieldCount;
+	}
+
+	/**
+	 * Choose the number of occurrences of a repeated element, or the size of an array.
+	 *
+	 * @param depth    the nesting depth of the array
+	 * @param minCount the minimum number of occurrences the schema allows
+	 * @param maxCount the maximum number of occurrences the schema allows
+	 * @return the number of occurrences
+	 */
+	public int count(int depth, long minCount, long maxCount) {
+		if (depth >= settings.maxDepth()) {
+			return (int) minCount;
+		}
+		long min = Math.max(minCount, settings.minArraySize());
+		long max = Math.max(min, Math.min(maxCount, settings.maxArraySize()));
+		return (int) (min + random.nextInt((int) (max - min + 1)));
+	}
+
+	/**
+	 * Choose one of several options.
+	 *
+	 * @param options the options to choose from
+	 * @param <T>     the type of the options
+	 * @return one of the options
+	 */
+	public <T> T choose(List<T> options) {
+		return options.get(random.nextInt(options.size()));
+	}
+
+	public boolean nextBoolean() {
+		return random.nextBoolean();
+	}
+
+	/**
+	 * Return a random integer between the given bounds.
+	 *
+	 * @param min the minimum value (inclusive)
+	 * @param max the maximum value (inclusive)
+	 * @return a random integer
+	 */
+	public long nextLong(long min, long max) {
+		return min + (long) (random.nextDouble() * (max - min + 1.0));
+	}
+
+	/**
+	 * Return a random number with up to 3 decimal places, between 0 and 10,000.
+	 *
+	 * @return a random number
+	 */
+	public double nextDouble() {
+		return random.nextInt(10_000_000) / 1000.0;
+	}
+
+	/**
+	 * Return a random decimal number that fits the precision and scale.
+	 *
+	 * @param precision the maximum number of digits
+	 * @param scale     the number of digits after the decimal point
+	 * @return a random decimal number
+	 */
+	public BigDecimal nextDecimal(int precision, int scale) {
+		int digits = Math.min(precision, MAX_LONG_DIGITS);
+		long unscaled = nextLong(0, BigInteger.TEN.pow(digits).longValueExact() - 1);
+		return BigDecimal.valueOf(random.nextBoolean() ? unscaled : -unscaled, scale);
+	}
+
+	/**
+	 * Return a random string of letters and digits, with a length between the settings and the given bounds.
+	 *
+	 * @param minLength the minimum length the schema allows
+	 * @param maxLength the maximum length the schema allows
+	 * @return a random string
+	 */
+	public String nextString(int minLength, int maxLength) {
+		int min = Math.max(minLength, settings.minStringLength());
+		int max = Math.max(min, Math.min(maxLength, settings.maxStringLength()));
+		int length = min + random.nextInt(max - min + 1);
+		StringBuilder buffer = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			buffer.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+		}
+		return buffer.toString();
+	}
+
+	/**
+	 * Return a random string of letters and digits, with a length according to the settings.
+	 *
+	 * @return a random string
+	 */
+	public String nextString() {
+		return nextString(0, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Return a random number of bytes (for binary data), between 1 and 16 (inclusive).
+	 *
+	 * @return a number of bytes
+	 */
+	public int nextByteCount() {
+		return 1 + random.nextInt(16);
+	}
+
+	/**
+	 * Return random binary data, encoded as (uppercase) hexadecimal text.
+	 *
+	 * @param size the number of bytes
+	 * @return hexadecimal text
+	 */
+	public String nextHex(int size) {
+		return HexFormat.of().withUpperCase().formatHex(nextBytes(size));
+	}
+
+	/**
+	 * Return random binary data, encoded as base64 text.
+	 *
+	 * @param size the number of bytes
+	 * @return base64 text
+	 */
+	public String nextBase64(int size) {
+		return Base64.getEncoder().encodeToString(nextBytes(size));
+	}
+
+	private byte[] nextBytes(int size) {
+		byte[] bytes = new byte[size];
+		random.nextBytes(bytes);
+		return bytes;
+	}
+
+	private Instant nextInstant() {
+		return Instant.ofEpochSecond(nextLong(MIN_EPOCH_SECOND, MAX_EPOCH_SECOND - 1), random.nextInt(1000) * 1_000_000L);
+	}
+
+	/**
+	 * Return a random date, formatted as ISO8601 ({@code yyyy-MM-dd}).
+	 *
+	 * @return a date
+	 */
+	public String nextDate() {
+		return LocalDate.ofInstant(nextInstant(), ZoneOffset.UTC).toString();
+	}
+
+	/**
+	 * Return a random time with millisecond precision in UTC, formatted as ISO8601 ({@code HH:mm:ss.SSSZ}).
+	 *
+	 * @return a time
+	 */
+	public String nextTime() {
+		LocalTime time = LocalTime.ofInstant(nextInstant(), ZoneOffset.UTC);
+		return "%02d:%02d:%02d.%03dZ".formatted(time.getHour(), time.getMinute(), time.getSecond(), time.getNano() / 1_000_000);
+	}
+
+	/**
+	 * Return a random timestamp with millisecond precision in UTC, formatted as ISO8601.
+	 *
+	 * @return a timestamp
+	 */
+	public String nextTimestamp() {
+		return nextLocalTimestamp() + "Z";
+	}
+
+	/**
+	 * Return a random timestamp with millisecond precision without timezone, formatted as ISO8601.
+	 *
+	 * @return a local timestamp
+	 */
+	public String nextLocalTimestamp() {
+		LocalDateTime dateTime = LocalDateTime.ofInstant(nextInstant(), ZoneOffset.UTC);
+		return "%sT%02d:%02d:%02d.%03d".formatted(dateTime.toLocalDate(), dateTime.getHour(), dateTime.getMinute(), dateTime.getSecond(),
+				dateTime.getNano() / 1_000_000);
+	}
+}
@@ -0,0 +1,62 @@
+package opwvhk.avro;
+
+/**
+ * <p>Settings for generating synthetic workloads: documents and streams of (random) data that are valid according to a schema.</p>
+ *
+ * <p>The width and depth of the generated records are determined by the schema, and how much of it is filled: optional fields (and elements) are only
+ * included with a certain rate, and only up to a maximum depth. For schemas with a fixed shape, consider using (wide or deep) schemas.</p>
+ *
+ * @param seed              the seed for the random data; the same seed yields the same data
+ * @param maxDepth          the maximum nesting depth to add optional fields and array items at; deeper, only required data is generated
+ * @param minArraySize      the minimum size of arrays (repeated elements)
+ * @param maxArraySize      the maximum size of arrays (repeated elements)
+ * @param minStringLength   the minimum length of strings
+ * @param maxStringLength   the maximum length of strings
+ * @param optionalFieldRate the fraction of optional fields to include (a number between 0 and 1)
+ * @param unknownFieldRate  the rate at which to add fields that are not in the schema (noise), per record (a number between 0 and 1)
+ */
+public record WorkloadSettings(long seed, int maxDepth, int minArraySize, int maxArraySize, int minStringLength, int maxStringLength,
+                               double optionalFieldRate, double unknownFieldRate) {
+	/**
+	 * Create workload settings.
+	 */
+	public WorkloadSettings {
+		if (maxDepth < 0 || minArraySize < 0 || maxArraySize < minArraySize || minStringLength < 0 || maxStringLength < minStringLength) {
+			throw new IllegalArgumentException("Invalid depth, array sizes or string lengths");
+		}
+		if (optionalFieldRate < 0 || optionalFieldRate > 1 || unknownFieldRate < 0 || unknownFieldRate > 1) {
+			throw new IllegalArgumentException("Rates must be between 0 and 1 (inclusive)");
+		}
+	}
+
+	/**
+	 * Create default workload settings: records up to 5 levels deep, arrays of 0-5 items, strings of 1-20 characters, half the optional fields, and no
+	 * unknown fields.
+	 *
+	 * @param seed the seed for the random data
+	 * @return the default workload settings for the seed
+	 */
+	public static WorkloadSettings defaults(long seed) {
+		return new WorkloadSettings(seed, 5, 0, 5, 1, 20, 0.5, 0.0);
+	}
+
+	public WorkloadSettings withMaxDepth(int maxDepth) {
+		return new WorkloadSettings(seed, maxDepth, minArraySize, maxArraySize, minStringLength, maxStringLength, optionalFieldRate, unknownFieldRate);
+	}
+
+	public WorkloadSettings withArraySizes(int minArraySize, int maxArraySize) {
+		return new WorkloadSettings(seed, maxDepth, minArraySize, maxArraySize, minStringLength, maxStringLength, optionalFieldRate, unknownFieldRate);
+	}
+
+	public WorkloadSettings withStringLengths(int minStringLength, int maxStringLength) {
+		return new WorkloadSettings(seed, maxDepth, minArraySize, maxArraySize, minStringLength, maxStringLength, optionalFieldRate, unknownFieldRate);
+	}
+
+	public WorkloadSettings withOptionalFieldRate(double optionalFieldRate) {
+		return new WorkloadSettings(seed, maxDepth, minArraySize, maxArraySize, minStringLength, maxStringLength, optionalFieldRate, unknownFieldRate);
+	}
+
+	public WorkloadSettings withUnknownFieldRate(double unknownFieldRate) {
+		return new WorkloadSettings(seed, maxDepth, minArraySize, maxArraySize, minStringLength, maxStringLength, optionalFieldRate, unknownFieldRate);
+	}
+}
@@ -1,9 +1,11 @@
 package opwvhk.avro.io;
 
+import jdk.jfr.Recording;
 import opwvhk.avro.ResolvingFailure;
 import org.apache.avro.Schema;
 import org.apache.avro.SchemaParser;
 import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.PrimitivesArrays;
 import org.junit.jupiter.api.Test;
 
 import java.time.Clock;
@@ -31,6 +33,41 @@ class AsAvroParserBaseTest {
 		assertThat(AsAvroParserBase.asOffset(ZoneId.of("Europe/Amsterdam"), fixedClock)).isEqualTo(ZoneOffset.ofHours(2));
 	}
 
+	@Test
+	void testParseEventsAreOnlyCreatedWhenRecorded() {
+		AsAvroParserBase<Object> parserBase = new AsAvroParserBase<>(GenericData.get(), null, Schema.create(Schema.Type.STRING), Set.of(),
+				ZoneOffset.ofHours(0)) {
+		};
+
+		ParseEvent disabledEvent = parserBase.startParseEvent();
+		assertThat(disabledEvent).isSameAs(ParseEvent.DISABLED).isSameAs(parserBase.startParseEvent());
+		disabledEvent.finish(1, null);
+
+		try (Recording recording = new Recording()) {
+			recording.enable("opwvhk.avro.Parse");
+			recording.start();
+			ParseEvent event = parserBase.startParseEvent();
+			assertThat(event).isNotSameAs(ParseEvent.DISABLED);
+			assertThat(event.isEnabled()).isTrue();
+			event.finish(1, null);
+		}
+	}
+
+	@Test
+	void testNullItemsInArrayFieldsOfNonNullValuesFail() {
+		Schema schema = new SchemaParser().parse("""
+				{"type": "record", "name": "Arrays", "fields": [
+				  {"name": "numbers", "type": {"type": "array", "items": "int"}}
+				]}""").mainSchema();
+		RecordResolver resolver = new RecordResolver(GenericData.get(), schema);
+		resolver.addArrayResolver("numbers", schema.getField("numbers"), AsAvroParserBase.INTEGER_RESOLVER);
+
+		Object record = resolver.addProperty(resolver.createCollector(), "numbers", 1);
+		assertThatThrownBy(() -> resolver.addProperty(record, "numbers", null))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Array items of type \"int\" cannot be null");
+	}
+
 	@Test
 	void testBinaryResolverFailures() {
 		AsAvroParserBase<Object> parserBase = new AsAvroParserBase<>(GenericData.get(), null, Schema.create(Schema.Type.STRING), Set.of(),
@@ -166,6 +203,9 @@ class AsAvroParserBaseTest {
 		Object result = res1.complete(res1.addContent(res1.createCollector(), "invalid"));
 		assertThat(result).isInstanceOf(GenericData.EnumSymbol.class);
 		assertThat(result.toString()).isEqualTo("maybe");
+		// Enum symbols are shared
+		assertThat(res1.complete(res1.addContent(res1.createCollector(), "maybe"))).isSameAs(result);
+		assertThat(res1.complete(res1.addContent(res1.createCollector(), "yes"))).isNotSameAs(result).hasToString("yes");
 
 		Schema enumWithoutDefault = Schema.createEnum("choice", null, null, List.of("maybe", "yes", "no"));
 		ValueResolver res2 = new AsAvroParserBase<>(GenericData.get(), null, enumWithoutDefault, Set.of()) {
@@ -194,6 +234,24 @@ class AsAvroParserBaseTest {
 		assertThat(result.toString()).isEqualTo("{\"texts\": [\"Hello\", \"World!\"]}");
 	}
 
+	@Test
+	void testPrimitiveArrays() {
+		Schema doubleArray = Schema.createArray(Schema.create(Schema.Type.DOUBLE));
+		ValueResolver resolver = new AsAvroParserBase<>(GenericData.get(), null, doubleArray, Set.of()) {
+		}.getResolver();
+		Object collector = resolver.createCollector();
+		collector = resolveScalar(resolver, collector, "anything", "1.5");
+		collector = resolveScalar(resolver, collector, "anything", "2.5");
+		assertThat(resolver.complete(collector)).isInstanceOf(PrimitivesArrays.DoubleArray.class).isEqualTo(List.of(1.5, 2.5));
+
+		Schema.Field f = new Schema.Field("numbers", Schema.createUnion(Schema.create(Schema.Type.NULL), doubleArray));
+		RecordResolver rr = new RecordResolver(GenericData.get(), Schema.createRecord("Record", null, null, false, List.of(f)));
+		rr.addArrayResolver("number", f, new ScalarValueResolver(Double::valueOf));
+		Object record = rr.createCollector();
+		record = resolveScalar(rr, record, "number", "3.5");
+		assertThat(((GenericData.Record) rr.complete(record)).get("numbers")).isInstanceOf(PrimitivesArrays.DoubleArray.class).isEqualTo(List.of(3.5));
+	}
+
 	@Test
 	void testRecordFieldDefaultValues() {
 		ValueResolver sr = new ScalarValueResolver(s -> s);
@@ -0,0 +1,111 @@
+package opwvhk.avro.io;
+
+import opwvhk.avro.json.JsonAsAvroParser;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ColumnarBatchTest {
+	private static final Schema SCHEMA = new Schema.Parser().parse("""
+			{"type": "record", "name": "Order", "fields": [
+			  {"name": "id", "type": "long"},
+			  {"name": "paid", "type": "boolean"},
+			  {"name": "customer", "type": ["null", "string"], "default": null},
+			  {"name": "status", "type": {"type": "enum", "name": "Status", "symbols": ["OPEN", "SHIPPED", "CLOSED"]}},
+			  {"name": "day", "type": {"type": "int", "logicalType": "date"}},
+			  {"name": "lines", "type": {"type": "array", "items": {"type": "record", "name": "Line", "fields": [
+			    {"name": "product", "type": "string"},
+			    {"name": "amount", "type": "double"}
+			  ]}}, "default": []}
+			]}""");
+
+	@Test
+	void testFillingBatchesFromParser() throws IOException {
+		JsonAsAvroParser parser = new JsonAsAvroParser(SCHEMA, ColumnarBatch.model());
+		ColumnarBatch batch = new ColumnarBatch(SCHEMA, 3);
+		batch.add(parser.parse("""
+				{"id": 1, "paid": true, "customer": "Jane", "status": "SHIPPED", "day": "2023-04-17",
+				 "lines": [{"product": "apple", "amount": 1.5}, {"product": "pear", "amount": 2}]}"""));
+		batch.add(parser.parse("""
+				{"id": 2, "paid": false, "status": "OPEN", "day": "2023-04-18"}"""));
+		batch.add(parser.parse("""
+				{"id": 3, "paid": true, "customer": "Joe", "status": "CLOSED", "day": "2023-04-19", "lines": [{"product": "kiwi", "amount": 3}]}"""));
+
+		assertThat(batch.size()).isEqualTo(3);
+		assertThat(batch.isFull()).isTrue();
+		assertThatThrownBy(() -> batch.add(null)).isInstanceOf(IllegalStateException.class);
+
+		assertThat(((ColumnVector.LongVector) batch.column("id")).values()).startsWith(1L, 2L, 3L);
+		assertThat(((ColumnVector.BooleanVector) batch.column("paid")).values()).startsWith(true, false, true);
+		ColumnVector.BinaryVector customers = (ColumnVector.BinaryVector) batch.column("customer");
+		assertThat(customers.isNull(1)).isTrue();
+		assertThat(customers.getString(0)).isEqualTo("Jane");
+		assertThat(customers.getString(1)).isNull();
+		assertThat(customers.getString(2)).isEqualTo("Joe");
+		assertThat(((ColumnVector.IntVector) batch.column("status")).values()).startsWith(1, 0, 2);
+		assertThat(((ColumnVector.IntVector) batch.column("day")).values()[0]).isEqualTo((int) LocalDate.of(2023, 4, 17).toEpochDay());
+
+		ColumnVector.ListVector lines = (ColumnVector.ListVector) batch.column("lines");
+		assertThat(lines.offsets()).startsWith(0, 2, 2, 3);
+		ColumnVector.StructVector items = (ColumnVector.StructVector) lines.items();
+		assertThat(items.size()).isEqualTo(3);
+		assertThat(((ColumnVector.BinaryVector) items.field("product")).getString(2)).isEqualTo("kiwi");
+		assertThat(((ColumnVector.DoubleVector) items.field("amount")).values()).startsWith(1.5, 2.0, 3.0);
+
+		batch.reset();
+		assertThat(batch.size()).isZero();
+		assertThat(lines.items().size()).isZero();
+		batch.add(parser.parse("""
+				{"id": 4, "paid": false, "status": "OPEN", "day": "2023-04-20"}"""));
+		assertThat(((ColumnVector.LongVector) batch.column("id")).values()[0]).isEqualTo(4L);
+		assertThat(customers.isNull(0)).isTrue();
+	}
+
+	@Test
+	void testRecordsAreRecycled() throws IOException {
+		JsonAsAvroParser parser = new JsonAsAvroParser(SCHEMA, ColumnarBatch.model());
+		ColumnarBatch batch = new ColumnarBatch(SCHEMA, 10);
+		String json = """
+				{"id": 1, "paid": true, "status": "OPEN", "day": "2023-04-17", "lines": [{"product": "apple", "amount": 1.5}]}""";
+
+		GenericRecord first = parser.parse(json);
+		Object firstLines = first.get("lines");
+		batch.add(first);
+		GenericRecord second = parser.parse(json);
+		assertThat(second).isSameAs(first);
+		assertThat(second.get("lines")).isSameAs(firstLines);
+		batch.add(second);
+		assertThat(batch.size()).isEqualTo(2);
+	}
+
+	@Test
+	void testRecordsFromOtherModels() throws IOException {
+		JsonAsAvroParser parser = new JsonAsAvroParser(SCHEMA, GenericData.get());
+		ColumnarBatch batch = new ColumnarBatch(SCHEMA, 1);
+		batch.add(parser.parse("""
+				{"id": 1, "paid": true, "status": "OPEN", "day": "2023-04-17"}"""));
+		assertThat(((ColumnVector.ListVector) batch.column("lines")).offsets()).startsWith(0, 0);
+		assertThat(batch.column("lines").isNull(0)).isFalse();
+	}
+
+	@Test
+	void testUnsupportedSchemas() {
+		Schema map = SchemaBuilder.record("WithMap").fields().name("map").type().map().values().intType().noDefault().endRecord();
+		assertThatThrownBy(() -> new ColumnarBatch(map, 10)).isInstanceOf(IllegalArgumentException.class);
+		Schema recursive = new Schema.Parser().parse("""
+				{"type": "record", "name": "Node", "fields": [{"name": "next", "type": ["null", "Node"], "default": null}]}""");
+		assertThatThrownBy(() -> new ColumnarBatch(recursive, 10)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new ColumnarBatch(Schema.create(Schema.Type.INT), 10)).isInstanceOf(IllegalArgumentException.class);
+		Schema multipleTypes = SchemaBuilder.record("WithUnion").fields().name("value").type().unionOf().intType().and().stringType().endUnion()
+				.noDefault().endRecord();
+		assertThatThrownBy(() -> new ColumnarBatch(multipleTypes, 10)).isInstanceOf(IllegalArgumentException.class);
+	}
+}
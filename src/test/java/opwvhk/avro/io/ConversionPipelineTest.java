@@ -0,0 +1,74 @@
+package opwvhk.avro.io;
+
+import opwvhk.avro.json.JsonAsAvroParser;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.file.CodecFactory;
+import org.apache.avro.file.DataFileConstants;
+import org.apache.avro.file.DataFileStream;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConversionPipelineTest {
+	private static final Schema SCHEMA = SchemaBuilder.record("Item").fields()
+			.requiredInt("number")
+			.requiredString("text")
+			.endRecord();
+
+	@Test
+	void testConvertingKeepsTheInputOrder(@TempDir Path tempDir) throws IOException {
+		List<String> inputs = IntStream.range(0, 1000).mapToObj("{\"number\": %1$d, \"text\": \"item %1$d\"}"::formatted).toList();
+		Path file = tempDir.resolve("items.avro");
+
+		long recordCount = new ConversionPipeline<String>(SCHEMA, GenericData.get(), () -> new JsonAsAvroParser(SCHEMA, GenericData.get())::parse)
+				.withCodec(CodecFactory.deflateCodec(6))
+				.withSyncInterval(1024)
+				.withThreads(4)
+				.convert(inputs.iterator(), file);
+
+		assertThat(recordCount).isEqualTo(1000);
+		List<Object> numbers = new ArrayList<>();
+		try (InputStream input = Files.newInputStream(file);
+		     DataFileStream<GenericRecord> records = new DataFileStream<>(input, new GenericDatumReader<>())) {
+			assertThat(records.getMetaString(DataFileConstants.CODEC)).isEqualTo(DataFileConstants.DEFLATE_CODEC);
+			assertThat(records.getSchema()).isEqualTo(SCHEMA);
+			records.forEach(record -> numbers.add(record.get("number")));
+		}
+		assertThat(numbers).containsExactlyElementsOf(IntStream.range(0, 1000).boxed().toList());
+	}
+
+	@Test
+	void testFailureReportsTheInput() {
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		ConversionPipeline<String> pipeline = new ConversionPipeline<String>(SCHEMA, GenericData.get(),
+				() -> new JsonAsAvroParser(SCHEMA, GenericData.get())::parse).withThreads(2);
+		List<String> inputs = List.of("{\"number\": 1, \"text\": \"one\"}", "{\"number\": \"two\"}", "{\"number\": 3, \"text\": \"three\"}");
+
+		assertThatThrownBy(() -> pipeline.convert(inputs.iterator(), buffer))
+				.isInstanceOf(IOException.class)
+				.hasMessage("Failed to convert input 1")
+				.hasCauseInstanceOf(NumberFormatException.class);
+	}
+
+	@Test
+	void testInvalidSettings() {
+		ConversionPipeline<String> pipeline = new ConversionPipeline<>(SCHEMA, GenericData.get(), () -> input -> null);
+		assertThatThrownBy(() -> pipeline.withSyncInterval(16)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> pipeline.withThreads(0)).isInstanceOf(IllegalArgumentException.class);
+	}
+}
@@ -0,0 +1,81 @@
+package opwvhk.avro.io;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import static java.time.ZoneOffset.UTC;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IsoTemporalParserTest {
+	private static final ZoneOffset PLUS_TWO = ZoneOffset.ofHours(2);
+	private static final ZoneId AMSTERDAM = ZoneId.of("Europe/Amsterdam");
+
+	@Test
+	void testDates() {
+		assertThat(IsoTemporalParser.parseLocalDate("2023-04-17")).isEqualTo(LocalDate.of(2023, 4, 17));
+		assertThat(IsoTemporalParser.parseLocalDate("2024-02-29")).isEqualTo(LocalDate.of(2024, 2, 29));
+		assertThat(IsoTemporalParser.parseLocalDate("0000-01-01")).isEqualTo(LocalDate.of(0, 1, 1));
+
+		// Not handled: these are left to the formatter
+		assertThat(IsoTemporalParser.parseLocalDate("2023-02-29")).isNull();
+		assertThat(IsoTemporalParser.parseLocalDate("2023-13-01")).isNull();
+		assertThat(IsoTemporalParser.parseLocalDate("2023-4-17")).isNull();
+		assertThat(IsoTemporalParser.parseLocalDate("+12023-04-17")).isNull();
+		assertThat(IsoTemporalParser.parseLocalDate("2023/04/17")).isNull();
+	}
+
+	@Test
+	void testLocalDateTimes() {
+		assertThat(IsoTemporalParser.parseLocalDateTime("2023-04-17T08:30:00")).isEqualTo(LocalDateTime.of(2023, 4, 17, 8, 30));
+		assertThat(IsoTemporalParser.parseLocalDateTime("2023-04-17t08:30:15.5")).isEqualTo(LocalDateTime.of(2023, 4, 17, 8, 30, 15, 500_000_000));
+		assertThat(IsoTemporalParser.parseLocalDateTime("2023-04-17T08:30:15.123456789"))
+				.isEqualTo(LocalDateTime.of(2023, 4, 17, 8, 30, 15, 123_456_789));
+
+		// Not handled: these are left to the formatter
+		assertThat(IsoTemporalParser.parseLocalDateTime("2023-04-17T08:30")).isNull();
+		assertThat(IsoTemporalParser.parseLocalDateTime("2023-04-17 08:30:00")).isNull();
+		assertThat(IsoTemporalParser.parseLocalDateTime("2023-04-17T08:30:00.")).isNull();
+		assertThat(IsoTemporalParser.parseLocalDateTime("2023-04-17T08:30:00.1234567890")).isNull();
+		assertThat(IsoTemporalParser.parseLocalDateTime("2023-04-17T24:00:00")).isNull();
+		assertThat(IsoTemporalParser.parseLocalDateTime("2023-04-17T08:30:00Z")).isNull();
+	}
+
+	@Test
+	void testOffsetTimes() {
+		assertThat(IsoTemporalParser.parseOffsetTime("08:30:15", PLUS_TWO)).isEqualTo(OffsetTime.of(8, 30, 15, 0, PLUS_TWO));
+		assertThat(IsoTemporalParser.parseOffsetTime("08:30:15.25Z", PLUS_TWO)).isEqualTo(OffsetTime.of(8, 30, 15, 250_000_000, UTC));
+		assertThat(IsoTemporalParser.parseOffsetTime("08:30:15-05:30", PLUS_TWO)).isEqualTo(OffsetTime.of(8, 30, 15, 0, ZoneOffset.ofHoursMinutes(-5, -30)));
+
+		// Not handled: these are left to the formatter
+		assertThat(IsoTemporalParser.parseOffsetTime("08:30:15Europe/Amsterdam", PLUS_TWO)).isNull();
+		assertThat(IsoTemporalParser.parseOffsetTime("08:30:15+0200", PLUS_TWO)).isNull();
+		assertThat(IsoTemporalParser.parseOffsetTime("08:30:15+19:00", PLUS_TWO)).isNull();
+		assertThat(IsoTemporalParser.parseOffsetTime("08:60:15", PLUS_TWO)).isNull();
+	}
+
+	@Test
+	void testInstants() {
+		assertThat(IsoTemporalParser.parseInstant("2023-04-17T08:30:00Z", AMSTERDAM)).isEqualTo(Instant.ofEpochMilli(1681720200000L));
+		assertThat(IsoTemporalParser.parseInstant("2023-04-17 10:30:00+02:00", UTC)).isEqualTo(Instant.ofEpochMilli(1681720200000L));
+		assertThat(IsoTemporalParser.parseInstant("2023-04-17T10:30:00.000001", PLUS_TWO)).isEqualTo(Instant.ofEpochSecond(1681720200L, 1_000));
+		assertThat(IsoTemporalParser.parseInstant("2023-04-17T10:30:00", AMSTERDAM)).isEqualTo(Instant.ofEpochMilli(1681720200000L));
+		assertThat(IsoTemporalParser.parseInstant("1969-12-31T23:59:59.999Z", UTC)).isEqualTo(Instant.ofEpochMilli(-1L));
+
+		for (int year = 0; year < 10_000; year += 37) {
+			ZonedDateTime expected = ZonedDateTime.of(year, 3, 1, 12, 0, 0, 0, UTC);
+			assertThat(IsoTemporalParser.parseInstant("%04d-03-01T12:00:00Z".formatted(year), AMSTERDAM)).isEqualTo(expected.toInstant());
+		}
+
+		// Not handled: these are left to the formatter
+		assertThat(IsoTemporalParser.parseInstant("2023-04-17T08:30:00UTC", UTC)).isNull();
+		assertThat(IsoTemporalParser.parseInstant("2023-04-1708:30:00Z", UTC)).isNull();
+		assertThat(IsoTemporalParser.parseInstant("2023-04-17T08:30Z", UTC)).isNull();
+	}
+}
@@ -0,0 +1,74 @@
+package opwvhk.avro.io;
+
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParseMetricsTest {
+	@Test
+	void testLatencyHistogram() {
+		ParseMetrics metrics = new ParseMetrics();
+		metrics.recordParsed(10, 500); // 0 µs
+		metrics.recordParsed(-1, 1_500); // 1 µs
+		metrics.recordParsed(20, 3_000); // 3 µs
+		metrics.recordParsed(30, Long.MAX_VALUE);
+
+		ParseMetrics.Snapshot snapshot = metrics.snapshot();
+		assertThat(snapshot.recordsParsed()).isEqualTo(4);
+		assertThat(snapshot.inputSize()).isEqualTo(60);
+		long[] histogram = snapshot.latencyHistogram();
+		assertThat(histogram).hasSize(ParseMetrics.LATENCY_BUCKETS);
+		assertThat(histogram[0]).isEqualTo(1);
+		assertThat(histogram[1]).isEqualTo(1);
+		assertThat(histogram[2]).isEqualTo(1);
+		assertThat(histogram[ParseMetrics.LATENCY_BUCKETS - 1]).isEqualTo(1);
+	}
+
+	@Test
+	void testRecordResolverReportsDefaultValues() {
+		Schema schema = SchemaBuilder.record("Point").fields()
+				.requiredInt("x")
+				.name("y").type().intType().intDefault(0)
+				.endRecord();
+		RecordResolver resolver = new RecordResolver(GenericData.get(), schema);
+		resolver.addResolver("x", schema.getField("x"), new ScalarValueResolver(Integer::decode));
+		resolver.addResolver("y", schema.getField("y"), new ScalarValueResolver(Integer::decode));
+
+		ParseMetrics metrics = new ParseMetrics();
+		Object collector = resolver.createCollector();
+		ValueResolver xResolver = resolver.resolve("x");
+		metrics.propertyResolved(resolver, "x", xResolver);
+		collector = resolver.addProperty(collector, "x", xResolver.complete(xResolver.addContent(xResolver.createCollector(), "3")));
+		metrics.valueCompleted(xResolver);
+		metrics.propertyResolved(resolver, "z", resolver.resolve("z"));
+		metrics.propertyResolved(ValueResolver.NOOP, "nested", ValueResolver.NOOP);
+		resolver.complete(collector, metrics);
+		metrics.valueCompleted(resolver);
+
+		ParseMetrics.Snapshot snapshot = metrics.snapshot();
+		assertThat(snapshot.fieldValues()).containsExactlyEntriesOf(Map.of("Point.x", 1L));
+		assertThat(snapshot.unknownFields()).containsExactlyEntriesOf(Map.of("Point.z", 1L));
+		assertThat(snapshot.defaultValues()).containsExactlyEntriesOf(Map.of("Point.y", 1L));
+		assertThat(snapshot.completionsByResolverType()).containsEntry("RecordResolver", 1L).containsEntry("ScalarValueResolver", 1L).hasSize(2);
+	}
+
+	@Test
+	void testDefaultValuesAreCountedPerRecord() {
+		Schema order = SchemaBuilder.record("Order").namespace("ns").fields().name("id").type().intType().intDefault(0).endRecord();
+		Schema customer = SchemaBuilder.record("Customer").namespace("ns").fields().name("id").type().intType().intDefault(0).endRecord();
+		RecordResolver orderResolver = new RecordResolver(GenericData.get(), order);
+		RecordResolver customerResolver = new RecordResolver(GenericData.get(), customer);
+
+		ParseMetrics metrics = new ParseMetrics();
+		orderResolver.complete(orderResolver.createCollector(), metrics);
+		orderResolver.complete(orderResolver.createCollector(), metrics);
+		customerResolver.complete(customerResolver.createCollector(), metrics);
+
+		assertThat(metrics.snapshot().defaultValues()).containsExactlyInAnyOrderEntriesOf(Map.of("ns.Order.id", 2L, "ns.Customer.id", 1L));
+	}
+}
@@ -0,0 +1,111 @@
+package opwvhk.avro.io;
+
+import org.apache.avro.LogicalTypes;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.OffsetTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.time.ZoneOffset.UTC;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResolverCacheTest {
+	@Test
+	void testCachingAndEviction() {
+		ResolverCache cache = new ResolverCache(2);
+		AtomicInteger created = new AtomicInteger();
+
+		ValueResolver first = cache.get("first", () -> countingResolver(created));
+		assertThat(cache.get("first", () -> countingResolver(created))).isSameAs(first);
+		assertThat(created).hasValue(1);
+
+		cache.get("second", () -> countingResolver(created));
+		cache.get("first", () -> countingResolver(created)); // Now "second" is the least recently used entry
+		cache.get("third", () -> countingResolver(created));
+		assertThat(cache.size()).isEqualTo(2);
+		assertThat(created).hasValue(3);
+
+		assertThat(cache.get("first", () -> countingResolver(created))).isSameAs(first);
+		cache.get("second", () -> countingResolver(created));
+		assertThat(created).hasValue(4);
+
+		cache.clear();
+		assertThat(cache.size()).isEqualTo(0);
+	}
+
+	@Test
+	void testDisablingTheCache() {
+		ResolverCache cache = new ResolverCache(0);
+		AtomicInteger created = new AtomicInteger();
+
+		cache.get("key", () -> countingResolver(created));
+		cache.get("key", () -> countingResolver(created));
+		assertThat(created).hasValue(2);
+		assertThat(cache.size()).isEqualTo(0);
+
+		assertThatThrownBy(() -> cache.setMaximumSize(-1)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void testParsersShareResolversOnlyWhenFingerprinted() {
+		Schema readSchema = Schema.createRecord("Record", null, null, false, List.of(
+				new Schema.Field("text", Schema.create(Schema.Type.STRING))));
+		Schema equalReadSchema = new Schema.Parser().parse(readSchema.toString());
+
+		ValueResolver fingerprinted1 = new FingerprintedParser(readSchema).getResolver();
+		ValueResolver fingerprinted2 = new FingerprintedParser(equalReadSchema).getResolver();
+		assertThat(fingerprinted2).isSameAs(fingerprinted1);
+
+		ValueResolver plain1 = new AsAvroParserBase<>(GenericData.get(), null, readSchema, Set.of(), UTC) {
+		}.getResolver();
+		ValueResolver plain2 = new AsAvroParserBase<>(GenericData.get(), null, readSchema, Set.of(), UTC) {
+		}.getResolver();
+		assertThat(plain2).isNotSameAs(plain1);
+	}
+
+	@Test
+	void testParsersShareResolversOnlyForTheSameFallbackOffset() {
+		Schema readSchema = Schema.createRecord("Event", null, null, false, List.of(
+				new Schema.Field("time", LogicalTypes.timeMillis().addToSchema(Schema.create(Schema.Type.INT)))));
+		ZoneId amsterdam = ZoneId.of("Europe/Amsterdam");
+		Clock winter = Clock.fixed(Instant.parse("2024-01-15T12:00:00Z"), UTC);
+		Clock lateWinter = Clock.fixed(Instant.parse("2024-02-15T12:00:00Z"), UTC);
+		Clock summer = Clock.fixed(Instant.parse("2024-07-15T12:00:00Z"), UTC);
+
+		ValueResolver winterResolver = new FingerprintedParser(readSchema, amsterdam, winter).getResolver();
+		assertThat(new FingerprintedParser(readSchema, amsterdam, lateWinter).getResolver()).isSameAs(winterResolver);
+		ValueResolver summerResolver = new FingerprintedParser(readSchema, amsterdam, summer).getResolver();
+		assertThat(summerResolver).isNotSameAs(winterResolver);
+
+		ValueResolver timeResolver = summerResolver.resolve("time");
+		assertThat(timeResolver.addContent(timeResolver.createCollector(), "12:34:56")).isEqualTo(OffsetTime.parse("12:34:56+02:00"));
+	}
+
+	private static ValueResolver countingResolver(AtomicInteger counter) {
+		counter.incrementAndGet();
+		return new ScalarValueResolver(s -> s);
+	}
+
+	private static class FingerprintedParser extends AsAvroParserBase<Object> {
+		private FingerprintedParser(Schema readSchema) {
+			super(GenericData.get(), null, readSchema);
+		}
+
+		private FingerprintedParser(Schema readSchema, ZoneId fallbackTimezone, Clock clock) {
+			super(GenericData.get(), null, readSchema, Set.of(), fallbackTimezone, clock);
+		}
+
+		@Override
+		protected Object writeSchemaFingerprint(Object writeSchema) {
+			return "no write schema";
+		}
+	}
+}
@@ -0,0 +1,77 @@
+package opwvhk.avro.io;
+
+import opwvhk.avro.json.JsonAsAvroParser;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.message.BinaryMessageDecoder;
+import org.apache.avro.message.BinaryMessageEncoder;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleObjectEncoderTest {
+	private static final Schema SCHEMA = SchemaBuilder.record("Event").fields()
+			.requiredLong("id")
+			.requiredString("name")
+			.name("tags").type().array().items().stringType().arrayDefault(List.of())
+			.endRecord();
+
+	@Test
+	void testEncodingIsCompatibleWithAvro() throws IOException {
+		JsonAsAvroParser parser = new JsonAsAvroParser(SCHEMA, GenericData.get());
+		GenericRecord record = parser.parse("""
+				{"id": 42, "name": "answer", "tags": ["deep", "thought"]}""");
+		SingleObjectEncoder encoder = new SingleObjectEncoder(SCHEMA, GenericData.get());
+
+		ByteBuffer message = encoder.encode(record);
+		assertThat(message).isEqualTo(new BinaryMessageEncoder<GenericRecord>(GenericData.get(), SCHEMA).encode(record));
+		BinaryMessageDecoder<GenericRecord> decoder = new BinaryMessageDecoder<>(GenericData.get(), SCHEMA);
+		assertThat(decoder.decode(message)).isEqualTo(record);
+
+		ByteBuffer target = ByteBuffer.allocate(100);
+		int size = encoder.encode(record, target);
+		assertThat(size).isEqualTo(message.remaining());
+		assertThat(target.position()).isEqualTo(size);
+		assertThat(target.flip()).isEqualTo(message);
+
+		ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		encoder.encode(record, stream);
+		assertThat(ByteBuffer.wrap(stream.toByteArray())).isEqualTo(message);
+
+		ByteBuffer tooSmall = ByteBuffer.allocate(size - 1);
+		assertThatThrownBy(() -> encoder.encode(record, tooSmall)).isInstanceOf(BufferOverflowException.class);
+	}
+
+	@Test
+	void testHeaderContainsFingerprint() {
+		SingleObjectEncoder encoder = new SingleObjectEncoder(SCHEMA, GenericData.get());
+		GenericData.Record record = new GenericData.Record(SCHEMA);
+		record.put("id", 1L);
+		record.put("name", "one");
+		record.put("tags", List.of());
+
+		ByteBuffer message = encoder.encode(record);
+		assertThat(message.get(0)).isEqualTo((byte) 0xC3);
+		assertThat(message.get(1)).isEqualTo((byte) 0x01);
+		assertThat(message.order(ByteOrder.LITTLE_ENDIAN).getLong(2)).isEqualTo(encoder.fingerprint());
+	}
+
+	@Test
+	void testInvalidRecordsFail() {
+		SingleObjectEncoder encoder = new SingleObjectEncoder(SCHEMA, GenericData.get());
+		GenericData.Record record = new GenericData.Record(SCHEMA);
+		record.put("id", 1L);
+
+		assertThatThrownBy(() -> encoder.encode(record)).isInstanceOf(NullPointerException.class).hasMessageContaining("Event.name");
+	}
+}
@@ -0,0 +1,114 @@
+package opwvhk.avro.io;
+
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaParser;
+import org.apache.avro.specific.SpecificData;
+import org.apache.avro.specific.SpecificRecordBase;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpecificRecordResolverTest {
+	@Test
+	void testResolvingSpecificRecords() {
+		ValueResolver resolver = new AsAvroParserBase<>(SpecificData.get(), null, Measurement.SCHEMA$, Set.of(Measurement.SCHEMA$.getField("count"))) {
+		}.getResolver();
+		assertThat(resolver).isInstanceOf(SpecificRecordResolver.class);
+
+		Object collector = resolver.createCollector();
+		collector = resolveScalar(resolver, collector, "name", "temperature");
+		ValueResolver tagsResolver = resolver.resolve("tag");
+		Object tags = tagsResolver.createCollector();
+		tags = resolveScalar(tagsResolver, tags, "anything", "outside");
+		tags = resolveScalar(tagsResolver, tags, "anything", "north");
+		collector = resolver.addProperty(collector, "tag", tagsResolver.complete(tags));
+		collector = resolveScalar(resolver, collector, "unknown", "ignored");
+		Object result = resolver.complete(collector);
+
+		assertThat(result).isInstanceOf(Measurement.class);
+		Measurement measurement = (Measurement) result;
+		assertThat(measurement.name).isEqualTo("temperature");
+		assertThat(measurement.count).isEqualTo(0); // Missing, but primitive: not set
+		assertThat(measurement.value).isEqualTo(1.5); // Default value
+		assertThat(measurement.tags).containsExactly("outside", "north");
+	}
+
+	@Test
+	void testImplicitArrayFields() {
+		SpecificRecordResolver resolver = new SpecificRecordResolver(SpecificData.get(), Measurement.SCHEMA$, Measurement.class);
+		resolver.addResolver("name", Measurement.SCHEMA$.getField("name"), new ScalarValueResolver(s -> s));
+		resolver.addArrayResolver("tag", Measurement.SCHEMA$.getField("tags"), new ScalarValueResolver(s -> s));
+
+		Object collector = resolver.createCollector();
+		collector = resolveScalar(resolver, collector, "tag", "outside");
+		collector = resolveScalar(resolver, collector, "tag", "north");
+		Measurement measurement = (Measurement) resolver.complete(collector);
+		assertThat(measurement.name).isNull();
+		assertThat(measurement.tags).containsExactly("outside", "north");
+	}
+
+	@Test
+	void testGenericRecordsWithoutGeneratedClass() {
+		Schema schema = new SchemaParser().parse("""
+				{"type": "record", "name": "NoSuchClass", "namespace": "opwvhk.avro.io", "fields": [{"name": "name", "type": "string"}]}
+				""").mainSchema();
+		ValueResolver resolver = new AsAvroParserBase<>(SpecificData.get(), null, schema) {
+		}.getResolver();
+		assertThat(resolver).isNotInstanceOf(SpecificRecordResolver.class);
+	}
+
+	private Object resolveScalar(ValueResolver resolver, Object collector, String propertyName, String formattedValue) {
+		ValueResolver propertyResolver = resolver.resolve(propertyName);
+		Object parsedValue = propertyResolver.complete(propertyResolver.addContent(propertyResolver.createCollector(), formattedValue));
+		return resolver.addProperty(collector, propertyName, parsedValue);
+	}
+
+	/**
+	 * A record class as generated by Avro (simplified).
+	 */
+	public static class Measurement extends SpecificRecordBase {
+		public static final Schema SCHEMA$ = new SchemaParser().parse("""
+				{"type": "record", "name": "Measurement", "namespace": "opwvhk.avro.io.SpecificRecordResolverTest", "fields": [
+				    {"name": "name", "type": "string"},
+				    {"name": "count", "type": "int"},
+				    {"name": "value", "type": "double", "default": 1.5},
+				    {"name": "tags", "type": {"type": "array", "items": "string"}, "aliases": ["tag"], "default": []}
+				]}
+				""").mainSchema();
+
+		private String name;
+		private int count;
+		private double value;
+		private List<String> tags;
+
+		@Override
+		public Schema getSchema() {
+			return SCHEMA$;
+		}
+
+		@Override
+		public Object get(int field) {
+			return switch (field) {
+				case 0 -> name;
+				case 1 -> count;
+				case 2 -> value;
+				case 3 -> tags;
+				default -> throw new IndexOutOfBoundsException("Invalid index: " + field);
+			};
+		}
+
+		@Override
+		public void put(int field, Object fieldValue) {
+			switch (field) {
+				case 0 -> name = (String) fieldValue;
+				case 1 -> count = (Integer) fieldValue;
+				case 2 -> value = (Double) fieldValue;
+				case 3 -> tags = (List<String>) fieldValue;
+				default -> throw new IndexOutOfBoundsException("Invalid index: " + field);
+			}
+		}
+	}
+}
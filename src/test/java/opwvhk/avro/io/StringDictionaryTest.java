@@ -0,0 +1,79 @@
+package opwvhk.avro.io;
+
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaParser;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.util.Utf8;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StringDictionaryTest {
+	@Test
+	void testCanonicalInstancesAndStatistics() {
+		StringDictionary dictionary = new StringDictionary(2);
+		assertThat(dictionary.hitRate()).isEqualTo(0.0);
+
+		String first = dictionary.canonical(new String("first"));
+		assertThat(dictionary.canonical(new String("first"))).isSameAs(first);
+		String second = dictionary.canonical(new String("second"));
+		assertThat(dictionary.canonical(new String("second"))).isSameAs(second);
+		assertThat(dictionary.size()).isEqualTo(2);
+
+		// The dictionary is full: new values are not added
+		String third = new String("third");
+		assertThat(dictionary.canonical(third)).isSameAs(third);
+		assertThat(dictionary.canonical(new String("third"))).isNotSameAs(third);
+		assertThat(dictionary.size()).isEqualTo(2);
+
+		assertThat(dictionary.hits()).isEqualTo(2);
+		assertThat(dictionary.misses()).isEqualTo(4);
+		assertThat(dictionary.hitRate()).isEqualTo(1.0 / 3);
+
+		// Utf8 instances share the size limit
+		Object utf8 = dictionary.canonicalUtf8("first");
+		assertThat(utf8).isEqualTo(new Utf8("first"));
+		assertThat((Object) dictionary.canonicalUtf8("first")).isNotSameAs(utf8);
+
+		assertThatThrownBy(() -> new StringDictionary(-1)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void testNamedDictionaries() {
+		StringDictionary dictionary = StringDictionary.named("StringDictionaryTest.named", 5);
+		assertThat(StringDictionary.named("StringDictionaryTest.named")).isSameAs(dictionary);
+		assertThat(StringDictionary.named("StringDictionaryTest.other")).isNotSameAs(dictionary);
+	}
+
+	@Test
+	void testParsingWithDictionary() {
+		Schema readSchema = new SchemaParser().parse("""
+				{"type": "string", "dictionary": "StringDictionaryTest.parsing"}""").mainSchema();
+		ValueResolver resolver = new AsAvroParserBase<>(GenericData.get(), null, readSchema) {
+		}.getResolver();
+
+		Object first = resolver.complete(resolver.addContent(resolver.createCollector(), new String("value")));
+		Object second = resolver.complete(resolver.addContent(resolver.createCollector(), new String("value")));
+		assertThat(second).isEqualTo("value").isSameAs(first);
+		assertThat(StringDictionary.named("StringDictionaryTest.parsing").hits()).isEqualTo(1);
+	}
+
+	@Test
+	void testParsingAsUtf8() {
+		Schema plainSchema = new SchemaParser().parse("""
+				{"type": "string", "avro.java.string": "Utf8"}""").mainSchema();
+		ValueResolver plainResolver = new AsAvroParserBase<>(GenericData.get(), null, plainSchema) {
+		}.getResolver();
+		Object plain = plainResolver.complete(plainResolver.addContent(plainResolver.createCollector(), "value"));
+		assertThat(plain).isInstanceOf(Utf8.class).hasToString("value");
+
+		Schema dictionarySchema = new SchemaParser().parse("""
+				{"type": "string", "avro.java.string": "Utf8", "dictionary": "StringDictionaryTest.utf8"}""").mainSchema();
+		ValueResolver resolver = new AsAvroParserBase<>(GenericData.get(), null, dictionarySchema) {
+		}.getResolver();
+		Object first = resolver.complete(resolver.addContent(resolver.createCollector(), "value"));
+		Object second = resolver.complete(resolver.addContent(resolver.createCollector(), "value"));
+		assertThat(second).isInstanceOf(Utf8.class).isEqualTo(new Utf8("value")).isSameAs(first);
+	}
+}
@@ -1,15 +1,24 @@
 package opwvhk.avro.json;
 
 import opwvhk.avro.ResolvingFailure;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import opwvhk.avro.io.ParseMetrics;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericData;
 import org.apache.avro.generic.GenericRecord;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
@@ -131,6 +140,72 @@ class JsonAsAvroParserTest {
 				 "'fancy': null, 'rabbitHole': null}}").replace('\'', '"'));
 	}
 
+	@Test
+	void testRecursiveRecordFromAvroSchema() throws IOException {
+		Schema readSchema = avroSchema("TestRecordProjection.avsc");
+
+		JsonAsAvroParser parser = new JsonAsAvroParser(readSchema, GenericData.get());
+		GenericRecord record = parser.parse("""
+				{"bool": true, "choice": "yes", "weirdStuff": {"rabbitHole": {"fancy": "deep", "rabbitHole": {"fancy": "deeper"}}}}""");
+
+		GenericRecord rabbitHole = (GenericRecord) ((GenericRecord) record.get("weirdStuff")).get("rabbitHole");
+		assertThat(rabbitHole.get("fancy")).isEqualTo("deep");
+		assertThat(((GenericRecord) rabbitHole.get("rabbitHole")).get("fancy")).isEqualTo("deeper");
+	}
+
+	@Test
+	void testParseMetrics() throws IOException {
+		Schema readSchema = avroSchema("TestRecordProjection.avsc");
+
+		JsonAsAvroParser parser = new JsonAsAvroParser(readSchema, GenericData.get());
+		ParseMetrics metrics = new ParseMetrics();
+		parser.setParseListener(metrics);
+		String json = """
+				{"bool": true, "choice": "no", "texts": ["a", "b"], "weirdStuff": {"fancy": "yes"}, "unknown": 1}""";
+		parser.parse(json);
+		parser.parse(json);
+
+		ParseMetrics.Snapshot snapshot = metrics.snapshot();
+		assertThat(snapshot.recordsParsed()).isEqualTo(2);
+		assertThat(snapshot.inputSize()).isEqualTo(2L * json.length());
+		assertThat(snapshot.fieldValues()).containsEntry("TestCase.bool", 2L).containsEntry("TestCase.texts", 2L).containsKey("weirdStuff.fancy");
+		assertThat(snapshot.unknownFields()).containsExactly(Map.entry("TestCase.unknown", 2L));
+		assertThat(snapshot.defaultValues()).containsEntry("TestCase.defaultInt", 2L).containsEntry("weirdStuff.explanation", 2L)
+				.doesNotContainKey("TestCase.bool");
+		assertThat(snapshot.completionsByResolverType()).containsEntry("RecordResolver", 4L).containsEntry("ListResolver", 2L);
+		assertThat(Arrays.stream(snapshot.latencyHistogram()).sum()).isEqualTo(2);
+
+		parser.setParseListener(null);
+		parser.parse(json);
+		assertThat(metrics.snapshot().recordsParsed()).isEqualTo(2);
+	}
+
+	@Test
+	void testFlightRecorderEvents(@TempDir Path tempDir) throws IOException {
+		Schema readSchema = avroSchema("TestRecordProjection.avsc");
+		Path recordingFile = tempDir.resolve("parse.jfr");
+		try (Recording recording = new Recording()) {
+			recording.enable("opwvhk.avro.ResolverConstruction");
+			recording.enable("opwvhk.avro.Parse");
+			recording.start();
+
+			JsonAsAvroParser parser = new JsonAsAvroParser(readSchema, GenericData.get());
+			parser.parse("{\"bool\": true}");
+			assertThatThrownBy(() -> parser.parse("{\"shortInt\": \"many\"}")).isInstanceOf(NumberFormatException.class);
+
+			recording.stop();
+			recording.dump(recordingFile);
+		}
+
+		List<RecordedEvent> events = RecordingFile.readAllEvents(recordingFile);
+		assertThat(events).extracting(event -> event.getEventType().getName())
+				.containsExactly("opwvhk.avro.ResolverConstruction", "opwvhk.avro.Parse", "opwvhk.avro.Parse");
+		assertThat(events).allSatisfy(event -> assertThat(event.getString("recordType")).isEqualTo("TestCase"));
+		assertThat(events.get(1).getLong("inputSize")).isEqualTo(14);
+		assertThat(events.get(1).getString("outcome")).isEqualTo("success");
+		assertThat(events.get(2).getString("outcome")).isEqualTo(NumberFormatException.class.getName());
+	}
+
 	@Test
 	void testParsingDatesAndTimesFromAvro() throws IOException {
 		Schema readSchema = avroSchema("DatesAndTimes.avsc");
@@ -160,6 +235,22 @@ class JsonAsAvroParserTest {
 		assertThatThrownBy(() -> parser.parse("{\"text\": []}")).isInstanceOf(IllegalStateException.class);
 	}
 
+	@Test
+	void testNullItemsInArraysOfNonNullValuesFail() throws IOException {
+		Schema readSchema = new Schema.Parser().parse("""
+				{"type": "record", "name": "Arrays", "fields": [
+				  {"name": "numbers", "type": {"type": "array", "items": "double"}, "default": []},
+				  {"name": "optionalNumbers", "type": {"type": "array", "items": ["null", "int"]}, "default": []}
+				]}""");
+
+		JsonAsAvroParser parser = new JsonAsAvroParser(readSchema, GenericData.get());
+		assertThatThrownBy(() -> parser.parse("{\"numbers\": [1.5, null]}"))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Array items of type \"double\" cannot be null");
+		GenericRecord record = parser.parse("{\"optionalNumbers\": [1, null]}");
+		assertThat(record.get("optionalNumbers")).asList().containsExactly(1, null);
+	}
+
 	private Schema avroSchema(String avroSchemaResource) throws IOException {
 		try (InputStream expectedSchemaStream = getClass().getResourceAsStream(avroSchemaResource)) {
 			return new Schema.Parser().parse(expectedSchemaStream);
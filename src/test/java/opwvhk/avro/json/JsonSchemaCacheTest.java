@@ -0,0 +1,101 @@
+package opwvhk.avro.json;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JsonSchemaCacheTest {
+	@Test
+	void testSchemasAreAnalyzedOnceUntilChanged(@TempDir Path tempDir) throws IOException {
+		Path file = Files.writeString(tempDir.resolve("schema.json"), "{\"$ref\": \"types.json\"}");
+		Path referenced = Files.writeString(tempDir.resolve("types.json"), "{\"type\": \"string\"}");
+		List<URI> analyzed = new ArrayList<>();
+		BiFunction<URI, Set<URI>, SchemaProperties> analysis = (location, documents) -> {
+			analyzed.add(location);
+			documents.add(referenced.toUri());
+			return new SchemaProperties(false);
+		};
+		JsonSchemaCache cache = new JsonSchemaCache(10);
+
+		SchemaProperties first = cache.get(file.toUri(), analysis);
+		assertThat(cache.get(file.toUri(), analysis)).isSameAs(first);
+		assertThat(analyzed).hasSize(1);
+
+		Files.writeString(file, "{\"$ref\": \"types.json#\"}");
+		SchemaProperties second = cache.get(file.toUri(), analysis);
+		assertThat(second).isNotSameAs(first);
+		assertThat(analyzed).hasSize(2);
+
+		Files.writeString(referenced, "{\"type\": \"integer\"}");
+		assertThat(cache.get(file.toUri(), analysis)).isNotSameAs(second);
+		assertThat(analyzed).hasSize(3);
+		assertThat(cache.size()).isEqualTo(1);
+
+		cache.clear();
+		cache.setMaximumSize(0);
+		cache.get(file.toUri(), analysis);
+		assertThat(cache.size()).isZero();
+		assertThat(analyzed).hasSize(4);
+	}
+
+	@Test
+	void testRemoteSchemasAreAnalyzedAgainWhenInvalidated() {
+		URI remoteLocation = URI.create("https://example.com/schemas/order.json");
+		URI referencedLocation = URI.create("https://example.com/schemas/types.json");
+		List<URI> analyzed = new ArrayList<>();
+		BiFunction<URI, Set<URI>, SchemaProperties> analysis = (location, documents) -> {
+			analyzed.add(location);
+			documents.add(referencedLocation);
+			return new SchemaProperties(false);
+		};
+		JsonSchemaCache cache = new JsonSchemaCache(10);
+
+		SchemaProperties first = cache.get(remoteLocation, analysis);
+		assertThat(cache.get(remoteLocation, analysis)).isSameAs(first);
+		assertThat(analyzed).hasSize(1);
+
+		cache.invalidate(URI.create("https://example.com/schemas/other.json"));
+		assertThat(cache.get(remoteLocation, analysis)).isSameAs(first);
+		cache.invalidate(referencedLocation);
+		assertThat(cache.get(remoteLocation, analysis)).isNotSameAs(first);
+		assertThat(analyzed).containsExactly(remoteLocation, remoteLocation);
+	}
+
+	@Test
+	void testSchemasCanBeReadFromLocalDirectories(@TempDir Path tempDir) throws IOException {
+		Files.createDirectories(tempDir.resolve("orders"));
+		Path file = Files.writeString(tempDir.resolve("orders/order.json"), "{\"type\": \"object\"}");
+		JsonSchemaCache cache = new JsonSchemaCache(10);
+		cache.addLocalDirectory("https://example.com/", tempDir.resolve("unused"));
+		cache.addLocalDirectory("https://example.com/schemas/", tempDir);
+
+		URI remoteLocation = URI.create("https://example.com/schemas/orders/order.json");
+		assertThat(cache.resolve(remoteLocation)).isEqualTo(file.toUri());
+		assertThat(cache.resolve(URI.create("https://example.org/order.json"))).isEqualTo(URI.create("https://example.org/order.json"));
+
+		List<URI> analyzed = new ArrayList<>();
+		cache.get(remoteLocation, (location, documents) -> {
+			analyzed.add(location);
+			return new SchemaProperties(false);
+		});
+		assertThat(analyzed).containsExactly(file.toUri());
+	}
+
+	@Test
+	void testMissingSchemasFail(@TempDir Path tempDir) {
+		JsonSchemaCache cache = new JsonSchemaCache(10);
+		URI missing = tempDir.resolve("missing.json").toUri();
+		assertThatThrownBy(() -> cache.get(missing, (location, documents) -> new SchemaProperties(false))).isInstanceOf(AnalysisFailure.class);
+	}
+}
@@ -0,0 +1,174 @@
+package opwvhk.avro.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import opwvhk.avro.WorkloadRandom;
+import opwvhk.avro.WorkloadSettings;
+import org.apache.avro.LogicalType;
+import org.apache.avro.LogicalTypes;
+import org.apache.avro.Schema;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.URI;
+import java.util.List;
+
+/**
+ * <p>Generator for synthetic JSON workloads: documents and NDJSON streams with random data, matching an Avro schema.</p>
+ *
+ * <p>The schema is typically the result of {@link SchemaAnalyzer#parseJsonSchema(URI)}, so the data also matches the JSON schema. Note that only types,
+ * formats and enum values are known: limits and patterns in the JSON schema are not taken into account. To stay within common limits, numbers are small:
+ * between 0 and 10,000 (except decimals, which use their full precision).</p>
+ *
+ * <p>The generated data is deterministic: a generator with the same schema and settings yields the same data.</p>
+ */
+public class JsonWorkloadGenerator {
+	private static final JsonFactory JSON_FACTORY = new JsonFactory().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+	private final Schema schema;
+	private final WorkloadRandom random;
+
+	/**
+	 * Create a generator for JSON data matching a JSON schema.
+	 *
+	 * @param jsonSchemaLocation the location of the JSON schema
+	 * @param settings           the workload settings
+	 * @return a JSON workload generator
+	 */
+	public static JsonWorkloadGenerator forJsonSchema(URI jsonSchemaLocation, WorkloadSettings settings) {
+		return new JsonWorkloadGenerator(new SchemaAnalyzer().parseJsonSchema(jsonSchemaLocation), settings);
+	}
+
+	/**
+	 * Create a generator for JSON data matching an Avro schema.
+	 *
+	 * @param schema   the (write) schema of the data to generate
+	 * @param settings the workload settings
+	 */
+	public JsonWorkloadGenerator(Schema schema, WorkloadSettings settings) {
+		this.schema = schema;
+		random = new WorkloadRandom(settings);
+	}
+
+	/**
+	 * Generate a JSON document.
+	 *
+	 * @return a JSON document
+	 */
+	public String document() {
+		StringWriter writer = new StringWriter();
+		try {
+			writeDocument(writer);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return writer.toString();
+	}
+
+	/**
+	 * Generate a JSON document.
+	 *
+	 * @param writer the writer to write the document to
+	 * @throws IOException when the document cannot be written
+	 */
+	public void writeDocument(Writer writer) throws IOException {
+		try (JsonGenerator generator = JSON_FACTORY.createGenerator(writer)) {
+			writeValue(generator, schema, 0);
+		}
+	}
+
+	/**
+	 * Generate an NDJSON stream: JSON documents, each on a single line.
+	 *
+	 * @param writer        the writer to write the stream to
+	 * @param documentCount the number of documents to write
+	 * @throws IOException when the stream cannot be written
+	 */
+	public void writeNdjson(Writer writer, long documentCount) throws IOException {
+		try (JsonGenerator generator = JSON_FACTORY.createGenerator(writer)) {
+			generator.setPrettyPrinter(new MinimalPrettyPrinter(""));
+			for (long i = 0; i < documentCount; i++) {
+				writeValue(generator, schema, 0);
+				generator.writeRaw('\n');
+			}
+		}
+	}
+
+	private void writeValue(JsonGenerator generator, Schema valueSchema, int depth) throws IOException {
+		LogicalType logicalType = valueSchema.getLogicalType();
+		switch (valueSchema.getType()) {
+			case RECORD -> writeRecord(generator, valueSchema, depth);
+			case ARRAY -> {
+				generator.writeStartArray();
+				for (int count = random.count(depth, 0, Integer.MAX_VALUE); count > 0; count--) {
+					writeValue(generator, valueSchema.getElementType(), depth + 1);
+				}
+				generator.writeEndArray();
+			}
+			case MAP -> {
+				generator.writeStartObject();
+				for (int count = random.count(depth, 0, Integer.MAX_VALUE); count > 0; count--) {
+					generator.writeFieldName(random.nextString(1, Integer.MAX_VALUE));
+					writeValue(generator, valueSchema.getValueType(), depth + 1);
+				}
+				generator.writeEndObject();
+			}
+			case UNION -> {
+				// Unions are written untagged, and nulls only when the field is omitted.
+				List<Schema> nonNullTypes = valueSchema.getTypes().stream().filter(type -> type.getType() != Schema.Type.NULL).toList();
+				writeValue(generator, random.choose(nonNullTypes), depth);
+			}
+			case ENUM -> generator.writeString(random.choose(valueSchema.getEnumSymbols()));
+			case STRING -> generator.writeString(random.nextString());
+			case BYTES, FIXED -> {
+				if (logicalType instanceof LogicalTypes.Decimal decimal) {
+					generator.writeNumber(random.nextDecimal(decimal.getPrecision(), decimal.getScale()));
+				} else {
+					int size = valueSchema.getType() == Schema.Type.FIXED ? valueSchema.getFixedSize() : random.nextByteCount();
+					generator.writeString("base16".equals(valueSchema.getProp("format")) ? random.nextHex(size) : random.nextBase64(size));
+				}
+			}
+			case INT -> {
+				if (logicalType instanceof LogicalTypes.Date) {
+					generator.writeString(random.nextDate());
+				} else if (logicalType instanceof LogicalTypes.TimeMillis) {
+					generator.writeString(random.nextTime());
+				} else {
+					generator.writeNumber(random.nextLong(0, 10_000));
+				}
+			}
+			case LONG -> {
+				if (logicalType instanceof LogicalTypes.TimestampMillis || logicalType instanceof LogicalTypes.TimestampMicros) {
+					generator.writeString(random.nextTimestamp());
+				} else if (logicalType instanceof LogicalTypes.LocalTimestampMillis || logicalType instanceof LogicalTypes.LocalTimestampMicros) {
+					generator.writeString(random.nextLocalTimestamp());
+				} else if (logicalType instanceof LogicalTypes.TimeMicros) {
+					generator.writeString(random.nextTime());
+				} else {
+					generator.writeNumber(random.nextLong(0, 10_000));
+				}
+			}
+			case FLOAT, DOUBLE -> generator.writeNumber(random.nextDouble());
+			case BOOLEAN -> generator.writeBoolean(random.nextBoolean());
+			case NULL -> generator.writeNull();
+		}
+	}
+
+	private void writeRecord(JsonGenerator generator, Schema recordSchema, int depth) throws IOException {
+		generator.writeStartObject();
+		for (Schema.Field field : recordSchema.getFields()) {
+			boolean required = !field.schema().isNullable() && !field.hasDefaultValue();
+			if (required || random.includeOptional(depth)) {
+				generator.writeFieldName(field.name());
+				writeValue(generator, field.schema(), depth + 1);
+			}
+		}
+		if (random.addUnknownField()) {
+			generator.writeStringField(random.unknownFieldName(), random.nextString());
+		}
+		generator.writeEndObject();
+	}
+}
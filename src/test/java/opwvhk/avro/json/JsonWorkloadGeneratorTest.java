@@ -0,0 +1,50 @@
+package opwvhk.avro.json;
+
+import opwvhk.avro.WorkloadSettings;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonWorkloadGeneratorTest {
+	@Test
+	void testGeneratedDocumentsCanBeParsed() throws IOException {
+		Schema schema = avroSchema("TestRecordAll.avsc");
+		JsonAsAvroParser parser = new JsonAsAvroParser(schema, GenericData.get());
+		WorkloadSettings settings = WorkloadSettings.defaults(42).withOptionalFieldRate(0.8).withArraySizes(1, 10).withUnknownFieldRate(0.2);
+		JsonWorkloadGenerator generator = new JsonWorkloadGenerator(schema, settings);
+
+		StringWriter buffer = new StringWriter();
+		generator.writeNdjson(buffer, 50);
+		List<String> lines = buffer.toString().lines().toList();
+		assertThat(lines).hasSize(50);
+		for (String line : lines) {
+			GenericRecord record = parser.parse(line);
+			assertThat(record.getSchema()).isEqualTo(schema);
+		}
+	}
+
+	@Test
+	void testGenerationIsDeterministic() throws IOException {
+		Schema schema = avroSchema("TestRecordAll.avsc");
+		WorkloadSettings settings = WorkloadSettings.defaults(7);
+		JsonWorkloadGenerator generator1 = new JsonWorkloadGenerator(schema, settings);
+		JsonWorkloadGenerator generator2 = new JsonWorkloadGenerator(schema, settings);
+		String document = generator1.document();
+		assertThat(generator2.document()).isEqualTo(document);
+		assertThat(generator1.document()).isNotEqualTo(document);
+	}
+
+	private Schema avroSchema(String avroSchemaResource) throws IOException {
+		try (InputStream expectedSchemaStream = getClass().getResourceAsStream(avroSchemaResource)) {
+			return new Schema.Parser().parse(expectedSchemaStream);
+		}
+	}
+}
@@ -9,6 +9,7 @@ import org.junit.jupiter.api.Test;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.StringReader;
+import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 
@@ -95,11 +96,36 @@ class AvroSchemaUtilsTest {
 	}
 
 	@Test
-	void checkDocumentationNewlinesAreHtml() {
-		String textWithNewlines = "Line 1\nLine 2\nLine 3";
-		AvroSchemaUtils.Entry entry = new AvroSchemaUtils.Entry("path.to.entry", "test", textWithNewlines);
-		assertThat(entry.documentation()).isEqualTo(textWithNewlines);
-		assertThat(entry.toString()).isEqualTo("| path.to.entry | test | Line 1<br/>Line 2<br/>Line 3 |\n");
+	void testDocumentationCanBeStreamed() throws IOException {
+		Schema schema = new Schema.Parser().parse("""
+				{"type": "record", "name": "Node", "doc": "A <linked>\\nlist", "fields": [
+				  {"name": "value", "type": "string", "doc": "The value"},
+				  {"name": "next", "type": ["null", "Node"], "doc": "The next node", "default": null}
+				]}""");
+
+		StringWriter writer = new StringWriter();
+		AvroSchemaUtils.documentAsMarkdown(schema, writer);
+
+		assertThat(writer.toString()).isEqualTo(AvroSchemaUtils.documentAsMarkdown(schema)).isEqualTo("""
+				| Field(path) | Type | Documentation |
+				|-------------|------|---------------|
+				|  | record | Type: A &lt;linked><br/>list |
+				| value | string | The value |
+				| next? | record | The next node<br/>Type: A &lt;linked><br/>list |
+				""");
+	}
+
+	@Test
+	void checkDocumentationNewlinesAreHtml() throws IOException {
+		Schema schema = new Schema.Parser().parse("""
+				{"type": "record", "name": "Entry", "fields": [
+				  {"name": "value", "type": "string", "doc": "Line 1\\nLine <2>\\nLine 3"}
+				]}""");
+
+		StringWriter writer = new StringWriter();
+		AvroSchemaUtils.documentAsMarkdown(schema, writer);
+
+		assertThat(writer.toString()).contains("| value | string | Line 1<br/>Line &lt;2><br/>Line 3 |\n");
 	}
 
 	@Test
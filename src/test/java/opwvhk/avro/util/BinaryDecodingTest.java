@@ -0,0 +1,45 @@
+package opwvhk.avro.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BinaryDecodingTest {
+	@Test
+	void testBase16() {
+		assertThat(BinaryDecoding.decodeBase16("")).isEmpty();
+		assertThat(BinaryDecoding.decodeBase16("48656C6c6F")).isEqualTo("Hello".getBytes(StandardCharsets.US_ASCII));
+		assertThat(BinaryDecoding.decodeBase16("00FF7f80")).containsExactly(0x00, 0xFF, 0x7F, 0x80);
+		assertThat(BinaryDecoding.base16Size("00FF7f80")).isEqualTo(4);
+
+		assertThatThrownBy(() -> BinaryDecoding.decodeBase16("ABC")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> BinaryDecoding.decodeBase16("0G")).isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Illegal hexadecimal character 'G' at index 1");
+		assertThatThrownBy(() -> BinaryDecoding.decodeBase16("0é")).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void testBase64() {
+		Random random = new Random(42);
+		for (int length = 0; length < 64; length++) {
+			byte[] data = new byte[length];
+			random.nextBytes(data);
+			String encoded = Base64.getEncoder().encodeToString(data);
+			assertThat(BinaryDecoding.base64Size(encoded)).isEqualTo(length);
+			assertThat(BinaryDecoding.decodeBase64(encoded)).isEqualTo(data);
+			String unpadded = Base64.getEncoder().withoutPadding().encodeToString(data);
+			assertThat(BinaryDecoding.base64Size(unpadded)).isEqualTo(length);
+			assertThat(BinaryDecoding.decodeBase64(unpadded)).isEqualTo(data);
+		}
+
+		assertThatThrownBy(() -> BinaryDecoding.decodeBase64("====")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> BinaryDecoding.decodeBase64("AA==AAAA")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> BinaryDecoding.decodeBase64("AA-_")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> BinaryDecoding.decodeBase64("A")).isInstanceOf(IllegalArgumentException.class);
+	}
+}
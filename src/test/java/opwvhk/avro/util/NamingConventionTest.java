@@ -90,6 +90,38 @@ class NamingConventionTest {
 		assertThatThrownBy(() -> dummy.convert("🛫  ﹏_ ↔︎")).isInstanceOf(IllegalArgumentException.class);
 	}
 
+	@Test
+	void verifyAsciiConversionsMatchTheGeneralAlgorithm() {
+		String characters = "aBcXyZ09 _-.$\t";
+		Random random = new Random(42);
+		for (NamingConvention namingConvention : EXAMPLES.keySet()) {
+			for (int i = 0; i < 2000; i++) {
+				StringBuilder name = new StringBuilder();
+				for (int length = 1 + random.nextInt(12); length > 0; length--) {
+					name.append(characters.charAt(random.nextInt(characters.length())));
+				}
+				String generalResult = convertOrFail(namingConvention, name.toString(), false);
+				assertThat(convertOrFail(namingConvention, name.toString(), true)).as(name.toString()).isEqualTo(generalResult);
+			}
+		}
+	}
+
+	private static String convertOrFail(NamingConvention namingConvention, String name, boolean useAsciiMethods) {
+		try {
+			return namingConvention.convert(name, useAsciiMethods);
+		} catch (IllegalArgumentException e) {
+			return "failure";
+		}
+	}
+
+	@Test
+	void verifyConversionsAreRemembered() {
+		NamingConvention namingConvention = new NamingConvention("_", NamingConvention.WordCase.LOWER_CASE, NamingConvention.WordCase.LOWER_CASE);
+		String first = namingConvention.convert("someFieldName");
+		assertThat(first).isEqualTo("some_field_name");
+		assertThat(namingConvention.convert("someFieldName")).isSameAs(first);
+	}
+
 	@Test
 	void ensureTheNullConventionDoesNothing() {
 		byte[] randomBytes = new byte[16];
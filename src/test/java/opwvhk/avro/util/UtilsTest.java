@@ -2,6 +2,7 @@ package opwvhk.avro.util;
 
 import org.junit.jupiter.api.Test;
 
+import java.math.BigDecimal;
 import java.util.Base64;
 import java.util.Collections;
 import java.util.Map;
@@ -37,6 +38,24 @@ class UtilsTest {
 		assertThat(Utils.truncate(10, "This is a simple sentence.")).isEqualTo("This is a…");
 	}
 
+	@Test
+	void parsingDecimals() {
+		assertThat(Utils.parseDecimal("12.3", 2)).isEqualTo(new BigDecimal("12.30"));
+		assertThat(Utils.parseDecimal("-12", 2)).isEqualTo(new BigDecimal("-12.00"));
+		assertThat(Utils.parseDecimal("+.5", 1)).isEqualTo(new BigDecimal("0.5"));
+		assertThat(Utils.parseDecimal("7.", 0)).isEqualTo(new BigDecimal("7"));
+		assertThat(Utils.parseDecimal("9999999999999999.99", 2)).isEqualTo(new BigDecimal("9999999999999999.99"));
+		// Not handled by the fast path, but yield the same results
+		assertThat(Utils.parseDecimal("99999999999999999.99", 2)).isEqualTo(new BigDecimal("99999999999999999.99"));
+		assertThat(Utils.parseDecimal("1.5E3", 2)).isEqualTo(new BigDecimal("1500.00"));
+		assertThat(Utils.parseDecimal("1.500", 2)).isEqualTo(new BigDecimal("1.50"));
+
+		assertThatThrownBy(() -> Utils.parseDecimal("1.234", 2)).isInstanceOf(ArithmeticException.class);
+		assertThatThrownBy(() -> Utils.parseDecimal(".", 2)).isInstanceOf(NumberFormatException.class);
+		assertThatThrownBy(() -> Utils.parseDecimal("1.2.3", 2)).isInstanceOf(NumberFormatException.class);
+		assertThatThrownBy(() -> Utils.parseDecimal("", 2)).isInstanceOf(NumberFormatException.class);
+	}
+
 	@Test
 	void testRecursiveEquality() {
 		Dummy dummy1a = new Dummy("name", null);
@@ -1,18 +1,23 @@
 package opwvhk.avro.xml;
 
+import opwvhk.avro.io.ParseMetrics;
 import opwvhk.avro.io.ValueResolver;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericData;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
 import java.net.URL;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Objects.requireNonNull;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -50,6 +55,29 @@ class BasicXmlParsingTest {
 		));
 	}
 
+	@Test
+	void testInputSizeIsMeasured() throws IOException, SAXException {
+		URL payloadLocation = requireNonNull(getClass().getResource("textPayload.xml"));
+		byte[] payload;
+		try (InputStream inputStream = payloadLocation.openStream()) {
+			payload = inputStream.readAllBytes();
+		}
+		String text = new String(payload, UTF_8);
+		ParseMetrics metrics = new ParseMetrics();
+		validatingParser.setParseListener(metrics);
+
+		validatingParser.parse(payloadLocation);
+		assertThat(metrics.snapshot().inputSize()).isEqualTo(payload.length);
+
+		validatingParser.parse(new InputSource(new StringReader(text)));
+		assertThat(metrics.snapshot().inputSize()).isEqualTo(payload.length + text.length());
+
+		// Without a stream, the parser opens the system ID itself: the input size is unknown.
+		validatingParser.parse(new InputSource(payloadLocation.toExternalForm()));
+		assertThat(metrics.snapshot().recordsParsed()).isEqualTo(3);
+		assertThat(metrics.snapshot().inputSize()).isEqualTo(payload.length + text.length());
+	}
+
 	@Test
 	void testTextPayloadWithoutNamespace() throws IOException, SAXException {
 		URL payloadLocation = requireNonNull(getClass().getResource("textPayloadWithoutNamespace.xml"));
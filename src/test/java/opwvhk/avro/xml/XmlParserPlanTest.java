@@ -0,0 +1,101 @@
+package opwvhk.avro.xml;
+
+import opwvhk.avro.ResolvingFailure;
+import opwvhk.avro.xml.datamodel.Cardinality;
+import opwvhk.avro.xml.datamodel.DecimalType;
+import opwvhk.avro.xml.datamodel.FixedType;
+import opwvhk.avro.xml.datamodel.StructType;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.xml.sax.SAXException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class XmlParserPlanTest {
+	@Test
+	void testParsersFromPlansSkipAnalysis(@TempDir Path tempDir) throws IOException, SAXException {
+		URL xsdLocation = requireNonNull(getClass().getResource("resolvingTest.xsd"));
+		Schema readSchema = new Schema.Parser().parse(getClass().getResourceAsStream("resolvingTest.avsc"));
+		Path planFile = tempDir.resolve("resolvingTest.plan");
+		XmlParserPlan original = XmlParserPlan.create(xsdLocation, "outer", readSchema);
+		original.writeTo(planFile);
+
+		XmlParserPlan plan = XmlParserPlan.readFrom(planFile);
+		assertThat(plan.xsdLocation()).isEqualTo(xsdLocation.toExternalForm());
+		assertThat(plan.rootElement()).isEqualTo("outer");
+		assertThat(plan.readSchema()).isEqualTo(readSchema);
+		assertThat(plan.writeType()).isEqualTo(original.writeType());
+
+		URL xml = requireNonNull(getClass().getResource("resolvingTestFull.xml"));
+		GenericRecord expected = new XmlAsAvroParser(xsdLocation, "outer", readSchema, GenericData.get()).parse(xml);
+		assertThat((Object) new XmlAsAvroParser(plan, true, GenericData.get()).parse(xml)).isEqualTo(expected);
+		assertThat((Object) new XmlAsAvroParser(plan, false, GenericData.get()).parse(xml)).isEqualTo(expected);
+	}
+
+	@Test
+	void testPlansKeepFieldsAllowedMissing() throws IOException, SAXException {
+		URL xsdLocation = requireNonNull(getClass().getResource("resolvingTest.xsd"));
+		String readSchemaJson;
+		try (InputStream input = requireNonNull(getClass().getResourceAsStream("resolvingTest.avsc"))) {
+			readSchemaJson = new String(input.readAllBytes(), UTF_8);
+		}
+		// Add a required field that is not in the XSD.
+		Schema readSchema = new Schema.Parser().parse(readSchemaJson.replaceFirst("\\[", "[{\"name\": \"notInXsd\", \"type\": \"string\"},"));
+		Schema.Field notInXsd = readSchema.getField("notInXsd");
+
+		assertThatThrownBy(() -> XmlParserPlan.create(xsdLocation, "outer", readSchema)).isInstanceOf(ResolvingFailure.class);
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		XmlParserPlan.create(xsdLocation, "outer", readSchema, Set.of(notInXsd)).writeTo(buffer);
+		XmlParserPlan plan = XmlParserPlan.readFrom(new ByteArrayInputStream(buffer.toByteArray()));
+
+		assertThat(plan.fieldsAllowedMissing()).containsExactly(notInXsd);
+		URL xml = requireNonNull(getClass().getResource("resolvingTestFull.xml"));
+		GenericRecord record = new XmlAsAvroParser(plan, false, GenericData.get()).parse(xml);
+		assertThat(record.get("notInXsd")).isNull();
+		assertThat(record.get("presentRequired")).isNotNull();
+	}
+
+	@Test
+	void testRecursiveTypesAndDefaultValues() throws IOException {
+		StructType node = new StructType("ns.Node", "A node");
+		node.setFields(List.of(
+				new StructType.Field("amount", null, Cardinality.REQUIRED, DecimalType.withFraction(9, 2), new BigDecimal("12.50")),
+				new StructType.Field("flag", "A flag", Cardinality.OPTIONAL, FixedType.BOOLEAN, true),
+				new StructType.Field("label", null, Cardinality.OPTIONAL, FixedType.STRING, null),
+				new StructType.Field("children", null, Cardinality.MULTIPLE, node, null)));
+		Schema readSchema = SchemaBuilder.record("ns.Node").fields().requiredString("label").endRecord();
+
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		new XmlParserPlan(null, "node", node, readSchema, Set.of()).writeTo(buffer);
+		XmlParserPlan plan = XmlParserPlan.readFrom(new ByteArrayInputStream(buffer.toByteArray()));
+
+		StructType copy = (StructType) plan.writeType();
+		assertThat(copy).isEqualTo(node);
+		assertThat(copy.fields().get(3).type()).isSameAs(copy);
+		assertThat(copy.fields().get(0).defaultValue()).isEqualTo(new BigDecimal("12.50"));
+		assertThat(copy.fields().get(2).defaultValue()).isSameAs(StructType.Field.NULL_VALUE);
+	}
+
+	@Test
+	void testInvalidPlansFail() {
+		assertThatThrownBy(() -> XmlParserPlan.readFrom(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5, 6, 7, 8})))
+				.isInstanceOf(IOException.class).hasMessage("Not a parser plan");
+	}
+}
@@ -0,0 +1,405 @@
+package opwvhk.avro.xml;
+
+import opwvhk.avro.WorkloadRandom;
+import opwvhk.avro.WorkloadSettings;
+import org.apache.ws.commons.schema.XmlSchemaAll;
+import org.apache.ws.commons.schema.XmlSchemaAny;
+import org.apache.ws.commons.schema.XmlSchemaAnyAttribute;
+import org.apache.ws.commons.schema.XmlSchemaAttribute;
+import org.apache.ws.commons.schema.XmlSchemaChoice;
+import org.apache.ws.commons.schema.XmlSchemaElement;
+import org.apache.ws.commons.schema.XmlSchemaSequence;
+import org.apache.ws.commons.schema.XmlSchemaType;
+import org.apache.ws.commons.schema.XmlSchemaUse;
+import org.apache.ws.commons.schema.walker.XmlSchemaAttrInfo;
+import org.apache.ws.commons.schema.walker.XmlSchemaRestriction;
+import org.apache.ws.commons.schema.walker.XmlSchemaTypeInfo;
+import org.apache.ws.commons.schema.walker.XmlSchemaVisitor;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import static java.util.Collections.emptyList;
+import static org.apache.ws.commons.schema.constants.Constants.XSD_ANYURI;
+import static org.apache.ws.commons.schema.constants.Constants.XSD_BASE64;
+import static org.apache.ws.commons.schema.constants.Constants.XSD_BOOLEAN;
+import static org.apache.ws.commons.schema.constants.Constants.XSD_DATE;
+import static org.apache.ws.commons.schema.constants.Constants.XSD_DATETIME;
+import static org.apache.ws.commons.schema.constants.Constants.XSD_DECIMAL;
+import static org.apache.ws.commons.schema.constants.Constants.XSD_DOUBLE;
+import static org.apache.ws.commons.schema.constants.Constants.XSD_FLOAT;
+import static org.apache.ws.commons.schema.constants.Constants.XSD_HEXBIN;
+import static org.apache.ws.commons.schema.constants.Constants.XSD_INT;
+import static org.apache.ws.commons.schema.constants.Constants.XSD_LONG;
+import static org.apache.ws.commons.schema.constants.Constants.XSD_TIME;
+import static org.apache.ws.commons.schema.walker.XmlSchemaRestriction.Type.DIGITS_FRACTION;
+import static org.apache.ws.commons.schema.walker.XmlSchemaRestriction.Type.DIGITS_TOTAL;
+import static org.apache.ws.commons.schema.walker.XmlSchemaRestriction.Type.ENUMERATION;
+import static org.apache.ws.commons.schema.walker.XmlSchemaRestriction.Type.EXCLUSIVE_MAX;
+import static org.apache.ws.commons.schema.walker.XmlSchemaRestriction.Type.EXCLUSIVE_MIN;
+import static org.apache.ws.commons.schema.walker.XmlSchemaRestriction.Type.INCLUSIVE_MAX;
+import static org.apache.ws.commons.schema.walker.XmlSchemaRestriction.Type.INCLUSIVE_MIN;
+import static org.apache.ws.commons.schema.walker.XmlSchemaRestriction.Type.LENGTH;
+import static org.apache.ws.commons.schema.walker.XmlSchemaRestriction.Type.LENGTH_MAX;
+import static org.apache.ws.commons.schema.walker.XmlSchemaRestriction.Type.LENGTH_MIN;
+
+/**
+ * <p>Generator for synthetic XML workloads: documents with random data, matching an XSD.</p>
+ *
+ * <p>The generator walks the XSD like the {@link XsdAnalyzer} does, so it supports the same constructs. Values respect enumerations, fixed values, lengths,
+ * digits and (for numbers) limits, but not patterns. Unknown fields (noise) are added as elements without namespace, so documents with noise are only
+ * valid if the XSD allows this.</p>
+ *
+ * <p>The generated data is deterministic: a generator with the same XSD, root element and settings yields the same data.</p>
+ */
+public class XmlWorkloadGenerator {
+	private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newFactory();
+
+	private final ElementTemplate rootElement;
+	private final Map<String, String> prefixesByNamespace;
+	private final WorkloadRandom random;
+
+	/**
+	 * Create a generator for XML data.
+	 *
+	 * @param xsdAnalyzer an analyzer for the XSD describing the data
+	 * @param rootElement the root element of the documents to generate (in the target namespace of the XSD)
+	 * @param settings    the workload settings
+	 */
+	public XmlWorkloadGenerator(XsdAnalyzer xsdAnalyzer, String rootElement, WorkloadSettings settings) {
+		TemplateBuildingVisitor visitor = new TemplateBuildingVisitor();
+		xsdAnalyzer.walkSchemaInTargetNamespace(rootElement, visitor);
+		this.rootElement = visitor.rootElement;
+		prefixesByNamespace = visitor.prefixesByNamespace;
+		random = new WorkloadRandom(settings);
+	}
+
+	/**
+	 * Generate an XML document.
+	 *
+	 * @return an XML document
+	 */
+	public String document() {
+		StringWriter writer = new StringWriter();
+		try {
+			writeDocument(writer);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return writer.toString();
+	}
+
+	/**
+	 * Generate an XML document.
+	 *
+	 * @param writer the writer to write the document to
+	 * @throws IOException when the document cannot be written
+	 */
+	public void writeDocument(Writer writer) throws IOException {
+		try {
+			XMLStreamWriter xmlWriter = XML_OUTPUT_FACTORY.createXMLStreamWriter(writer);
+			xmlWriter.writeStartDocument("UTF-8", "1.0");
+			writeElement(xmlWriter, rootElement, 0);
+			xmlWriter.writeEndDocument();
+			xmlWriter.flush();
+		} catch (XMLStreamException e) {
+			throw new IOException("Failed to write XML", e);
+		}
+	}
+
+	private void writeElement(XMLStreamWriter writer, ElementTemplate element, int depth) throws XMLStreamException {
+		QName name = element.name();
+		String namespace = name.getNamespaceURI();
+		if (namespace.isEmpty()) {
+			writer.writeStartElement(name.getLocalPart());
+		} else {
+			writer.writeStartElement(prefixesByNamespace.get(namespace), name.getLocalPart(), namespace);
+		}
+		if (depth == 0) {
+			for (Map.Entry<String, String> entry : prefixesByNamespace.entrySet()) {
+				writer.writeNamespace(entry.getValue(), entry.getKey());
+			}
+		}
+
+		ElementContent content = element.content();
+		for (AttributeTemplate attribute : content.attributes) {
+			if (attribute.required() || random.includeOptional(depth)) {
+				String value = attribute.fixedValue() != null ? attribute.fixedValue() : value(attribute.type());
+				QName attributeName = attribute.name();
+				String attributeNamespace = attributeName.getNamespaceURI();
+				if (attributeNamespace.isEmpty()) {
+					writer.writeAttribute(attributeName.getLocalPart(), value);
+				} else {
+					writer.writeAttribute(prefixesByNamespace.get(attributeNamespace), attributeNamespace, attributeName.getLocalPart(), value);
+				}
+			}
+		}
+		if (content.simpleType != null) {
+			writer.writeCharacters(element.fixedValue() != null ? element.fixedValue() : value(content.simpleType));
+		} else {
+			if (content.children != null) {
+				writeParticle(writer, content.children, depth + 1);
+			}
+			// Skip elements with a single, repeated element: the parser unwraps these arrays, so any child element is an array item.
+			if (!isArrayWrapper(content) && random.addUnknownField()) {
+				writer.writeStartElement(random.unknownFieldName());
+				writer.writeCharacters(random.nextString());
+				writer.writeEndElement();
+			}
+		}
+		writer.writeEndElement();
+	}
+
+	private static boolean isArrayWrapper(ElementContent content) {
+		Particle children = content.children;
+		boolean repeated = false;
+		while (children instanceof GroupTemplate group && group.particles().size() == 1) {
+			repeated |= group.maxOccurs() > 1;
+			children = group.particles().get(0);
+		}
+		return content.attributes.isEmpty() && children instanceof ElementTemplate element && (repeated || element.maxOccurs() > 1);
+	}
+
+	private void writeParticle(XMLStreamWriter writer, Particle particle, int depth) throws XMLStreamException {
+		int occurrences;
+		if (particle.maxOccurs() <= 1) {
+			occurrences = particle.minOccurs() > 0 || random.includeOptional(depth) ? 1 : 0;
+		} else {
+			occurrences = random.count(depth, particle.minOccurs(), particle.maxOccurs());
+		}
+		for (int i = 0; i < occurrences; i++) {
+			if (particle instanceof ElementTemplate element) {
+				writeElement(writer, element, depth);
+			} else if (particle instanceof GroupTemplate group) {
+				if (group.choice()) {
+					writeParticle(writer, random.choose(group.particles()), depth);
+				} else {
+					for (Particle child : group.particles()) {
+						writeParticle(writer, child, depth);
+					}
+				}
+			}
+		}
+	}
+
+	private String value(XmlSchemaTypeInfo type) {
+		List<String> symbols = facets(type, ENUMERATION).toList();
+		if (!symbols.isEmpty()) {
+			return random.choose(symbols);
+		}
+		QName recognizedType = type.getUserRecognizedType();
+		if (XSD_BOOLEAN.equals(recognizedType)) {
+			return Boolean.toString(random.nextBoolean());
+		} else if (XSD_FLOAT.equals(recognizedType) || XSD_DOUBLE.equals(recognizedType)) {
+			return Double.toString(random.nextDouble());
+		} else if (XSD_DATE.equals(recognizedType)) {
+			return random.nextDate();
+		} else if (XSD_DATETIME.equals(recognizedType)) {
+			return random.nextTimestamp();
+		} else if (XSD_TIME.equals(recognizedType)) {
+			return random.nextTime();
+		} else if (XSD_INT.equals(recognizedType) || XSD_LONG.equals(recognizedType)) {
+			// Default to a small range: these also include types like xs:byte and xs:unsignedShort.
+			long min = facet(type, INCLUSIVE_MIN).or(() -> facet(type, EXCLUSIVE_MIN).map(m -> m.add(BigDecimal.ONE))).map(BigDecimal::longValue).orElse(0L);
+			long max = facet(type, INCLUSIVE_MAX).or(() -> facet(type, EXCLUSIVE_MAX).map(m -> m.subtract(BigDecimal.ONE))).map(BigDecimal::longValue)
+					.orElse(Math.max(min, 0) + 100);
+			return Long.toString(random.nextLong(min, max));
+		} else if (XSD_DECIMAL.equals(recognizedType)) {
+			int scale = facet(type, DIGITS_FRACTION).map(BigDecimal::intValue).orElse(3);
+			int precision = facet(type, DIGITS_TOTAL).map(BigDecimal::intValue).orElse(scale + 4);
+			BigDecimal value = random.nextDecimal(precision, scale);
+			BigDecimal ulp = BigDecimal.ONE.movePointLeft(scale);
+			Optional<BigDecimal> lower = facet(type, INCLUSIVE_MIN).or(() -> facet(type, EXCLUSIVE_MIN).map(m -> m.add(ulp)));
+			Optional<BigDecimal> upper = facet(type, INCLUSIVE_MAX).or(() -> facet(type, EXCLUSIVE_MAX).map(m -> m.subtract(ulp)));
+			if (lower.isPresent() && upper.isPresent()) {
+				// Use the value as fraction of the range, rounding towards the lower limit.
+				BigDecimal fraction = value.abs().movePointLeft(value.precision());
+				value = lower.get().add(upper.get().subtract(lower.get()).multiply(fraction)).setScale(scale, RoundingMode.DOWN);
+			} else if (lower.isPresent()) {
+				value = lower.get().add(value.abs());
+			} else if (upper.isPresent()) {
+				value = upper.get().subtract(value.abs());
+			}
+			return value.toPlainString();
+		} else if (XSD_HEXBIN.equals(recognizedType) || XSD_BASE64.equals(recognizedType)) {
+			int size = facet(type, LENGTH).map(BigDecimal::intValue).orElseGet(random::nextByteCount);
+			return XSD_HEXBIN.equals(recognizedType) ? random.nextHex(size) : random.nextBase64(size);
+		} else {
+			Optional<Integer> length = facet(type, LENGTH).map(BigDecimal::intValue);
+			int minLength = length.or(() -> facet(type, LENGTH_MIN).map(BigDecimal::intValue)).orElse(1);
+			int maxLength = length.or(() -> facet(type, LENGTH_MAX).map(BigDecimal::intValue)).orElse(Integer.MAX_VALUE);
+			String value = random.nextString(minLength, maxLength);
+			return XSD_ANYURI.equals(recognizedType) ? "urn:" + value : value;
+		}
+	}
+
+	private static Optional<BigDecimal> facet(XmlSchemaTypeInfo typeInfo, XmlSchemaRestriction.Type restrictionType) {
+		return facets(typeInfo, restrictionType).map(BigDecimal::new).findFirst();
+	}
+
+	private static Stream<String> facets(XmlSchemaTypeInfo typeInfo, XmlSchemaRestriction.Type restrictionType) {
+		return Stream.ofNullable(typeInfo.getFacets()).map(m -> m.getOrDefault(restrictionType, emptyList())).flatMap(List::stream)
+				.map(XmlSchemaRestriction::getValue).map(Object::toString);
+	}
+
+	private sealed interface Particle permits ElementTemplate, GroupTemplate {
+		long minOccurs();
+
+		long maxOccurs();
+	}
+
+	private record ElementTemplate(QName name, long minOccurs, long maxOccurs, String fixedValue, ElementContent content) implements Particle {
+	}
+
+	private record GroupTemplate(boolean choice, long minOccurs, long maxOccurs, List<Particle> particles) implements Particle {
+	}
+
+	private record AttributeTemplate(QName name, boolean required, String fixedValue, XmlSchemaTypeInfo type) {
+	}
+
+	/**
+	 * The content of an element (i.e., its type). Mutable, as the content of recursive elements is referenced before it is complete.
+	 */
+	private static final class ElementContent {
+		private final List<AttributeTemplate> attributes = new ArrayList<>();
+		private XmlSchemaTypeInfo simpleType;
+		private Particle children;
+	}
+
+	private static final class TemplateBuildingVisitor implements XmlSchemaVisitor {
+		private final Map<String, String> prefixesByNamespace = new LinkedHashMap<>();
+		private final IdentityHashMap<XmlSchemaType, ElementContent> contentByType = new IdentityHashMap<>();
+		private final Deque<ElementContent> contentStack = new ArrayDeque<>();
+		private final Deque<List<Particle>> particlesStack = new ArrayDeque<>();
+		private ElementTemplate rootElement;
+
+		private void registerNamespace(QName name) {
+			String namespace = name.getNamespaceURI();
+			if (!namespace.isEmpty()) {
+				prefixesByNamespace.computeIfAbsent(namespace, ignored -> "ns" + (prefixesByNamespace.size() + 1));
+			}
+		}
+
+		@Override
+		public void onEnterElement(XmlSchemaElement element, XmlSchemaTypeInfo typeInfo, boolean previouslyVisited) {
+			ElementContent content = contentByType.get(element.getSchemaType());
+			if (content == null) {
+				content = new ElementContent();
+				if (typeInfo.getType() != XmlSchemaTypeInfo.Type.COMPLEX) {
+					content.simpleType = typeInfo;
+				}
+				contentByType.put(element.getSchemaType(), content);
+			}
+			QName name = element.getWireName();
+			registerNamespace(name);
+			ElementTemplate template = new ElementTemplate(name, element.getMinOccurs(), element.getMaxOccurs(), element.getFixedValue(), content);
+			List<Particle> siblings = particlesStack.peek();
+			if (siblings == null) {
+				rootElement = template;
+			} else {
+				siblings.add(template);
+			}
+			contentStack.push(content);
+			particlesStack.push(new ArrayList<>());
+		}
+
+		@Override
+		public void onExitElement(XmlSchemaElement element, XmlSchemaTypeInfo typeInfo, boolean previouslyVisited) {
+			ElementContent content = contentStack.pop();
+			List<Particle> children = particlesStack.pop();
+			if (!previouslyVisited && !children.isEmpty()) {
+				content.children = children.get(0);
+			}
+		}
+
+		@Override
+		public void onVisitAttribute(XmlSchemaElement element, XmlSchemaAttrInfo attrInfo) {
+			XmlSchemaAttribute attribute = attrInfo.getAttribute();
+			if (attribute.getUse() != XmlSchemaUse.PROHIBITED) {
+				QName name = attribute.getWireName();
+				registerNamespace(name);
+				contentStack.element().attributes.add(new AttributeTemplate(name, attribute.getUse() == XmlSchemaUse.REQUIRED, attribute.getFixedValue(),
+						attrInfo.getType()));
+			}
+		}
+
+		@Override
+		public void onEndAttributes(XmlSchemaElement element, XmlSchemaTypeInfo typeInfo) {
+			// Nothing to do.
+		}
+
+		@Override
+		public void onEnterSubstitutionGroup(XmlSchemaElement base) {
+			particlesStack.push(new ArrayList<>());
+		}
+
+		@Override
+		public void onExitSubstitutionGroup(XmlSchemaElement base) {
+			endGroup(true, base.getMinOccurs(), base.getMaxOccurs());
+		}
+
+		@Override
+		public void onEnterAllGroup(XmlSchemaAll all) {
+			particlesStack.push(new ArrayList<>());
+		}
+
+		@Override
+		public void onExitAllGroup(XmlSchemaAll all) {
+			endGroup(false, all.getMinOccurs(), all.getMaxOccurs());
+		}
+
+		@Override
+		public void onEnterChoiceGroup(XmlSchemaChoice choice) {
+			particlesStack.push(new ArrayList<>());
+		}
+
+		@Override
+		public void onExitChoiceGroup(XmlSchemaChoice choice) {
+			endGroup(true, choice.getMinOccurs(), choice.getMaxOccurs());
+		}
+
+		@Override
+		public void onEnterSequenceGroup(XmlSchemaSequence seq) {
+			particlesStack.push(new ArrayList<>());
+		}
+
+		@Override
+		public void onExitSequenceGroup(XmlSchemaSequence seq) {
+			endGroup(false, seq.getMinOccurs(), seq.getMaxOccurs());
+		}
+
+		private void endGroup(boolean choice, long minOccurs, long maxOccurs) {
+			List<Particle> particles = particlesStack.pop();
+			if (!particles.isEmpty()) {
+				particlesStack.element().add(new GroupTemplate(choice, minOccurs, maxOccurs, particles));
+			}
+		}
+
+		@Override
+		public void onVisitAny(XmlSchemaAny any) {
+			// Nothing to do: we do not generate content for xs:any.
+		}
+
+		@Override
+		public void onVisitAnyAttribute(XmlSchemaElement element, XmlSchemaAnyAttribute anyAttr) {
+			// Nothing to do: we do not generate attributes for xs:anyAttribute.
+		}
+	}
+}
@@ -0,0 +1,59 @@
+package opwvhk.avro.xml;
+
+import opwvhk.avro.WorkloadSettings;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.junit.jupiter.api.Test;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.URL;
+import java.util.Set;
+
+import static java.util.Objects.requireNonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class XmlWorkloadGeneratorTest {
+	@Test
+	void testGeneratedDocumentsAreValid() throws IOException, SAXException {
+		URL xsdLocation = requireNonNull(getClass().getResource("resolvingTest.xsd"));
+		Schema readSchema = new Schema.Parser().parse(getClass().getResourceAsStream("resolvingTest.avsc"));
+		XmlAsAvroParser parser = new XmlAsAvroParser(xsdLocation, "outer", readSchema, GenericData.get());
+
+		XmlWorkloadGenerator generator = new XmlWorkloadGenerator(new XsdAnalyzer(xsdLocation), "outer",
+				WorkloadSettings.defaults(42).withOptionalFieldRate(0.8).withArraySizes(1, 10));
+		for (int i = 0; i < 50; i++) {
+			String document = generator.document();
+			GenericRecord record = parser.parse(new InputSource(new StringReader(document)));
+			assertThat(record).isNotNull();
+		}
+	}
+
+	@Test
+	void testGenerationIsDeterministic() throws IOException {
+		URL xsdLocation = requireNonNull(getClass().getResource("resolvingTest.xsd"));
+		WorkloadSettings settings = WorkloadSettings.defaults(7).withUnknownFieldRate(0.5);
+
+		XmlWorkloadGenerator generator1 = new XmlWorkloadGenerator(new XsdAnalyzer(xsdLocation), "outer", settings);
+		XmlWorkloadGenerator generator2 = new XmlWorkloadGenerator(new XsdAnalyzer(xsdLocation), "outer", settings);
+		String document = generator1.document();
+		assertThat(generator2.document()).isEqualTo(document);
+		assertThat(generator1.document()).isNotEqualTo(document);
+	}
+
+	@Test
+	void testUnknownFieldsAreIgnoredWhenNotValidating() throws IOException, SAXException {
+		URL xsdLocation = requireNonNull(getClass().getResource("resolvingTest.xsd"));
+		Schema readSchema = new Schema.Parser().parse(getClass().getResourceAsStream("resolvingTest.avsc"));
+		XmlAsAvroParser parser = new XmlAsAvroParser(xsdLocation, "outer", false, readSchema, Set.of(), GenericData.get());
+
+		XmlWorkloadGenerator generator = new XmlWorkloadGenerator(new XsdAnalyzer(xsdLocation), "outer", WorkloadSettings.defaults(1).withUnknownFieldRate(1));
+		String document = generator.document();
+		assertThat(document).contains("<unknownField1>");
+		GenericRecord record = parser.parse(new InputSource(new StringReader(document)));
+		assertThat(record).isNotNull();
+	}
+}
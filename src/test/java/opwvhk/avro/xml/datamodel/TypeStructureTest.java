@@ -9,6 +9,7 @@ import java.nio.ByteBuffer;
 import java.util.List;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static opwvhk.avro.xml.datamodel.TestStructures.array;
 import static opwvhk.avro.xml.datamodel.TestStructures.optional;
 import static opwvhk.avro.xml.datamodel.TestStructures.required;
 import static opwvhk.avro.xml.datamodel.TestStructures.struct;
@@ -210,6 +211,24 @@ class TypeStructureTest {
 		assertThat(type.fields().get(0).hashCode()).isNotEqualTo(type.fields().get(1).hashCode());
 	}
 
+	@Test
+	void testRecursiveStructuralEquality() {
+		StructType tree1 = struct("tree");
+		tree1.setFields(List.of(required("label", FixedType.STRING), array("children", tree1)));
+		StructType tree2 = struct("tree");
+		tree2.setFields(List.of(array("children", tree2), required("label", FixedType.STRING)));
+		StructType tree3 = struct("tree");
+		tree3.setFields(List.of(optional("label", FixedType.STRING), array("children", tree3)));
+
+		assertThat(tree1).isEqualTo(tree2).hasSameHashCodeAs(tree2);
+		assertThat(tree2).isEqualTo(tree1);
+		assertThat(tree1).isNotEqualTo(tree3);
+		assertThat(tree1).isNotEqualTo(struct("tree"));
+		assertThat(struct("tree")).isEqualTo(struct("tree"));
+		assertThat(tree1.fields().get(0)).isNotEqualTo(tree3.fields().get(0));
+		assertThat(tree1.fields().get(1)).isEqualTo(tree2.fields().get(0));
+	}
+
 	private static byte[] bytes(int... bytes) {
 		byte[] result = new byte[bytes.length];
 		for (int i = 0; i < bytes.length; i++) {